@@ -0,0 +1,140 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Enumerates all permutations of a specified length, n, in Steinhaus-Johnson-Trotter order (also
+ * known as plain changes), in which each permutation differs from the previous by a single swap of
+ * adjacent elements. Rather than returning each permutation, this iterator changes a single {@link
+ * Permutation} in place, and each call to {@link #nextInt()} returns the index i of the swap of the
+ * elements at indexes i and i+1 that produced the next permutation. This enables updating an
+ * incrementally evaluated objective function, or distance, in O(1) time per permutation.
+ *
+ * <p>The Permutation that is changed is available via {@link #getPermutation()}. Its initial state
+ * is the first permutation of the enumeration, and there are n! - 1 swaps in total. The runtime of
+ * {@link #hasNext()} is O(1), and the runtime of {@link #nextInt()} is O(1) amortized over the
+ * enumeration.
+ *
+ * <p>The swaps are generated with the loopless counters and directions of Knuth's Algorithm P,
+ * described in:<br>
+ * D. E. Knuth, The Art of Computer Programming, Volume 4A: Combinatorial Algorithms, Part 1,
+ * Section 7.2.1.2, Addison-Wesley, 2011.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class AdjacentSwapPermutationIterator implements PrimitiveIterator.OfInt {
+
+  private final Permutation p;
+  private final int[] count;
+  private final int[] direction;
+  private int nextSwap;
+
+  /**
+   * Initializes an AdjacentSwapPermutationIterator to enumerate all permutations of length n,
+   * beginning with the identity permutation.
+   *
+   * @param n The length of the permutations.
+   * @throws NegativeArraySizeException if n is negative
+   */
+  public AdjacentSwapPermutationIterator(int n) {
+    this(new Permutation(n, 0));
+  }
+
+  /**
+   * Initializes an AdjacentSwapPermutationIterator to enumerate all permutations the same length
+   * as a given permutation, beginning with that permutation. The given permutation is not copied,
+   * but is changed in place by the iteration.
+   *
+   * @param p The permutation to change in place, whose state is the first permutation of the
+   *     enumeration.
+   */
+  public AdjacentSwapPermutationIterator(Permutation p) {
+    this.p = p;
+    count = new int[p.length() + 1];
+    direction = new int[p.length() + 1];
+    Arrays.fill(direction, 1);
+    nextSwap = findNextSwap();
+  }
+
+  /**
+   * Gets the Permutation that is changed in place by this iterator. It must not be changed other
+   * than by this iterator.
+   *
+   * @return the Permutation changed in place by this iterator
+   */
+  public Permutation getPermutation() {
+    return p;
+  }
+
+  /**
+   * Checks if there are more permutations in the enumeration.
+   *
+   * @return true if and only if there are more permutations in the enumeration.
+   */
+  @Override
+  public boolean hasNext() {
+    return nextSwap >= 0;
+  }
+
+  /**
+   * Advances the Permutation to the next permutation of the enumeration, by swapping a pair of
+   * adjacent elements.
+   *
+   * @return the index i, such that the elements at indexes i and i+1 were swapped
+   * @throws NoSuchElementException if hasNext() is false
+   */
+  @Override
+  public int nextInt() {
+    if (nextSwap < 0) throw new NoSuchElementException();
+    int i = nextSwap;
+    p.swap(i, i + 1);
+    nextSwap = findNextSwap();
+    return i;
+  }
+
+  /*
+   * Steps the counters and directions of Algorithm P, for elements 1 through n using 1-based
+   * indexing, returning the 0-based index of the left of the adjacent pair of the next swap, or -1
+   * if the enumeration is complete. The swap itself depends only on this state.
+   */
+  private int findNextSwap() {
+    int j = count.length - 1;
+    int s = 0;
+    while (j > 1) {
+      int q = count[j] + direction[j];
+      if (q >= 0 && q < j) {
+        int left = j - Math.max(count[j], q) + s - 1;
+        count[j] = q;
+        return left;
+      }
+      if (q == j) s++;
+      direction[j] = -direction[j];
+      j--;
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,523 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import java.io.Serializable;
+import org.cicirello.util.Copyable;
+
+/**
+ * A compact representation of a permutation of the integers from 0 to N-1, inclusive, for
+ * applications that must keep very many permutations in memory, such as the populations of a
+ * genetic algorithm. Whereas a {@link Permutation} always stores its elements in an array of ints,
+ * a CompactPermutation stores them in the narrowest type that can represent them: an array of
+ * bytes if N &le; 256, an array of shorts if N &le; 65536, and otherwise an array of ints. This
+ * reduces the memory of a permutation's elements by a factor of 4 or 2, and improves cache
+ * efficiency correspondingly.
+ *
+ * <p>The width is chosen by the factory methods, such as {@link #of(Permutation)}, and each width
+ * has its own implementation of the frequently used operations, such as {@link #get}, {@link
+ * #swap}, {@link #reverse(int, int)}, and {@link #rotate}, that operates directly on the narrow
+ * array. Less frequently used operations, such as custom operators via {@link
+ * #apply(PermutationUnaryOperator)}, expand the elements into an array of ints, which the caller
+ * can supply via {@link #apply(PermutationUnaryOperator, int[])} to avoid allocating one on every
+ * call. Only {@link PermutationUnaryOperator} is supported directly. Operators that require a
+ * {@link Permutation}, such as a {@link PermutationFullUnaryOperator} or the binary operators, can
+ * be applied to a Permutation obtained with {@link #toPermutation(Permutation)}, whose result can
+ * be converted back with {@link #of(Permutation)}.
+ *
+ * <p>A CompactPermutation can be converted to a new {@link Permutation} with {@link
+ * #toPermutation()}, or copied into an existing one with {@link #toPermutation(Permutation)}, such
+ * as to compute a distance with a {@link
+ * org.cicirello.permutations.distance.PermutationDistanceMeasurer}. The {@link #hashCode()} of a
+ * CompactPermutation is equal to that of the Permutation with the same elements.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public abstract sealed class CompactPermutation
+    implements Serializable, Copyable<CompactPermutation>
+    permits CompactPermutation.ByteElements,
+        CompactPermutation.ShortElements,
+        CompactPermutation.IntElements {
+
+  private static final long serialVersionUID = 1L;
+
+  /* Largest length for which the elements are stored as bytes. */
+  private static final int BYTE_LENGTH = 1 << 8;
+
+  /* Largest length for which the elements are stored as shorts. */
+  private static final int SHORT_LENGTH = 1 << 16;
+
+  /* Only the nested implementations may extend this class. */
+  private CompactPermutation() {}
+
+  /**
+   * Creates a compact copy of a permutation.
+   *
+   * @param p The permutation to copy.
+   * @return a CompactPermutation with the same elements as p
+   */
+  public static CompactPermutation of(Permutation p) {
+    return create(p.toArray());
+  }
+
+  /**
+   * Creates a compact permutation from an array of ints.
+   *
+   * @param p An array of integers. Each of the integers in the interval [0, p.length) must occur
+   *     exactly one time each.
+   * @return a CompactPermutation with the same elements as p
+   * @throws IllegalArgumentException if p either contains duplicates, or contains any negative
+   *     elements, or contains any elements equal or greater than p.length.
+   */
+  public static CompactPermutation of(int[] p) {
+    boolean[] inP = new boolean[p.length];
+    for (int e : p) {
+      if (e < 0 || e >= p.length) {
+        throw new IllegalArgumentException(
+            "Elements of a Permutation must be in interval [0, length())");
+      }
+      if (inP[e]) {
+        throw new IllegalArgumentException("Duplicate elements are not allowed in a Permutation.");
+      }
+      inP[e] = true;
+    }
+    return create(p);
+  }
+
+  private static CompactPermutation create(int[] p) {
+    if (p.length <= BYTE_LENGTH) {
+      return new ByteElements(p);
+    } else if (p.length <= SHORT_LENGTH) {
+      return new ShortElements(p);
+    } else {
+      return new IntElements(p);
+    }
+  }
+
+  /**
+   * Gets the number of bits used to store each element, which is 8, 16, or 32, depending upon the
+   * length of the permutation.
+   *
+   * @return the number of bits per element
+   */
+  public abstract int bitsPerElement();
+
+  /**
+   * Retrieves the length of the permutation.
+   *
+   * @return length of the permutation
+   */
+  public abstract int length();
+
+  /**
+   * Retrieves the i-th integer of the permutation.
+   *
+   * @param i the index of the integer to retrieve
+   * @return the integer in position i of the permutation
+   * @throws ArrayIndexOutOfBoundsException if i is negative, or if i is greater than or equal to
+   *     length()
+   */
+  public abstract int get(int i);
+
+  /**
+   * Swaps 2 integers in the permutation.
+   *
+   * @param i position of first to swap
+   * @param j the position of the second to swap
+   * @throws ArrayIndexOutOfBoundsException if either i or j are negative, or if either i or j are
+   *     greater than or equal to length()
+   */
+  public abstract void swap(int i, int j);
+
+  /** Reverses the order of the elements in the permutation. */
+  public final void reverse() {
+    internalReverse(0, length() - 1);
+  }
+
+  /**
+   * Reverses the order of the elements of a subrange of the permutation.
+   *
+   * @param i position of first index
+   * @param j the position of the second index
+   * @throws ArrayIndexOutOfBoundsException if either i or j are negative, or if either i or j are
+   *     greater than or equal to length()
+   */
+  public final void reverse(int i, int j) {
+    if (i > j) {
+      internalReverse(j, i);
+    } else {
+      internalReverse(i, j);
+    }
+  }
+
+  /**
+   * Circular rotation of permutation (to the left), in place, without allocating any memory.
+   *
+   * @param numPositions Number of positions to rotate.
+   */
+  public final void rotate(int numPositions) {
+    int n = length();
+    if (numPositions >= n || numPositions < 0) {
+      numPositions = Math.floorMod(numPositions, n);
+    }
+    if (numPositions > 0) {
+      internalReverse(0, numPositions - 1);
+      internalReverse(numPositions, n - 1);
+      internalReverse(0, n - 1);
+    }
+  }
+
+  /**
+   * Applies a custom unary operator on the permutation. The operator is applied to an array of ints
+   * containing the elements of this permutation, which are then stored back into this permutation.
+   * The operator is responsible for maintaining a valid permutation.
+   *
+   * @param operator A unary Permutation operator
+   */
+  public final void apply(PermutationUnaryOperator operator) {
+    apply(operator, null);
+  }
+
+  /**
+   * Applies a custom unary operator on the permutation, expanding the elements into a caller
+   * supplied array of ints rather than allocating a new one, if the array is of the same length as
+   * the permutation. The operator is applied to that array, whose elements are then stored back
+   * into this permutation. The operator is responsible for maintaining a valid permutation.
+   *
+   * @param operator A unary Permutation operator
+   * @param buffer An array to hold the elements while the operator is applied. If null or of a
+   *     different length than the permutation, then a new array is allocated.
+   * @return the array that held the elements, which is buffer if it was of the correct length, and
+   *     which the caller can pass to subsequent calls
+   */
+  public final int[] apply(PermutationUnaryOperator operator, int[] buffer) {
+    int[] raw = toArray(buffer);
+    operator.apply(raw);
+    store(raw);
+    return raw;
+  }
+
+  /**
+   * Generates an array of int values from the integers in the permutation.
+   *
+   * @return an array of ints containing the elements of the permutation
+   */
+  public final int[] toArray() {
+    return toArray(null);
+  }
+
+  /**
+   * Generates an array of int values from the integers in the permutation. If the array parameter
+   * is null or of a different length than the permutation, then a new array is allocated.
+   *
+   * @param array An array to hold the result.
+   * @return an array of ints containing the elements of the permutation
+   */
+  public final int[] toArray(int[] array) {
+    if (array == null || array.length != length()) {
+      array = new int[length()];
+    }
+    load(array);
+    return array;
+  }
+
+  /**
+   * Creates a {@link Permutation} with the same elements as this compact permutation.
+   *
+   * @return a Permutation with the same elements as this
+   */
+  public final Permutation toPermutation() {
+    return new Permutation(toArray(), false);
+  }
+
+  /**
+   * Copies the elements of this compact permutation into an existing {@link Permutation}, rather
+   * than creating a new one, such that a single Permutation can be reused to convert many compact
+   * permutations.
+   *
+   * @param target The Permutation whose elements are replaced by those of this compact permutation.
+   * @throws IllegalArgumentException if target.length() is not equal to length()
+   */
+  public final void toPermutation(Permutation target) {
+    if (target.length() != length()) {
+      throw new IllegalArgumentException("Permutations must be the same length");
+    }
+    target.apply(this::load);
+  }
+
+  /**
+   * Equality test: Two compact permutations are equal if they are of the same length and contain
+   * the same elements in the same order.
+   *
+   * @param other the permutation to which to compare
+   * @return true if this is equal to other, and false otherwise
+   */
+  @Override
+  public final boolean equals(Object other) {
+    if (other instanceof CompactPermutation o && o.length() == length()) {
+      for (int i = 0; i < length(); i++) {
+        if (get(i) != o.get(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Computes a hash code equal to that of the {@link Permutation} with the same elements.
+   *
+   * @return a hashCode for the permutation
+   */
+  @Override
+  public final int hashCode() {
+    int h = 1;
+    for (int i = 0; i < length(); i++) {
+      h = 31 * h + get(i);
+    }
+    return h;
+  }
+
+  /**
+   * Creates a String representing the permutation.
+   *
+   * @return a space separated sequence of the permutation's elements
+   */
+  @Override
+  public final String toString() {
+    StringBuilder s = new StringBuilder();
+    for (int i = 0; i < length(); i++) {
+      if (i > 0) {
+        s.append(" ");
+      }
+      s.append(get(i));
+    }
+    return s.toString();
+  }
+
+  /* Reverses the elements in positions [i, j], where i <= j. */
+  abstract void internalReverse(int i, int j);
+
+  /* Copies the elements into array, whose length is length(). */
+  abstract void load(int[] array);
+
+  /* Replaces the elements with those of array, whose length is length(). */
+  abstract void store(int[] array);
+
+  /* Elements stored as unsigned bytes. */
+  static final class ByteElements extends CompactPermutation {
+
+    private static final long serialVersionUID = 1L;
+
+    private final byte[] elements;
+
+    ByteElements(int[] p) {
+      elements = new byte[p.length];
+      store(p);
+    }
+
+    private ByteElements(ByteElements other) {
+      elements = other.elements.clone();
+    }
+
+    @Override
+    public int bitsPerElement() {
+      return 8;
+    }
+
+    @Override
+    public int length() {
+      return elements.length;
+    }
+
+    @Override
+    public int get(int i) {
+      return elements[i] & 0xFF;
+    }
+
+    @Override
+    public void swap(int i, int j) {
+      byte temp = elements[i];
+      elements[i] = elements[j];
+      elements[j] = temp;
+    }
+
+    @Override
+    public ByteElements copy() {
+      return new ByteElements(this);
+    }
+
+    @Override
+    void internalReverse(int i, int j) {
+      for (; i < j; i++, j--) {
+        byte temp = elements[i];
+        elements[i] = elements[j];
+        elements[j] = temp;
+      }
+    }
+
+    @Override
+    void load(int[] array) {
+      for (int i = 0; i < elements.length; i++) {
+        array[i] = elements[i] & 0xFF;
+      }
+    }
+
+    @Override
+    void store(int[] array) {
+      for (int i = 0; i < elements.length; i++) {
+        elements[i] = (byte) array[i];
+      }
+    }
+  }
+
+  /* Elements stored as unsigned shorts. */
+  static final class ShortElements extends CompactPermutation {
+
+    private static final long serialVersionUID = 1L;
+
+    private final short[] elements;
+
+    ShortElements(int[] p) {
+      elements = new short[p.length];
+      store(p);
+    }
+
+    private ShortElements(ShortElements other) {
+      elements = other.elements.clone();
+    }
+
+    @Override
+    public int bitsPerElement() {
+      return 16;
+    }
+
+    @Override
+    public int length() {
+      return elements.length;
+    }
+
+    @Override
+    public int get(int i) {
+      return elements[i] & 0xFFFF;
+    }
+
+    @Override
+    public void swap(int i, int j) {
+      short temp = elements[i];
+      elements[i] = elements[j];
+      elements[j] = temp;
+    }
+
+    @Override
+    public ShortElements copy() {
+      return new ShortElements(this);
+    }
+
+    @Override
+    void internalReverse(int i, int j) {
+      for (; i < j; i++, j--) {
+        short temp = elements[i];
+        elements[i] = elements[j];
+        elements[j] = temp;
+      }
+    }
+
+    @Override
+    void load(int[] array) {
+      for (int i = 0; i < elements.length; i++) {
+        array[i] = elements[i] & 0xFFFF;
+      }
+    }
+
+    @Override
+    void store(int[] array) {
+      for (int i = 0; i < elements.length; i++) {
+        elements[i] = (short) array[i];
+      }
+    }
+  }
+
+  /* Elements stored as ints, for permutations too long for shorts. */
+  static final class IntElements extends CompactPermutation {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int[] elements;
+
+    IntElements(int[] p) {
+      elements = p.clone();
+    }
+
+    private IntElements(IntElements other) {
+      elements = other.elements.clone();
+    }
+
+    @Override
+    public int bitsPerElement() {
+      return 32;
+    }
+
+    @Override
+    public int length() {
+      return elements.length;
+    }
+
+    @Override
+    public int get(int i) {
+      return elements[i];
+    }
+
+    @Override
+    public void swap(int i, int j) {
+      int temp = elements[i];
+      elements[i] = elements[j];
+      elements[j] = temp;
+    }
+
+    @Override
+    public IntElements copy() {
+      return new IntElements(this);
+    }
+
+    @Override
+    void internalReverse(int i, int j) {
+      for (; i < j; i++, j--) {
+        int temp = elements[i];
+        elements[i] = elements[j];
+        elements[j] = temp;
+      }
+    }
+
+    @Override
+    void load(int[] array) {
+      System.arraycopy(elements, 0, array, 0, elements.length);
+    }
+
+    @Override
+    void store(int[] array) {
+      System.arraycopy(array, 0, elements, 0, elements.length);
+    }
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator over the permutations of a specified length, n, in lexicographic order, whose ranks in
+ * that order are within a specified interval [start, end), where the permutations of length n
+ * have the ranks 0 through n! - 1. The position of the iteration can be saved at any time as a
+ * serializable {@link Checkpoint}, from which a new iterator can resume, such as to continue a long
+ * running enumeration after the process is stopped.
+ *
+ * <p>Unlike {@link PermutationIterator}, which returns a copy of each permutation, the {@link
+ * #next()} method of this iterator returns a single Permutation object that is changed in place to
+ * the lexicographic successor by each call to {@link #next()}, so it allocates no memory after the
+ * first call. Copy it, such as with the {@link Permutation#Permutation(Permutation)} constructor,
+ * if you need to retain it, and do not change it. The runtime of {@link #next()} is O(1) amortized
+ * over the iteration, and O(n) in the worst case, other than the first call, which computes the
+ * permutation with rank start.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class LexicographicPermutationIterator implements Iterator<Permutation> {
+
+  private final int n;
+  private final BigInteger start;
+  private final BigInteger end;
+  private final long size;
+  private long count;
+  private Permutation p;
+
+  /**
+   * Initializes an iterator over all permutations of length n, in lexicographic order.
+   *
+   * @param n The length of the permutations.
+   * @throws IllegalArgumentException if n is negative, or if n! is greater than Long.MAX_VALUE,
+   *     which is the case for n greater than 20
+   */
+  public LexicographicPermutationIterator(int n) {
+    this(n, BigInteger.ZERO, n >= 0 ? PermutationRanking.factorial(n) : BigInteger.ZERO);
+  }
+
+  /**
+   * Initializes an iterator over the permutations of length n with lexicographic ranks in the
+   * interval [start, end).
+   *
+   * @param n The length of the permutations.
+   * @param start The rank of the first permutation of the iteration.
+   * @param end The rank following that of the last permutation of the iteration.
+   * @throws IllegalArgumentException if n is negative, or if the constraint 0 &le; start &le; end
+   *     &le; n! is violated
+   */
+  public LexicographicPermutationIterator(int n, long start, long end) {
+    this(n, BigInteger.valueOf(start), BigInteger.valueOf(end));
+  }
+
+  /**
+   * Initializes an iterator over the permutations of length n with lexicographic ranks in the
+   * interval [start, end).
+   *
+   * @param n The length of the permutations.
+   * @param start The rank of the first permutation of the iteration.
+   * @param end The rank following that of the last permutation of the iteration.
+   * @throws IllegalArgumentException if n is negative, or if the constraint 0 &le; start &le; end
+   *     &le; n! is violated, or if end - start is greater than Long.MAX_VALUE
+   */
+  public LexicographicPermutationIterator(int n, BigInteger start, BigInteger end) {
+    if (n < 0) {
+      throw new IllegalArgumentException("Length must be non-negative.");
+    }
+    if (start.signum() < 0
+        || start.compareTo(end) > 0
+        || end.compareTo(PermutationRanking.factorial(n)) > 0) {
+      throw new IllegalArgumentException("Requires 0 <= start <= end <= n!.");
+    }
+    BigInteger difference = end.subtract(start);
+    if (difference.bitLength() > 63) {
+      throw new IllegalArgumentException("The number of permutations exceeds Long.MAX_VALUE.");
+    }
+    this.n = n;
+    this.start = start;
+    this.end = end;
+    size = difference.longValue();
+  }
+
+  /**
+   * Initializes an iterator that resumes an iteration from a checkpoint, such that it iterates
+   * over the permutations that remained in the iteration when the checkpoint was created.
+   *
+   * @param checkpoint A checkpoint, such as from the {@link #checkpoint()} method.
+   * @throws IllegalArgumentException if the checkpoint is not valid for permutations of its length,
+   *     such as if it was deserialized from an altered stream
+   */
+  public LexicographicPermutationIterator(Checkpoint checkpoint) {
+    this(checkpoint.length(), checkpoint.next(), checkpoint.end());
+  }
+
+  /**
+   * Checks if this iterator has more permutations.
+   *
+   * @return true if and only if this iterator has more permutations to iterate over.
+   */
+  @Override
+  public boolean hasNext() {
+    return count < size;
+  }
+
+  /**
+   * Advances to the next permutation of the iteration. The Permutation object returned is the same
+   * for every call, and is changed in place by each call.
+   *
+   * @return The Permutation for the next iteration.
+   * @throws NoSuchElementException if hasNext() is false
+   */
+  @Override
+  public Permutation next() {
+    if (count >= size) throw new NoSuchElementException();
+    if (p == null) {
+      int[] first = new int[n];
+      PermutationRanking.unrankLexicographic(start, first);
+      p = new Permutation(first, false);
+    } else {
+      PermutationSpace.advanceLexicographic(p);
+    }
+    count++;
+    return p;
+  }
+
+  /**
+   * Gets the lexicographic rank of the permutation that the next call to {@link #next()} will
+   * return, or the end of the interval of ranks if the iteration is complete.
+   *
+   * @return the rank of the next permutation
+   */
+  public BigInteger nextRank() {
+    return start.add(BigInteger.valueOf(count));
+  }
+
+  /**
+   * Creates a checkpoint of the position of this iteration, from which the iteration can be
+   * resumed with the {@link #LexicographicPermutationIterator(Checkpoint)} constructor.
+   *
+   * @return a checkpoint of the position of this iteration
+   */
+  public Checkpoint checkpoint() {
+    return new Checkpoint(n, nextRank(), end);
+  }
+
+  /**
+   * The position of a lexicographic iteration over permutations: the permutation length, and the
+   * interval [next, end) of the lexicographic ranks of the permutations that remain.
+   *
+   * @param length The length of the permutations.
+   * @param next The rank of the next permutation of the iteration.
+   * @param end The rank following that of the last permutation of the iteration.
+   */
+  public record Checkpoint(int length, BigInteger next, BigInteger end) implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Initializes a checkpoint.
+     *
+     * @param length The length of the permutations.
+     * @param next The rank of the next permutation of the iteration.
+     * @param end The rank following that of the last permutation of the iteration.
+     * @throws NullPointerException if next or end is null
+     */
+    public Checkpoint {
+      if (next == null || end == null) {
+        throw new NullPointerException("The ranks of a Checkpoint must not be null.");
+      }
+    }
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Internal class of arrays of longs, indexed by long, that support atomic operations, stored either
+ * in a long[] on the heap or in a memory-mapped file. This is the storage of {@link
+ * PermutationBitSet} and {@link PermutationNibbleTable}.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+abstract sealed class LongWords permits LongWords.Heap, LongWords.Mapped {
+
+  /* Only the nested implementations may extend this class. */
+  private LongWords() {}
+
+  /*
+   * Allocates count longs, initially 0, on the heap.
+   */
+  static LongWords heap(long count) {
+    if (count > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException(
+          "Too large for the heap; use a memory-mapped file instead.");
+    }
+    return new Heap((int) count);
+  }
+
+  /*
+   * Maps count longs from a file, creating it, with all longs initially 0, if it doesn't exist.
+   */
+  static LongWords mapped(long count, Path file) throws IOException {
+    return new Mapped(count, file);
+  }
+
+  abstract long length();
+
+  abstract long get(long index);
+
+  abstract void set(long index, long value);
+
+  abstract boolean compareAndSet(long index, long expected, long value);
+
+  abstract long getAndBitwiseOr(long index, long mask);
+
+  abstract long getAndBitwiseAnd(long index, long mask);
+
+  /* Writes any changes to the storage device, if memory-mapped. */
+  abstract void force();
+
+  static final class Heap extends LongWords {
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] words;
+
+    Heap(int count) {
+      words = new long[count];
+    }
+
+    @Override
+    long length() {
+      return words.length;
+    }
+
+    @Override
+    long get(long index) {
+      return (long) WORDS.getAcquire(words, (int) index);
+    }
+
+    @Override
+    void set(long index, long value) {
+      WORDS.setRelease(words, (int) index, value);
+    }
+
+    @Override
+    boolean compareAndSet(long index, long expected, long value) {
+      return WORDS.compareAndSet(words, (int) index, expected, value);
+    }
+
+    @Override
+    long getAndBitwiseOr(long index, long mask) {
+      return (long) WORDS.getAndBitwiseOr(words, (int) index, mask);
+    }
+
+    @Override
+    long getAndBitwiseAnd(long index, long mask) {
+      return (long) WORDS.getAndBitwiseAnd(words, (int) index, mask);
+    }
+
+    @Override
+    void force() {}
+  }
+
+  static final class Mapped extends LongWords {
+
+    /* Each segment maps 2^27 longs, i.e., 1 GB. */
+    private static final int SEGMENT_BITS = 27;
+
+    private static final VarHandle WORDS =
+        MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final long count;
+    private final MappedByteBuffer[] segments;
+
+    Mapped(long count, Path file) throws IOException {
+      this.count = count;
+      long bytes = count << 3;
+      try (FileChannel channel =
+          FileChannel.open(
+              file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        long size = channel.size();
+        if (size != 0 && size != bytes) {
+          throw new IOException(
+              "Existing file " + file + " is " + size + " bytes, but " + bytes + " are required.");
+        }
+        int n = (int) ((count + (1L << SEGMENT_BITS) - 1) >>> SEGMENT_BITS);
+        segments = new MappedByteBuffer[n];
+        for (int s = 0; s < n; s++) {
+          long start = (long) s << (SEGMENT_BITS + 3);
+          // the mapping remains valid after the channel is closed, and extends the file as needed
+          segments[s] =
+              channel.map(FileChannel.MapMode.READ_WRITE, start, Math.min(bytes - start, 1L << 30));
+        }
+      }
+    }
+
+    @Override
+    long length() {
+      return count;
+    }
+
+    @Override
+    long get(long index) {
+      return (long) WORDS.getAcquire(segment(index), offset(index));
+    }
+
+    @Override
+    void set(long index, long value) {
+      WORDS.setRelease(segment(index), offset(index), value);
+    }
+
+    @Override
+    boolean compareAndSet(long index, long expected, long value) {
+      return WORDS.compareAndSet(segment(index), offset(index), expected, value);
+    }
+
+    @Override
+    long getAndBitwiseOr(long index, long mask) {
+      return (long) WORDS.getAndBitwiseOr(segment(index), offset(index), mask);
+    }
+
+    @Override
+    long getAndBitwiseAnd(long index, long mask) {
+      return (long) WORDS.getAndBitwiseAnd(segment(index), offset(index), mask);
+    }
+
+    @Override
+    void force() {
+      for (MappedByteBuffer segment : segments) {
+        segment.force();
+      }
+    }
+
+    private MappedByteBuffer segment(long index) {
+      if (index < 0 || index >= count) {
+        throw new IndexOutOfBoundsException(index);
+      }
+      return segments[(int) (index >>> SEGMENT_BITS)];
+    }
+
+    private static int offset(long index) {
+      return ((int) index & ((1 << SEGMENT_BITS) - 1)) << 3;
+    }
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import java.util.Arrays;
+
+/**
+ * A map from packed permutations (see {@link PackedPermutations}) to int values, such as the
+ * distances of the states of a breadth first search over the permutations of a small set. It is
+ * implemented as an open addressing hash table of primitive longs and ints with linear probing, so
+ * its operations allocate no memory other than when the table grows. Since 0 marks the empty slots
+ * of the table, the value of the key 0 is stored separately.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class PackedPermutationMap {
+
+  private long[] keys;
+  private int[] values;
+  private int mask;
+  private int size;
+  private boolean containsZero;
+  private int zeroValue;
+
+  /** Constructs an empty map. */
+  public PackedPermutationMap() {
+    this(0);
+  }
+
+  /**
+   * Constructs an empty map with capacity for a specified number of packed permutations before it
+   * must grow.
+   *
+   * @param expectedSize The expected number of packed permutations.
+   * @throws IllegalArgumentException if expectedSize is negative
+   */
+  public PackedPermutationMap(int expectedSize) {
+    keys = new long[PackedPermutations.capacity(expectedSize)];
+    values = new int[keys.length];
+    mask = keys.length - 1;
+  }
+
+  /**
+   * Associates a value with a packed permutation, replacing any value previously associated with
+   * it.
+   *
+   * @param key The packed permutation.
+   * @param value The value.
+   * @return true if the map did not already contain key
+   */
+  public boolean put(long key, int value) {
+    return put(key, value, true);
+  }
+
+  /**
+   * Associates a value with a packed permutation, if the map does not already contain it.
+   *
+   * @param key The packed permutation.
+   * @param value The value.
+   * @return true if the map did not already contain key, and thus now associates it with value
+   */
+  public boolean putIfAbsent(long key, int value) {
+    return put(key, value, false);
+  }
+
+  /**
+   * Gets the value associated with a packed permutation.
+   *
+   * @param key The packed permutation.
+   * @param defaultValue The value to return if the map does not contain key.
+   * @return the value associated with key, or defaultValue if the map does not contain key
+   */
+  public int get(long key, int defaultValue) {
+    if (key == 0) {
+      return containsZero ? zeroValue : defaultValue;
+    }
+    for (int i = (int) PackedPermutations.mix(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        return values[i];
+      }
+    }
+    return defaultValue;
+  }
+
+  /**
+   * Checks if the map contains a packed permutation.
+   *
+   * @param key The packed permutation.
+   * @return true if the map contains key
+   */
+  public boolean containsKey(long key) {
+    if (key == 0) {
+      return containsZero;
+    }
+    for (int i = (int) PackedPermutations.mix(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the number of packed permutations in the map.
+   *
+   * @return the size of the map
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks if the map is empty.
+   *
+   * @return true if the map is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** Removes all packed permutations from the map, retaining its current capacity. */
+  public void clear() {
+    Arrays.fill(keys, 0);
+    containsZero = false;
+    size = 0;
+  }
+
+  private boolean put(long key, int value, boolean replace) {
+    if (key == 0) {
+      boolean added = !containsZero;
+      if (added || replace) {
+        zeroValue = value;
+      }
+      if (added) {
+        containsZero = true;
+        size++;
+      }
+      return added;
+    }
+    int i = (int) PackedPermutations.mix(key) & mask;
+    for (; keys[i] != 0; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        if (replace) {
+          values[i] = value;
+        }
+        return false;
+      }
+    }
+    keys[i] = key;
+    values[i] = value;
+    size++;
+    if (size > keys.length >> 1) {
+      grow();
+    }
+    return true;
+  }
+
+  private void grow() {
+    if (keys.length >= 1 << 30) {
+      throw new IllegalStateException("Maximum capacity exceeded.");
+    }
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    keys = new long[oldKeys.length << 1];
+    values = new int[keys.length];
+    mask = keys.length - 1;
+    for (int j = 0; j < oldKeys.length; j++) {
+      if (oldKeys[j] != 0) {
+        int i = (int) PackedPermutations.mix(oldKeys[j]) & mask;
+        while (keys[i] != 0) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = oldKeys[j];
+        values[i] = oldValues[j];
+      }
+    }
+  }
+}
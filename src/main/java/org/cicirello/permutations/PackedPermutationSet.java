@@ -0,0 +1,151 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import java.util.Arrays;
+
+/**
+ * A set of packed permutations (see {@link PackedPermutations}), such as the set of visited states
+ * of a search over the permutations of a small set. It is implemented as an open addressing hash
+ * table of primitive longs with linear probing, so adding and checking for a permutation allocates
+ * no memory other than when the table grows. Since 0 marks the empty slots of the table, whether
+ * the set contains the key 0 is tracked separately.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class PackedPermutationSet {
+
+  private long[] keys;
+  private int mask;
+  private int size;
+  private boolean containsZero;
+
+  /** Constructs an empty set. */
+  public PackedPermutationSet() {
+    this(0);
+  }
+
+  /**
+   * Constructs an empty set with capacity for a specified number of packed permutations before it
+   * must grow.
+   *
+   * @param expectedSize The expected number of packed permutations.
+   * @throws IllegalArgumentException if expectedSize is negative
+   */
+  public PackedPermutationSet(int expectedSize) {
+    keys = new long[PackedPermutations.capacity(expectedSize)];
+    mask = keys.length - 1;
+  }
+
+  /**
+   * Adds a packed permutation to the set.
+   *
+   * @param key The packed permutation.
+   * @return true if the set did not already contain key
+   */
+  public boolean add(long key) {
+    if (key == 0) {
+      if (containsZero) {
+        return false;
+      }
+      containsZero = true;
+      size++;
+      return true;
+    }
+    int i = (int) PackedPermutations.mix(key) & mask;
+    for (; keys[i] != 0; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        return false;
+      }
+    }
+    keys[i] = key;
+    size++;
+    if (size > keys.length >> 1) {
+      grow();
+    }
+    return true;
+  }
+
+  /**
+   * Checks if the set contains a packed permutation.
+   *
+   * @param key The packed permutation.
+   * @return true if the set contains key
+   */
+  public boolean contains(long key) {
+    if (key == 0) {
+      return containsZero;
+    }
+    for (int i = (int) PackedPermutations.mix(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the number of packed permutations in the set.
+   *
+   * @return the size of the set
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Checks if the set is empty.
+   *
+   * @return true if the set is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** Removes all packed permutations from the set, retaining its current capacity. */
+  public void clear() {
+    Arrays.fill(keys, 0);
+    containsZero = false;
+    size = 0;
+  }
+
+  private void grow() {
+    if (keys.length >= 1 << 30) {
+      throw new IllegalStateException("Maximum capacity exceeded.");
+    }
+    long[] old = keys;
+    keys = new long[old.length << 1];
+    mask = keys.length - 1;
+    for (long key : old) {
+      if (key != 0) {
+        int i = (int) PackedPermutations.mix(key) & mask;
+        while (keys[i] != 0) {
+          i = (i + 1) & mask;
+        }
+        keys[i] = key;
+      }
+    }
+  }
+}
@@ -0,0 +1,302 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+/**
+ * Utility class of static methods for permutations of length at most 16 packed into a single long,
+ * with 4 bits per element: element i of the permutation occupies bits 4i through 4i+3, and the bits
+ * of positions beyond the length of the permutation are all 0. Since a packed permutation is a
+ * primitive value, searches over the permutations of a small set, such as breadth first search or
+ * IDA*, can represent their states without allocating an object per state. The operations that
+ * correspond to those of {@link Permutation}, such as {@link #swap}, {@link #reverse(long, int,
+ * int)}, {@link #removeAndInsert}, and {@link #rotate}, are implemented with a constant number of
+ * bitwise operations. See {@link PackedPermutationSet} and {@link PackedPermutationMap} for hash
+ * tables keyed by packed permutations.
+ *
+ * <p>Since a packed permutation does not record its length, methods whose behavior depends upon
+ * the length have a parameter specifying it. The methods that operate on packed permutations don't
+ * validate their arguments, and their results are unspecified if passed a long that is not a
+ * packed permutation, or indexes that are out of bounds.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class PackedPermutations {
+
+  /** The maximum length of a packed permutation. */
+  public static final int MAX_LENGTH = 16;
+
+  private static final long LOW_NIBBLES = 0x0F0F0F0F0F0F0F0FL;
+
+  /** Class of static utility methods so no need to instantiate. */
+  private PackedPermutations() {}
+
+  /**
+   * Packs a permutation into a long.
+   *
+   * @param p The permutation.
+   * @return the packed permutation
+   * @throws IllegalArgumentException if p.length() is greater than 16
+   */
+  public static long pack(Permutation p) {
+    checkLength(p.length());
+    long packed = 0;
+    for (int i = p.length() - 1; i >= 0; i--) {
+      packed = (packed << 4) | p.get(i);
+    }
+    return packed;
+  }
+
+  /**
+   * Packs a permutation, contained in an array, into a long. The array is not validated.
+   *
+   * @param p An array containing a permutation of the integers 0..(p.length-1).
+   * @return the packed permutation
+   * @throws IllegalArgumentException if p.length is greater than 16
+   */
+  public static long pack(int[] p) {
+    checkLength(p.length);
+    long packed = 0;
+    for (int i = p.length - 1; i >= 0; i--) {
+      packed = (packed << 4) | p[i];
+    }
+    return packed;
+  }
+
+  /**
+   * Unpacks a packed permutation into a Permutation.
+   *
+   * @param packed The packed permutation.
+   * @param n The length of the permutation.
+   * @return the Permutation
+   * @throws IllegalArgumentException if n is greater than 16, or if packed is not a permutation of
+   *     length n
+   */
+  public static Permutation unpack(long packed, int n) {
+    checkLength(n);
+    return new Permutation(unpack(packed, new int[n]));
+  }
+
+  /**
+   * Unpacks a packed permutation into an array, whose length is the length of the permutation.
+   *
+   * @param packed The packed permutation.
+   * @param array The array to hold the elements of the permutation, whose length must be at most
+   *     16.
+   * @return array
+   */
+  public static int[] unpack(long packed, int[] array) {
+    for (int i = 0; i < array.length; i++) {
+      array[i] = (int) (packed >>> (i << 2)) & 0xF;
+    }
+    return array;
+  }
+
+  /**
+   * Gets the packed identity permutation of length n.
+   *
+   * @param n The length of the permutation.
+   * @return the packed identity permutation
+   * @throws IllegalArgumentException if n is greater than 16
+   */
+  public static long identity(int n) {
+    checkLength(n);
+    // 0xFEDCBA9876543210 masked to n elements
+    return 0xFEDCBA9876543210L & mask(0, n - 1);
+  }
+
+  /**
+   * Gets the element in position i of a packed permutation.
+   *
+   * @param packed The packed permutation.
+   * @param i The position.
+   * @return the element in position i
+   */
+  public static int get(long packed, int i) {
+    return (int) (packed >>> (i << 2)) & 0xF;
+  }
+
+  /**
+   * Swaps 2 elements of a packed permutation, as in {@link Permutation#swap}.
+   *
+   * @param packed The packed permutation.
+   * @param i position of first to swap
+   * @param j the position of the second to swap
+   * @return the packed permutation with the elements in positions i and j swapped
+   */
+  public static long swap(long packed, int i, int j) {
+    long x = ((packed >>> (i << 2)) ^ (packed >>> (j << 2))) & 0xF;
+    return packed ^ ((x << (i << 2)) | (x << (j << 2)));
+  }
+
+  /**
+   * Reverses the order of the elements of a packed permutation, as in {@link
+   * Permutation#reverse()}.
+   *
+   * @param packed The packed permutation.
+   * @param n The length of the permutation.
+   * @return the reversed packed permutation
+   */
+  public static long reverse(long packed, int n) {
+    return n > 1 ? reverse(packed, 0, n - 1) : packed;
+  }
+
+  /**
+   * Reverses the order of the elements of a subrange of a packed permutation, as in {@link
+   * Permutation#reverse(int, int)}.
+   *
+   * @param packed The packed permutation.
+   * @param i position of first index
+   * @param j the position of the second index
+   * @return the packed permutation with the subrange reversed
+   */
+  public static long reverse(long packed, int i, int j) {
+    if (i > j) {
+      int temp = i;
+      i = j;
+      j = temp;
+    }
+    // reverses all 16 nibbles, such that nibble k holds element 15-k, then shifts so that position
+    // t holds element i+j-t
+    long r = Long.reverseBytes(packed);
+    r = ((r & LOW_NIBBLES) << 4) | ((r >>> 4) & LOW_NIBBLES);
+    int shift = (15 - i - j) << 2;
+    r = shift >= 0 ? r >>> shift : r << -shift;
+    long m = mask(i, j);
+    return (packed & ~m) | (r & m);
+  }
+
+  /**
+   * Removes an element from one position and then inserts it into a new position, shifting the
+   * elements in between, as in {@link Permutation#removeAndInsert(int, int)}.
+   *
+   * @param packed The packed permutation.
+   * @param i position of element to remove and insert
+   * @param j the position of the insertion point
+   * @return the resulting packed permutation
+   */
+  public static long removeAndInsert(long packed, int i, int j) {
+    long v = (packed >>> (i << 2)) & 0xF;
+    if (i < j) {
+      long shifted = (packed & mask(i + 1, j)) >>> 4;
+      return (packed & ~mask(i, j)) | shifted | (v << (j << 2));
+    } else if (i > j) {
+      long shifted = (packed & mask(j, i - 1)) << 4;
+      return (packed & ~mask(j, i)) | shifted | (v << (j << 2));
+    }
+    return packed;
+  }
+
+  /**
+   * Circular rotation of a packed permutation (to the left), as in {@link Permutation#rotate}.
+   *
+   * @param packed The packed permutation.
+   * @param n The length of the permutation.
+   * @param numPositions Number of positions to rotate.
+   * @return the rotated packed permutation
+   */
+  public static long rotate(long packed, int n, int numPositions) {
+    if (n == 0) {
+      return packed;
+    }
+    int k = Math.floorMod(numPositions, n);
+    if (k == 0) {
+      return packed;
+    }
+    return (packed >>> (k << 2)) | ((packed & mask(0, k - 1)) << ((n - k) << 2));
+  }
+
+  /**
+   * Computes the composition of two packed permutations, p1 and p2, which is the permutation c
+   * such that c.get(i) is p1.get(p2.get(i)) for all i.
+   *
+   * @param p1 The first packed permutation.
+   * @param p2 The second packed permutation.
+   * @param n The length of the permutations.
+   * @return the packed composition of p1 and p2
+   */
+  public static long compose(long p1, long p2, int n) {
+    long c = 0;
+    for (int i = 0; i < n; i++) {
+      int k = (int) (p2 >>> (i << 2)) & 0xF;
+      c |= ((p1 >>> (k << 2)) & 0xF) << (i << 2);
+    }
+    return c;
+  }
+
+  /**
+   * Computes the inverse of a packed permutation.
+   *
+   * @param packed The packed permutation.
+   * @param n The length of the permutation.
+   * @return the packed inverse, such that for all i, if p(i) = j, then inv(j) = i
+   */
+  public static long invert(long packed, int n) {
+    long inverse = 0;
+    for (int i = 0; i < n; i++) {
+      inverse |= (long) i << (((int) (packed >>> (i << 2)) & 0xF) << 2);
+    }
+    return inverse;
+  }
+
+  /*
+   * Mixes the bits of a packed permutation for use as a hash code, with the finalizer of the 64-bit
+   * variant of MurmurHash3.
+   */
+  static long mix(long key) {
+    key ^= key >>> 33;
+    key *= 0xff51afd7ed558ccdL;
+    key ^= key >>> 33;
+    key *= 0xc4ceb9fe1a85ec53L;
+    key ^= key >>> 33;
+    return key;
+  }
+
+  /*
+   * Computes the capacity, a power of 2, of an open addressing hash table for the specified number
+   * of keys at a load factor of at most 1/2.
+   */
+  static int capacity(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("expectedSize must be non-negative");
+    }
+    if (expectedSize > 1 << 29) {
+      return 1 << 30;
+    }
+    return Math.max(16, Integer.highestOneBit(Math.max(1, 2 * expectedSize - 1)) << 1);
+  }
+
+  /* Mask of the bits of positions [i, j]. */
+  private static long mask(int i, int j) {
+    if (j < i) {
+      return 0;
+    }
+    long high = j >= 15 ? -1L : (1L << ((j + 1) << 2)) - 1;
+    return high & (-1L << (i << 2));
+  }
+
+  private static void checkLength(int n) {
+    if (n > MAX_LENGTH) {
+      throw new IllegalArgumentException("Packed permutations must be of length at most 16.");
+    }
+  }
+}
@@ -26,6 +26,7 @@ import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntUnaryOperator;
 import java.util.random.RandomGenerator;
 import org.cicirello.math.rand.RandomIndexer;
 import org.cicirello.util.ArrayFiller;
@@ -44,6 +45,30 @@ public final class Permutation
 
   private static final long serialVersionUID = 3L;
 
+  /* Opcodes of the records of the undo log. */
+  private static final int OP_SWAP = 0;
+  private static final int OP_REVERSE = 1;
+  private static final int OP_MOVE = 2;
+  private static final int OP_MOVE_BLOCK = 3;
+  private static final int OP_SWAP_BLOCKS = 4;
+  private static final int OP_ROTATE = 5;
+  private static final int OP_INVERT = 6;
+  private static final int OP_RANGE = 7;
+  private static final int OP_VALUES = 8;
+
+  /* Per-thread scratch buffer of the in-place mutators, grown as necessary up to SCRATCH_LIMIT. */
+  private static final ThreadLocal<int[]> SCRATCH = ThreadLocal.withInitial(() -> new int[16]);
+
+  /*
+   * Largest scratch buffer retained by a thread. Mutators that would need more work in place
+   * without a temporary array, so that a thread that once mutates a very long permutation neither
+   * allocates on each call nor holds on to a buffer of that length for its lifetime.
+   */
+  static final int SCRATCH_LIMIT = 1 << 16;
+
+  /* Longest range rotated by reversals, or block swapped element by element, in place. */
+  private static final int SHORT_RANGE = 8;
+
   /**
    * Raw permutation, which should consist of a permutation of the integers in [0,
    * permutation.length).
@@ -63,6 +88,43 @@ public final class Permutation
    */
   private boolean hashCodeIsCached;
 
+  /**
+   * Cache of the 64-bit fingerprint, computed the first time fingerprint64() is called. While it is
+   * cached, the mutators update it incrementally, rather than invalidating it as for hashCode.
+   */
+  private transient long fingerprint;
+
+  /**
+   * Flag for validating/invalidating cache of the fingerprint. All methods that change state of
+   * Permutation must either update or invalidate the cache.
+   */
+  private transient boolean fingerprintIsCached;
+
+  /**
+   * Cache of the inverse permutation, allocated the first time inverseView() is called. While it is
+   * cached, the mutators patch it incrementally for the indexes that they change.
+   */
+  private transient int[] inverse;
+
+  /**
+   * Flag for validating/invalidating cache of the inverse. All methods that change state of
+   * Permutation must either patch or invalidate the cache.
+   */
+  private transient boolean inverseIsCached;
+
+  /**
+   * Undo log of the current transaction, allocated by the first call to begin() and reused by
+   * later transactions. Each record consists of its operands followed by an opcode, so that
+   * rollback() can read the records from the end.
+   */
+  private transient int[] undoLog;
+
+  /** The number of ints of undoLog in use by the current transaction. */
+  private transient int undoLength;
+
+  /** Flag indicating whether mutations are currently recorded in the undo log. */
+  private transient boolean inTransaction;
+
   /**
    * Initializes a random permutation of n integers. Uses {@link ThreadLocalRandom} as the source of
    * efficient random number generation.
@@ -89,52 +151,62 @@ public final class Permutation
    * Initializes a specific permutation from an integer in mixed radix form representing the chosen
    * permutation. See the toInteger() method which can be used to generate this value for a given
    * permutation. The n! permutations of the integers from 0 to n-1 are mapped to the integers from
-   * 0..(n!-1). Runtime of this constructor is O(n^2).
+   * 0..(n!-1). Runtime of this constructor is O(n) for n &le; 64, and O(n log n) otherwise.
    *
    * @param n The length of the permutation.
-   * @param value The integer value of the permutation in the interval: 0..(n!-1).
+   * @param value The integer value of the permutation in the interval: 0..(n!-1). Values outside
+   *     of this interval, including negative values, are reduced modulo n!.
    */
   public Permutation(int n, int value) {
-    permutation = ArrayFiller.create(n);
-    for (int i = 0; i < n - 1; i++) {
-      int j = i + value % (n - i);
-      int temp = permutation[j];
-      System.arraycopy(permutation, i, permutation, i + 1, j - i);
-      permutation[i] = temp;
-      value = value / (n - i);
-    }
+    permutation = new int[n];
+    PermutationRanking.unrank(value, permutation);
+  }
+
+  /**
+   * Initializes a specific permutation from a long in mixed radix form representing the chosen
+   * permutation. See the toLong() method which can be used to generate this value for a given
+   * permutation. The n! permutations of the integers from 0 to n-1 are mapped to the integers from
+   * 0..(n!-1). This constructor supports all of the permutations of length 20 or less, since 20! is
+   * the largest factorial less than Long.MAX_VALUE. Runtime of this constructor is O(n) for n &le;
+   * 64, and O(n log n) otherwise.
+   *
+   * @param n The length of the permutation.
+   * @param value The long value of the permutation in the interval: 0..(n!-1).
+   */
+  public Permutation(int n, long value) {
+    permutation = new int[n];
+    PermutationRanking.unrank(value, permutation);
   }
 
   /**
    * Initializes a specific permutation from an integer in mixed radix form representing the chosen
    * permutation. See the toInteger() method which can be used to generate this value for a given
    * permutation. The n! permutations of the integers from 0 to n-1 are mapped to the integers from
-   * 0..(n!-1). Runtime of this constructor is O(n^2).
-   *
-   * <p>Even with the operations on BigInteger objects, the runtime is O(n^2). It performs O(n^2)
-   * operations on primitive values. It performs only O(n) divisions on BigInteger objects. It can
-   * be shown that the amortized cost of all of those divisions is bounded by the most costly
-   * division (each division involves progressively smaller numbers). The largest number involved in
-   * a division is the parameter value, which can be at most n!. The number n! consists of
-   * O(log((n-1)!)) = O(n log n) digits. Java's BigInteger division method currently implements the
-   * Burnikel-Ziegler algorithm, using the Toom–Cook multiplication algorithm. Dividing m-digit
-   * numbers with this combination has a runtime of O(m^1.465 log(m)). Substituting the number of
-   * digits for m, we have: O(n^1.465 log(n)^2.465). The cost of all of the divisions is thus less
-   * asymptotically than the cost of the primitive operations: O(n^2).
+   * 0..(n!-1). Runtime of this constructor is O(n log n) operations on primitive values, in
+   * addition to the operations on BigInteger objects.
+   *
+   * <p>The mixed radix digits are extracted from value by divide-and-conquer: value is divided by
+   * the product of the radixes of the first half of the digits, the remainder holding the first
+   * half of the digits and the quotient the second half, each of which is then split recursively.
+   * With the products of the radixes computed once as a tree, the BigInteger operations at each of
+   * the O(log n) levels of the recursion cost no more than a division of a number the size of n!,
+   * which has O(n log n) digits, rather than the O(n) sequential divisions of a direct conversion.
+   * The permutation is then constructed from the digits with a Fenwick tree in O(n log n) time.
    *
    * @param n The length of the permutation.
-   * @param value The integer value of the permutation in the interval: 0..(n!-1).
+   * @param value The integer value of the permutation in the interval: 0..(n!-1). Values outside
+   *     of this interval, including negative values, are reduced modulo n!.
    */
   public Permutation(int n, BigInteger value) {
-    permutation = ArrayFiller.create(n);
-    for (int i = 0; i < n - 1; i++) {
-      BigInteger[] divRem = value.divideAndRemainder(BigInteger.valueOf(n - i));
-      int j = i + divRem[1].intValue();
-      int temp = permutation[j];
-      System.arraycopy(permutation, i, permutation, i + 1, j - i);
-      permutation[i] = temp;
-      value = divRem[0];
+    if (n <= 20 && value.signum() >= 0 && value.bitLength() < 64) {
+      permutation = new int[n];
+      PermutationRanking.unrank(value.longValue(), permutation);
+      return;
     }
+    int[] digits = new int[n];
+    PermutationRanking.fromBigInteger(value, digits);
+    permutation = new int[n];
+    PermutationRanking.fromLehmer(digits, permutation);
   }
 
   /**
@@ -158,7 +230,7 @@ public final class Permutation
    * @throws IllegalArgumentException If validate is true, and if p either contains duplicates, or
    *     contains any negative elements, or contains any elements equal or greater than p.length.
    */
-  private Permutation(int[] p, boolean validate) {
+  Permutation(int[] p, boolean validate) {
     if (validate) {
       validate(p);
     }
@@ -174,6 +246,8 @@ public final class Permutation
     permutation = p.permutation.clone();
     hashCodeIsCached = p.hashCodeIsCached;
     hashCode = p.hashCode;
+    fingerprintIsCached = p.fingerprintIsCached;
+    fingerprint = p.fingerprint;
   }
 
   /**
@@ -211,8 +285,11 @@ public final class Permutation
    * @param operator A unary Permutation operator
    */
   public void apply(PermutationUnaryOperator operator) {
+    recordRange(0, permutation.length - 1);
     operator.apply(permutation);
     hashCodeIsCached = false;
+    fingerprintIsCached = false;
+    inverseIsCached = false;
   }
 
   /**
@@ -221,8 +298,11 @@ public final class Permutation
    * @param operator A unary Permutation operator
    */
   public void apply(PermutationFullUnaryOperator operator) {
+    recordRange(0, permutation.length - 1);
     operator.apply(permutation, this);
     hashCodeIsCached = false;
+    fingerprintIsCached = false;
+    inverseIsCached = false;
   }
 
   /**
@@ -234,9 +314,15 @@ public final class Permutation
    * @param other The other Permutation
    */
   public void apply(PermutationBinaryOperator operator, Permutation other) {
+    recordRange(0, permutation.length - 1);
+    other.recordRange(0, other.permutation.length - 1);
     operator.apply(permutation, other.permutation);
     hashCodeIsCached = false;
+    fingerprintIsCached = false;
+    inverseIsCached = false;
     other.hashCodeIsCached = false;
+    other.fingerprintIsCached = false;
+    other.inverseIsCached = false;
   }
 
   /**
@@ -248,9 +334,15 @@ public final class Permutation
    * @param other The other Permutation
    */
   public void apply(PermutationFullBinaryOperator operator, Permutation other) {
+    recordRange(0, permutation.length - 1);
+    other.recordRange(0, other.permutation.length - 1);
     operator.apply(permutation, other.permutation, this, other);
     hashCodeIsCached = false;
+    fingerprintIsCached = false;
+    inverseIsCached = false;
     other.hashCodeIsCached = false;
+    other.fingerprintIsCached = false;
+    other.inverseIsCached = false;
   }
 
   /**
@@ -263,8 +355,11 @@ public final class Permutation
    */
   public void applyThenValidate(PermutationUnaryOperator operator) {
     try {
+      recordRange(0, permutation.length - 1);
       operator.apply(permutation);
       hashCodeIsCached = false;
+      fingerprintIsCached = false;
+      inverseIsCached = false;
       validate(permutation);
     } catch (IllegalArgumentException exception) {
       throw new IllegalPermutationStateException(
@@ -282,8 +377,11 @@ public final class Permutation
    */
   public void applyThenValidate(PermutationFullUnaryOperator operator) {
     try {
+      recordRange(0, permutation.length - 1);
       operator.apply(permutation, this);
       hashCodeIsCached = false;
+      fingerprintIsCached = false;
+      inverseIsCached = false;
       validate(permutation);
     } catch (IllegalArgumentException exception) {
       throw new IllegalPermutationStateException(
@@ -291,6 +389,92 @@ public final class Permutation
     }
   }
 
+  /**
+   * Applies a custom unary operator that changes only the elements at indexes i through j,
+   * inclusive, and then validates the state of the Permutation. Only that range of indexes is
+   * validated, in O(j - i + 1) time, which relies upon the operator not changing any index outside
+   * of that range. And since the raw array is the only state the operator can change, the cached
+   * {@link #fingerprint64()} and {@link #inverseView() inverse} are updated for the range rather
+   * than invalidated.
+   *
+   * @param operator A unary Permutation operator
+   * @param i The first index that the operator may change.
+   * @param j The last index that the operator may change.
+   * @throws IllegalArgumentException if j &lt; i
+   * @throws IndexOutOfBoundsException if i is negative, or j &ge; length()
+   * @throws IllegalPermutationStateException if the operator produced an illegal Permutation, in
+   *     which case all subsequent method calls upon that Permutation may be unpredictable
+   */
+  public void applyThenValidate(PermutationUnaryOperator operator, int i, int j) {
+    checkRange(i, j);
+    ValidationMarks marks = ValidationMarks.acquire();
+    try {
+      int[] seen = marks.marks(permutation.length);
+      int before = marks.reserve(2);
+      for (int k = i; k <= j; k++) {
+        seen[permutation[k]] = before;
+      }
+      recordRange(i, j);
+      toggleFingerprint(i, j);
+      boolean valid = false;
+      try {
+        operator.apply(permutation);
+        validateRange(i, j, seen, before);
+        valid = true;
+      } catch (IllegalArgumentException exception) {
+        throw new IllegalPermutationStateException(
+            "Internal state of the Permutation is illegal.", exception);
+      } finally {
+        hashCodeIsCached = false;
+        if (!valid) {
+          fingerprintIsCached = false;
+          inverseIsCached = false;
+        }
+      }
+      toggleFingerprint(i, j);
+      patchInverse(i, j);
+    } finally {
+      marks.release();
+    }
+  }
+
+  /**
+   * Applies a custom unary operator that changes only the elements at indexes i through j,
+   * inclusive, and then validates the state of the Permutation. Only that range of indexes is
+   * validated, in O(j - i + 1) time, which relies upon the operator not changing any index outside
+   * of that range.
+   *
+   * @param operator A unary Permutation operator
+   * @param i The first index that the operator may change.
+   * @param j The last index that the operator may change.
+   * @throws IllegalArgumentException if j &lt; i
+   * @throws IndexOutOfBoundsException if i is negative, or j &ge; length()
+   * @throws IllegalPermutationStateException if the operator produced an illegal Permutation, in
+   *     which case all subsequent method calls upon that Permutation may be unpredictable
+   */
+  public void applyThenValidate(PermutationFullUnaryOperator operator, int i, int j) {
+    checkRange(i, j);
+    ValidationMarks marks = ValidationMarks.acquire();
+    try {
+      int[] seen = marks.marks(permutation.length);
+      int before = marks.reserve(2);
+      for (int k = i; k <= j; k++) {
+        seen[permutation[k]] = before;
+      }
+      recordRange(i, j);
+      operator.apply(permutation, this);
+      hashCodeIsCached = false;
+      fingerprintIsCached = false;
+      inverseIsCached = false;
+      validateRange(i, j, seen, before);
+    } catch (IllegalArgumentException exception) {
+      throw new IllegalPermutationStateException(
+          "Internal state of the Permutation is illegal.", exception);
+    } finally {
+      marks.release();
+    }
+  }
+
   /**
    * Applies a custom binary operator on a pair of Permutation objects, and then validates the state
    * of the Permutation. The raw int array belonging to this is passed as the first array to
@@ -304,9 +488,15 @@ public final class Permutation
    */
   public void applyThenValidate(PermutationBinaryOperator operator, Permutation other) {
     try {
+      recordRange(0, permutation.length - 1);
+      other.recordRange(0, other.permutation.length - 1);
       operator.apply(permutation, other.permutation);
       hashCodeIsCached = false;
+      fingerprintIsCached = false;
+      inverseIsCached = false;
       other.hashCodeIsCached = false;
+      other.fingerprintIsCached = false;
+      other.inverseIsCached = false;
       validate(permutation);
       validate(other.permutation);
     } catch (IllegalArgumentException exception) {
@@ -329,9 +519,15 @@ public final class Permutation
    */
   public void applyThenValidate(PermutationFullBinaryOperator operator, Permutation other) {
     try {
+      recordRange(0, permutation.length - 1);
+      other.recordRange(0, other.permutation.length - 1);
       operator.apply(permutation, other.permutation, this, other);
       hashCodeIsCached = false;
+      fingerprintIsCached = false;
+      inverseIsCached = false;
       other.hashCodeIsCached = false;
+      other.fingerprintIsCached = false;
+      other.inverseIsCached = false;
       validate(permutation);
       validate(other.permutation);
     } catch (IllegalArgumentException exception) {
@@ -353,7 +549,7 @@ public final class Permutation
   /**
    * Generates a unique integer representing the permutation. Maps the permutations of the integers,
    * 0..(N-1), to the integers, 0..(N!-1), using a mixed radix representation. This method is only
-   * supported for permutations of length 12 or less. Runtime of this method is O(N^2).
+   * supported for permutations of length 12 or less. Runtime of this method is O(N).
    *
    * @return a mixed radix representation of the permutation
    * @throws UnsupportedOperationException when permutation length is greater than 12.
@@ -362,51 +558,173 @@ public final class Permutation
     if (permutation.length > 12)
       throw new UnsupportedOperationException(
           "Unsupported for permutations of length greater than 12.");
-    int[] index = ArrayFiller.create(permutation.length);
-    int result = 0;
-    int multiplier = 1;
-    int factor = permutation.length;
-    for (int i = 0; i < index.length - 1; i++) {
-      result += multiplier * index[permutation[i]];
-      for (int j = permutation[i]; j < index.length; j++) {
-        index[j]--;
-      }
-      multiplier *= factor;
-      factor--;
-    }
-    return result;
+    return (int) PermutationRanking.rank(permutation);
+  }
+
+  /**
+   * Generates a unique long representing the permutation. Maps the permutations of the integers,
+   * 0..(N-1), to the longs, 0..(N!-1), using the same mixed radix representation as {@link
+   * #toInteger()}. This method is only supported for permutations of length 20 or less. Runtime of
+   * this method is O(N), and it allocates no memory.
+   *
+   * @return a mixed radix representation of the permutation
+   * @throws UnsupportedOperationException when permutation length is greater than 20.
+   */
+  public long toLong() {
+    if (permutation.length > 20)
+      throw new UnsupportedOperationException(
+          "Unsupported for permutations of length greater than 20.");
+    return PermutationRanking.rank(permutation);
+  }
+
+  /**
+   * Computes the mixed radix representation of the permutation of the integers 0..(N-1) contained
+   * in an array, where N is the length of the array, as in {@link #toLong()}, but without requiring
+   * a Permutation object. This method allocates no memory. The array is not validated; the result
+   * is unspecified if it is not a permutation.
+   *
+   * @param p An array containing a permutation of the integers 0..(p.length-1).
+   * @return a mixed radix representation of the permutation
+   * @throws UnsupportedOperationException when p.length is greater than 20.
+   */
+  public static long rank(int[] p) {
+    if (p.length > 20)
+      throw new UnsupportedOperationException(
+          "Unsupported for permutations of length greater than 20.");
+    return PermutationRanking.rank(p);
+  }
+
+  /**
+   * Computes the permutation of the integers 0..(N-1) with a specified mixed radix representation,
+   * as in {@link #Permutation(int, long)}, storing it into an array of length N, but without
+   * creating a Permutation object. This method allocates no memory when N is at most 64.
+   *
+   * @param rank The long value of the permutation in the interval: 0..(N!-1).
+   * @param p The array into which the permutation is stored, whose length is the length N of the
+   *     permutation.
+   */
+  public static void unrank(long rank, int[] p) {
+    PermutationRanking.unrank(rank, p);
   }
 
   /**
    * Generates a unique integer representing the permutation. Maps the permutations of the integers,
    * 0..(N-1), to the integers, 0..(N!-1), using a mixed radix representation.
    *
-   * <p>Even with the use of BigInteger objects, the runtime of this method is O(N^2). Specifically,
-   * it performs O(N^2) operations on primitives. And the sequence of operations on BigIntegers
-   * costs no more than the cost to compute N! using BigInteger objects, whose runtime bounded by
-   * that of the last multiplication of N * (N-1)! The number (N-1)! consists of O(log((N-1)!)) =
-   * O(N log N) digits. Java's BigInteger.multiply currently implements the Toom–Cook algorithm,
-   * which has a runtime for M-digit numbers of O(M^1.465). Thus, the cost of all of the BigInteger
-   * operations is O(N^1.465 log(N)^1.465). Therefore, the runtime is dominated by the cost of the
-   * primitive operations: O(N^2).
+   * <p>The mixed radix digits are computed with a Fenwick tree, performing O(N log N) operations on
+   * primitives. The digits are then combined by divide-and-conquer: the values of the first and
+   * second halves of the digits are computed recursively, and combined with a single
+   * multiplication by the product of the radixes of the first half. Thus, the BigInteger operations
+   * at each of the O(log N) levels of the recursion cost no more than a multiplication of numbers
+   * whose product is the size of N!, which has O(N log N) digits, rather than the O(N) sequential
+   * multiplications of growing size of a direct conversion.
    *
    * @return a mixed radix representation of the permutation
    */
   public BigInteger toBigInteger() {
-    if (permutation.length <= 12) return BigInteger.valueOf(toInteger());
-    int[] index = ArrayFiller.create(permutation.length);
-    BigInteger result = BigInteger.ZERO;
-    BigInteger multiplier = BigInteger.ONE;
-    int factor = permutation.length;
-    for (int i = 0; i < index.length - 1; i++) {
-      result = result.add(multiplier.multiply(BigInteger.valueOf(index[permutation[i]])));
-      for (int j = permutation[i]; j < index.length; j++) {
-        index[j]--;
-      }
-      multiplier = multiplier.multiply(BigInteger.valueOf(factor));
-      factor--;
+    if (permutation.length <= 20) return BigInteger.valueOf(toLong());
+    int[] digits = new int[permutation.length];
+    PermutationRanking.lehmer(permutation, digits);
+    return PermutationRanking.toBigInteger(digits);
+  }
+
+  /**
+   * Generates a unique integer representing the permutation using the ranking of Myrvold and
+   * Ruskey, which maps the permutations of the integers, 0..(N-1), to the integers, 0..(N!-1).
+   * Unlike {@link #toInteger()}, the ranking is not in lexicographic order, but it can be computed
+   * in O(N) time. It is thus a faster alternative for applications that only need a bijection
+   * between the permutations and the integers, such as perfect hashing of permutations into tables
+   * indexed by rank. The permutation with a given rank is constructed by {@link #fromRankMR(int,
+   * int)}. This method is only supported for permutations of length 12 or less.
+   *
+   * <p>Source: W. Myrvold and F. Ruskey, "Ranking and unranking permutations in linear time,"
+   * Information Processing Letters, vol. 79, no. 6, pp. 281-284, 2001.
+   *
+   * @return the Myrvold-Ruskey rank of the permutation
+   * @throws UnsupportedOperationException when permutation length is greater than 12.
+   */
+  public int toRankMR() {
+    if (permutation.length > 12)
+      throw new UnsupportedOperationException(
+          "Unsupported for permutations of length greater than 12.");
+    return (int) PermutationRanking.rankMyrvoldRuskey(permutation);
+  }
+
+  /**
+   * Generates a unique long representing the permutation using the ranking of Myrvold and Ruskey,
+   * as in {@link #toRankMR()}. This method is only supported for permutations of length 20 or less.
+   * Runtime of this method is O(N).
+   *
+   * @return the Myrvold-Ruskey rank of the permutation
+   * @throws UnsupportedOperationException when permutation length is greater than 20.
+   */
+  public long toLongRankMR() {
+    if (permutation.length > 20)
+      throw new UnsupportedOperationException(
+          "Unsupported for permutations of length greater than 20.");
+    return PermutationRanking.rankMyrvoldRuskey(permutation);
+  }
+
+  /**
+   * Generates a unique integer representing the permutation using the ranking of Myrvold and
+   * Ruskey, as in {@link #toRankMR()}, but for permutations of any length. Runtime of this method
+   * is O(N) operations on primitive values, in addition to the operations on BigInteger objects,
+   * which are as in {@link #toBigInteger()}.
+   *
+   * @return the Myrvold-Ruskey rank of the permutation
+   */
+  public BigInteger toBigIntegerRankMR() {
+    if (permutation.length <= 20) return BigInteger.valueOf(toLongRankMR());
+    int[] digits = new int[permutation.length];
+    PermutationRanking.myrvoldRuskey(permutation, digits);
+    return PermutationRanking.toBigInteger(digits);
+  }
+
+  /**
+   * Constructs the permutation of length n with a specified rank in the ranking of Myrvold and
+   * Ruskey, as computed by {@link #toRankMR()}. Runtime is O(n).
+   *
+   * @param n The length of the permutation.
+   * @param rank The rank of the permutation in the interval: 0..(n!-1).
+   * @return the permutation of length n with the specified rank
+   */
+  public static Permutation fromRankMR(int n, int rank) {
+    return fromRankMR(n, (long) rank);
+  }
+
+  /**
+   * Constructs the permutation of length n with a specified rank in the ranking of Myrvold and
+   * Ruskey, as computed by {@link #toLongRankMR()}. Runtime is O(n).
+   *
+   * @param n The length of the permutation.
+   * @param rank The rank of the permutation in the interval: 0..(n!-1).
+   * @return the permutation of length n with the specified rank
+   */
+  public static Permutation fromRankMR(int n, long rank) {
+    int[] p = new int[n];
+    PermutationRanking.unrankMyrvoldRuskey(rank, p);
+    return new Permutation(p, false);
+  }
+
+  /**
+   * Constructs the permutation of length n with a specified rank in the ranking of Myrvold and
+   * Ruskey, as computed by {@link #toBigIntegerRankMR()}. Runtime is O(n) operations on primitive
+   * values, in addition to the operations on BigInteger objects, which are as in {@link
+   * #Permutation(int, BigInteger)}.
+   *
+   * @param n The length of the permutation.
+   * @param rank The rank of the permutation in the interval: 0..(n!-1).
+   * @return the permutation of length n with the specified rank
+   */
+  public static Permutation fromRankMR(int n, BigInteger rank) {
+    if (n <= 20 && rank.signum() >= 0 && rank.bitLength() < 64) {
+      return fromRankMR(n, rank.longValue());
     }
-    return result;
+    int[] digits = new int[n];
+    PermutationRanking.fromBigInteger(rank, digits);
+    int[] p = new int[n];
+    PermutationRanking.fromMyrvoldRuskey(digits, p);
+    return new Permutation(p, false);
   }
 
   /**
@@ -415,6 +733,9 @@ public final class Permutation
    * @return The inverse of the permutation, such that for all i, if pi(i) = j, then inv(j) = i
    */
   public int[] getInverse() {
+    if (inverseIsCached) {
+      return inverse.clone();
+    }
     int[] inverse = new int[permutation.length];
     for (int i = 0; i < permutation.length; i++) {
       inverse[permutation[i]] = i;
@@ -439,8 +760,25 @@ public final class Permutation
    * iff p2.get(j) == i, for all i, j.
    */
   public void invert() {
-    System.arraycopy(getInverse(), 0, permutation, 0, permutation.length);
+    record(OP_INVERT);
+    if (inverseIsCached) {
+      // the permutation and its cached inverse trade places
+      for (int i = 0; i < permutation.length; i++) {
+        int temp = permutation[i];
+        permutation[i] = inverse[i];
+        inverse[i] = temp;
+      }
+    } else if (permutation.length > SCRATCH_LIMIT) {
+      invertCycles();
+    } else {
+      int[] inv = scratch(permutation.length);
+      for (int i = 0; i < permutation.length; i++) {
+        inv[permutation[i]] = i;
+      }
+      System.arraycopy(inv, 0, permutation, 0, permutation.length);
+    }
     hashCodeIsCached = false;
+    fingerprintIsCached = false;
   }
 
   /**
@@ -462,6 +800,7 @@ public final class Permutation
       // permutation of integers in [0, n).
       // Avoid swapping using trick described in Knuth, Vol 2, page 145,
       // last complete paragraph.
+      recordRange(0, permutation.length - 1);
       permutation[0] = 0;
       for (int i = 1; i < permutation.length; i++) {
         int j = RandomIndexer.nextInt(i + 1, r);
@@ -473,6 +812,8 @@ public final class Permutation
         }
       }
       hashCodeIsCached = false;
+      fingerprintIsCached = false;
+      inverseIsCached = false;
     }
   }
 
@@ -496,6 +837,7 @@ public final class Permutation
    */
   public void scramble(RandomGenerator r, boolean guaranteeDifferent) {
     if (guaranteeDifferent) {
+      recordRange(0, permutation.length - 1);
       boolean changed = false;
       for (int j = permutation.length; j > 2; ) {
         int i = RandomIndexer.nextInt(j, r);
@@ -509,6 +851,8 @@ public final class Permutation
         internalSwap(0, 1);
       }
       hashCodeIsCached = false;
+      fingerprintIsCached = false;
+      inverseIsCached = false;
     } else {
       scramble(r);
     }
@@ -542,14 +886,15 @@ public final class Permutation
     if (i == j) {
       return;
     }
-    int k;
     if (i > j) {
-      k = i;
+      int temp = i;
       i = j;
-    } else {
-      k = j;
+      j = temp;
     }
+    recordRange(i, j);
+    toggleFingerprint(i, j);
     boolean changed = false;
+    int k = j;
     for (; k > i + 1; k--) {
       int l = i + RandomIndexer.nextInt(k - i + 1, r);
       if (l != k) {
@@ -560,6 +905,8 @@ public final class Permutation
     if (!changed || r.nextBoolean()) {
       internalSwap(i, i + 1);
     }
+    toggleFingerprint(i, j);
+    patchInverse(i, j);
     hashCodeIsCached = false;
   }
 
@@ -576,18 +923,22 @@ public final class Permutation
    */
   public void scramble(int[] indexes, RandomGenerator r) {
     if (indexes.length > 1) {
+      recordValues(indexes);
       boolean changed = false;
       for (int j = indexes.length; j > 2; ) {
         int i = RandomIndexer.nextInt(j, r);
         j--;
         if (i != j) {
+          updateFingerprintForSwap(indexes[i], indexes[j]);
           internalSwap(indexes[i], indexes[j]);
           changed = true;
         }
       }
       if (!changed || r.nextBoolean()) {
+        updateFingerprintForSwap(indexes[0], indexes[1]);
         internalSwap(indexes[0], indexes[1]);
       }
+      patchInverse(indexes);
       hashCodeIsCached = false;
     }
   }
@@ -702,9 +1053,13 @@ public final class Permutation
    *     greater than or equal to length()
    */
   public void swap(int i, int j) {
+    record(i, j, OP_SWAP);
+    updateFingerprintForSwap(i, j);
     int temp = permutation[i];
     permutation[i] = permutation[j];
     permutation[j] = temp;
+    patchInverse(i, i);
+    patchInverse(j, j);
     hashCodeIsCached = false;
   }
 
@@ -722,11 +1077,15 @@ public final class Permutation
    */
   public void cycle(int[] indexes) {
     if (indexes.length > 1) {
+      recordValues(indexes);
       int temp = permutation[indexes[0]];
       for (int i = 1; i < indexes.length; i++) {
+        updateFingerprint(indexes[i - 1], permutation[indexes[i]]);
         permutation[indexes[i - 1]] = permutation[indexes[i]];
       }
+      updateFingerprint(indexes[indexes.length - 1], temp);
       permutation[indexes[indexes.length - 1]] = temp;
+      patchInverse(indexes);
       hashCodeIsCached = false;
     }
   }
@@ -751,20 +1110,39 @@ public final class Permutation
       // blocks are adjacent
       removeAndInsert(i, j - i + 1, a);
     } else {
-      int[] temp = new int[j - b];
-      int k = j - i + 1;
-      System.arraycopy(permutation, i, temp, 0, k);
-      int m = i - b - 1;
-      System.arraycopy(permutation, b + 1, temp, k, m);
-      System.arraycopy(permutation, a, permutation, a + temp.length, b - a + 1);
-      System.arraycopy(temp, 0, permutation, a, temp.length);
+      record(a, b, i, j, OP_SWAP_BLOCKS);
+      toggleFingerprint(a, j);
+      int first = b - a + 1;
+      int second = j - i + 1;
+      if (first == second) {
+        swapEqualBlocks(a, i, first);
+      } else if (first + second <= SCRATCH_LIMIT) {
+        // The two blocks are set aside in the scratch buffer, while the elements between them
+        // are shifted, so only the blocks are copied twice.
+        int[] temp = scratch(first + second);
+        System.arraycopy(permutation, a, temp, 0, first);
+        System.arraycopy(permutation, i, temp, first, second);
+        System.arraycopy(permutation, b + 1, permutation, a + second, i - b - 1);
+        System.arraycopy(temp, first, permutation, a, second);
+        System.arraycopy(temp, 0, permutation, j - first + 1, first);
+      } else {
+        // the first block is rotated to the end, and then the second block to the start
+        internalRotate(a, j, first);
+        internalRotate(a, j - first, i - b - 1);
+      }
+      toggleFingerprint(a, j);
+      patchInverse(a, j);
       hashCodeIsCached = false;
     }
   }
 
   /** Reverses the order of the elements in the permutation. */
   public void reverse() {
+    record(0, permutation.length - 1, OP_REVERSE);
+    toggleFingerprint(0, permutation.length - 1);
     internalReverse(0, permutation.length - 1);
+    toggleFingerprint(0, permutation.length - 1);
+    patchInverse(0, permutation.length - 1);
     hashCodeIsCached = false;
   }
 
@@ -778,10 +1156,15 @@ public final class Permutation
    */
   public void reverse(int i, int j) {
     if (i > j) {
-      internalReverse(j, i);
-    } else {
-      internalReverse(i, j);
+      int temp = i;
+      i = j;
+      j = temp;
     }
+    record(i, j, OP_REVERSE);
+    toggleFingerprint(i, j);
+    internalReverse(i, j);
+    toggleFingerprint(i, j);
+    patchInverse(i, j);
     hashCodeIsCached = false;
   }
 
@@ -796,14 +1179,22 @@ public final class Permutation
    */
   public void removeAndInsert(int i, int j) {
     if (i < j) {
+      record(i, j, OP_MOVE);
+      toggleFingerprint(i, j);
       int n = permutation[i];
       System.arraycopy(permutation, i + 1, permutation, i, j - i);
       permutation[j] = n;
+      toggleFingerprint(i, j);
+      patchInverse(i, j);
       hashCodeIsCached = false;
     } else if (i > j) {
+      record(i, j, OP_MOVE);
+      toggleFingerprint(j, i);
       int n = permutation[i];
       System.arraycopy(permutation, j, permutation, j + 1, i - j);
       permutation[j] = n;
+      toggleFingerprint(j, i);
+      patchInverse(j, i);
       hashCodeIsCached = false;
     }
   }
@@ -818,11 +1209,11 @@ public final class Permutation
       numPositions = Math.floorMod(numPositions, permutation.length);
     }
     if (numPositions > 0) {
-      int[] temp = new int[numPositions];
-      System.arraycopy(permutation, 0, temp, 0, numPositions);
-      System.arraycopy(
-          permutation, numPositions, permutation, 0, permutation.length - numPositions);
-      System.arraycopy(temp, 0, permutation, permutation.length - numPositions, numPositions);
+      record(numPositions, OP_ROTATE);
+      toggleFingerprint(0, permutation.length - 1);
+      internalRotate(0, permutation.length - 1, numPositions);
+      toggleFingerprint(0, permutation.length - 1);
+      patchInverse(0, permutation.length - 1);
       hashCodeIsCached = false;
     }
   }
@@ -845,16 +1236,18 @@ public final class Permutation
     } else if (size == 1) {
       removeAndInsert(i, j);
     } else if (i > j) {
-      int[] temp = new int[i - j];
-      System.arraycopy(permutation, j, temp, 0, i - j);
-      System.arraycopy(permutation, i, permutation, j, size);
-      System.arraycopy(temp, 0, permutation, j + size, i - j);
+      record(i, size, j, OP_MOVE_BLOCK);
+      toggleFingerprint(j, i + size - 1);
+      internalRotate(j, i + size - 1, i - j);
+      toggleFingerprint(j, i + size - 1);
+      patchInverse(j, i + size - 1);
       hashCodeIsCached = false;
     } else { // Condition is implied by above: if (i < j)
-      int[] temp = new int[size];
-      System.arraycopy(permutation, i, temp, 0, size);
-      System.arraycopy(permutation, i + size, permutation, i, j - i);
-      System.arraycopy(temp, 0, permutation, j, size);
+      record(i, size, j, OP_MOVE_BLOCK);
+      toggleFingerprint(i, j + size - 1);
+      internalRotate(i, j + size - 1, size);
+      toggleFingerprint(i, j + size - 1);
+      patchInverse(i, j + size - 1);
       hashCodeIsCached = false;
     }
   }
@@ -872,8 +1265,11 @@ public final class Permutation
       throw new IllegalArgumentException("Length of array must be same as that of permutation.");
     }
     validate(p);
+    recordRange(0, permutation.length - 1);
     System.arraycopy(p, 0, permutation, 0, p.length);
     hashCodeIsCached = false;
+    fingerprintIsCached = false;
+    inverseIsCached = false;
   }
 
   /**
@@ -890,6 +1286,30 @@ public final class Permutation
     return new PermutationIterator(this);
   }
 
+  /**
+   * Visits all permutations of length n, of the integers in the interval [0, n), in the order of
+   * the {@link #iterator()} of the identity permutation, beginning with the identity permutation.
+   * Unlike iterating with {@link PermutationIterator}, which copies each permutation, this reuses a
+   * single Permutation object, which is changed in place by O(1) swaps amortized over the
+   * enumeration, and which is passed to the visitor for each permutation. Thus, no memory is
+   * allocated per permutation. The visitor must not change the Permutation that it is passed.
+   *
+   * @param n The length of the permutations.
+   * @param visitor The visitor, which is called once for each permutation of length n, unless it
+   *     terminates the enumeration early by returning false.
+   * @return true if all permutations were visited, and false if the visitor terminated the
+   *     enumeration early
+   * @throws NegativeArraySizeException if n is negative
+   */
+  public static boolean forEachPermutation(int n, PermutationVisitor visitor) {
+    Permutation p = new Permutation(n, 0);
+    int[] lastSwap = ArrayFiller.create(n);
+    do {
+      if (!visitor.visit(p)) return false;
+    } while (PermutationIterator.advance(p, lastSwap));
+    return true;
+  }
+
   /**
    * Creates a String representing the permutation.
    *
@@ -937,19 +1357,425 @@ public final class Permutation
     return hashCode = Arrays.hashCode(permutation);
   }
 
-  private boolean validate(int[] p) {
-    boolean[] inP = new boolean[p.length];
-    for (int e : p) {
-      if (e < 0 || e >= p.length) {
+  /**
+   * Begins a transaction, such that the changes made to this Permutation by its mutator methods,
+   * until the next call to {@link #commit()} or {@link #rollback()}, are recorded in an undo log.
+   * This is intended for local search, where a move is applied to a permutation, evaluated, and
+   * then often rejected: rather than copying the permutation prior to each move, a search can
+   * begin a transaction, apply the move, and either commit it or roll it back.
+   *
+   * <p>The undo log records the operation and its parameters for {@link #swap}, {@link #reverse},
+   * {@link #reverse(int, int)}, {@link #removeAndInsert(int, int)}, {@link #removeAndInsert(int,
+   * int, int)}, {@link #swapBlocks}, {@link #rotate}, and {@link #invert}, each in O(1) time and
+   * space, and rolls back each of those by applying its inverse operation, such that the cost of a
+   * rollback is proportional to the number of elements that were changed. The undo log records the
+   * prior values of the changed elements for {@link #cycle}, {@link #scramble(int, int)}, and
+   * {@link #scramble(int[])}, and records the prior state of the entire permutation for the other
+   * mutators, such as {@link #scramble()}, {@link #set}, and the apply methods. The undo log is
+   * retained for reuse by later transactions, so a search that uses a transaction for every move
+   * does not allocate memory in the steady state.
+   *
+   * <p>Transactions cannot be nested, and the undo log is specific to this Permutation: it is not
+   * copied by the copy constructor or by {@link #copy()}, and is not serialized.
+   *
+   * @throws IllegalStateException if a transaction is already in progress
+   */
+  public void begin() {
+    if (inTransaction) {
+      throw new IllegalStateException("A transaction is already in progress.");
+    }
+    if (undoLog == null) {
+      undoLog = new int[16];
+    }
+    undoLength = 0;
+    inTransaction = true;
+  }
+
+  /**
+   * Commits the transaction in progress, keeping all changes made since the call to {@link
+   * #begin()}. Runtime is O(1).
+   *
+   * @throws IllegalStateException if no transaction is in progress
+   */
+  public void commit() {
+    if (!inTransaction) {
+      throw new IllegalStateException("No transaction is in progress.");
+    }
+    inTransaction = false;
+    undoLength = 0;
+  }
+
+  /**
+   * Rolls back the transaction in progress, restoring this Permutation to its state at the call to
+   * {@link #begin()}. See {@link #begin()} for the cost of rolling back each kind of change.
+   *
+   * @throws IllegalStateException if no transaction is in progress
+   */
+  public void rollback() {
+    if (!inTransaction) {
+      throw new IllegalStateException("No transaction is in progress.");
+    }
+    inTransaction = false;
+    final int[] log = undoLog;
+    int k = undoLength;
+    while (k > 0) {
+      switch (log[--k]) {
+        case OP_SWAP -> {
+          k -= 2;
+          swap(log[k], log[k + 1]);
+        }
+        case OP_REVERSE -> {
+          k -= 2;
+          if (log[k] < log[k + 1]) {
+            reverse(log[k], log[k + 1]);
+          }
+        }
+        case OP_MOVE -> {
+          k -= 2;
+          removeAndInsert(log[k + 1], log[k]);
+        }
+        case OP_MOVE_BLOCK -> {
+          k -= 3;
+          removeAndInsert(log[k + 2], log[k + 1], log[k]);
+        }
+        case OP_SWAP_BLOCKS -> {
+          k -= 4;
+          int a = log[k];
+          int j = log[k + 3];
+          // the blocks traded places, so are swapped back by their new positions
+          swapBlocks(a, a + j - log[k + 2], j + a - log[k + 1], j);
+        }
+        case OP_ROTATE -> {
+          k--;
+          rotate(-log[k]);
+        }
+        case OP_INVERT -> invert();
+        case OP_RANGE -> {
+          int count = log[--k];
+          int from = log[--k];
+          k -= count;
+          restoreRange(from, log, k, count);
+        }
+        default -> {
+          int count = log[--k];
+          k -= count << 1;
+          restoreValues(log, k, count);
+        }
+      }
+    }
+    undoLength = 0;
+  }
+
+  /**
+   * Checks whether a transaction is in progress, i.e., whether {@link #begin()} has been called
+   * without a subsequent call to {@link #commit()} or {@link #rollback()}.
+   *
+   * @return true if and only if a transaction is in progress
+   */
+  public boolean inTransaction() {
+    return inTransaction;
+  }
+
+  /*
+   * Ensures that the undo log can hold extra more ints, returning the undo log.
+   */
+  private int[] undoLog(int extra) {
+    if (undoLength + extra > undoLog.length) {
+      undoLog = Arrays.copyOf(undoLog, Math.max(undoLength + extra, undoLog.length << 1));
+    }
+    return undoLog;
+  }
+
+  /*
+   * The record methods log a record to the undo log if a transaction is in progress, and
+   * otherwise do nothing. They must be called prior to the change.
+   */
+  private void record(int op) {
+    if (inTransaction) {
+      undoLog(1)[undoLength++] = op;
+    }
+  }
+
+  private void record(int a, int op) {
+    if (inTransaction) {
+      int[] log = undoLog(2);
+      log[undoLength++] = a;
+      log[undoLength++] = op;
+    }
+  }
+
+  private void record(int a, int b, int op) {
+    if (inTransaction) {
+      int[] log = undoLog(3);
+      log[undoLength++] = a;
+      log[undoLength++] = b;
+      log[undoLength++] = op;
+    }
+  }
+
+  private void record(int a, int b, int c, int op) {
+    if (inTransaction) {
+      int[] log = undoLog(4);
+      log[undoLength++] = a;
+      log[undoLength++] = b;
+      log[undoLength++] = c;
+      log[undoLength++] = op;
+    }
+  }
+
+  private void record(int a, int b, int c, int d, int op) {
+    if (inTransaction) {
+      int[] log = undoLog(5);
+      log[undoLength++] = a;
+      log[undoLength++] = b;
+      log[undoLength++] = c;
+      log[undoLength++] = d;
+      log[undoLength++] = op;
+    }
+  }
+
+  /* Records the current elements at indexes from through to, inclusive. */
+  private void recordRange(int from, int to) {
+    if (inTransaction) {
+      int count = to - from + 1;
+      int[] log = undoLog(count + 3);
+      System.arraycopy(permutation, from, log, undoLength, count);
+      undoLength += count;
+      log[undoLength++] = from;
+      log[undoLength++] = count;
+      log[undoLength++] = OP_RANGE;
+    }
+  }
+
+  /* Records the current elements at the specified indexes. */
+  private void recordValues(int[] indexes) {
+    if (inTransaction) {
+      int[] log = undoLog(2 * indexes.length + 2);
+      for (int i : indexes) {
+        log[undoLength++] = i;
+        log[undoLength++] = permutation[i];
+      }
+      log[undoLength++] = indexes.length;
+      log[undoLength++] = OP_VALUES;
+    }
+  }
+
+  /* Restores the elements at indexes from through from + count - 1 from values[start...]. */
+  private void restoreRange(int from, int[] values, int start, int count) {
+    toggleFingerprint(from, from + count - 1);
+    System.arraycopy(values, start, permutation, from, count);
+    toggleFingerprint(from, from + count - 1);
+    patchInverse(from, from + count - 1);
+    hashCodeIsCached = false;
+  }
+
+  /*
+   * Restores elements from (index, element) pairs in values[start...], in reverse order, so that
+   * an index listed more than once is restored to its earliest recorded element.
+   */
+  private void restoreValues(int[] values, int start, int count) {
+    for (int k = start + 2 * (count - 1); k >= start; k -= 2) {
+      updateFingerprint(values[k], values[k + 1]);
+      permutation[values[k]] = values[k + 1];
+    }
+    if (inverseIsCached) {
+      for (int k = start; k < start + 2 * count; k += 2) {
+        inverse[permutation[values[k]]] = values[k];
+      }
+    }
+    hashCodeIsCached = false;
+  }
+
+  /**
+   * Gets a read-only view of the inverse of this permutation, such that for each element e of this
+   * permutation, inverseView().applyAsInt(e) is the index of e, i.e.,
+   * get(inverseView().applyAsInt(e)) == e. Unlike {@link #getInverse()}, which computes a new array
+   * on every call, the view is backed by an inverse that is cached within this Permutation.
+   *
+   * <p>The inverse is not cached until the first call to this method, which allocates an array of
+   * length n. It is computed in O(n) time upon the first lookup. While cached, the mutators patch
+   * it incrementally: in O(1) time for {@link #swap}, in time proportional to the number of indexes
+   * involved for {@link #cycle} and {@link #scramble(int[])}, and in time proportional to the
+   * length of the affected range for {@link #reverse(int, int)}, {@link #rotate}, {@link
+   * #removeAndInsert(int, int)}, {@link #removeAndInsert(int, int, int)}, {@link #swapBlocks}, and
+   * {@link #scramble(int, int)}. Methods that may change the entire permutation, such as {@link
+   * #scramble()} and the apply methods, instead invalidate the cached inverse, which is then
+   * recomputed in place upon the next lookup. Thus, each lookup is O(1) other than the first after
+   * such an invalidation, and neither lookups nor mutations allocate memory. The cache is specific
+   * to this object, and is not copied by the copy constructor or {@link #copy()}.
+   *
+   * <p>The view reflects the current state of this Permutation, including subsequent changes, and
+   * like the Permutation itself is not thread-safe.
+   *
+   * @return a view of the inverse of this permutation, mapping each element to its index
+   */
+  public IntUnaryOperator inverseView() {
+    if (inverse == null) {
+      inverse = new int[permutation.length];
+    }
+    return this::indexOf;
+  }
+
+  /*
+   * Looks up the index of an element in the cached inverse, first recomputing the inverse if the
+   * cache is invalid. Only used once inverseView() has allocated the cache.
+   */
+  private int indexOf(int element) {
+    if (!inverseIsCached) {
+      for (int i = 0; i < permutation.length; i++) {
+        inverse[permutation[i]] = i;
+      }
+      inverseIsCached = true;
+    }
+    return inverse[element];
+  }
+
+  /*
+   * If the inverse is cached, patches it for the elements now at indexes from through to,
+   * inclusive. Must be called after the change.
+   */
+  private void patchInverse(int from, int to) {
+    if (inverseIsCached) {
+      for (int k = from; k <= to; k++) {
+        inverse[permutation[k]] = k;
+      }
+    }
+  }
+
+  /*
+   * If the inverse is cached, patches it for the elements now at the specified indexes. Must be
+   * called after the change.
+   */
+  private void patchInverse(int[] indexes) {
+    if (inverseIsCached) {
+      for (int k : indexes) {
+        inverse[permutation[k]] = k;
+      }
+    }
+  }
+
+  /**
+   * Computes a 64-bit fingerprint of the permutation, which is a Zobrist hash: the exclusive-or of
+   * pseudorandom 64-bit keys, one for each pair of an index and the element at that index. The
+   * keys are a fixed function of the index and element, so equal permutations have equal
+   * fingerprints within and across JVMs, and for a population of m permutations the probability of
+   * any collision is approximately m<sup>2</sup>/2<sup>65</sup>, much lower than for the 32-bit
+   * {@link #hashCode()}.
+   *
+   * <p>The first call to this method computes the fingerprint in O(n) time, where n is the length
+   * of the permutation. The fingerprint is then cached, and the mutators update the cached
+   * fingerprint incrementally, rather than discarding it: in O(1) time for {@link #swap}, in time
+   * proportional to the number of indexes involved for {@link #cycle} and {@link #scramble(int[])},
+   * and in time proportional to the length of the affected range for {@link #reverse(int, int)},
+   * {@link #removeAndInsert(int, int)}, {@link #removeAndInsert(int, int, int)}, {@link
+   * #swapBlocks}, and {@link #scramble(int, int)}. Methods that may change the entire permutation,
+   * such as {@link #scramble()}, {@link #invert()}, and the apply methods, instead invalidate the
+   * cached fingerprint, which is then recomputed upon the next call to this method. Thus, there is
+   * no cost to the mutators of a Permutation whose fingerprint is never used.
+   *
+   * @return a 64-bit fingerprint of the permutation
+   */
+  public long fingerprint64() {
+    if (fingerprintIsCached) {
+      return fingerprint;
+    }
+    long f = 0;
+    for (int i = 0; i < permutation.length; i++) {
+      f ^= zobristKey(i, permutation[i]);
+    }
+    fingerprintIsCached = true;
+    return fingerprint = f;
+  }
+
+  /*
+   * The key of element in the Zobrist hash of fingerprint64(). The mixing function is a bijection,
+   * so the keys of distinct (index, element) pairs are distinct.
+   */
+  private static long zobristKey(int index, int element) {
+    return PackedPermutations.mix((((long) index << 32) | element) ^ 0x9e3779b97f4a7c15L);
+  }
+
+  /*
+   * If the fingerprint is cached, updates it for changing the element at index i to element. Must
+   * be called prior to the change.
+   */
+  private void updateFingerprint(int i, int element) {
+    if (fingerprintIsCached) {
+      fingerprint ^= zobristKey(i, permutation[i]) ^ zobristKey(i, element);
+    }
+  }
+
+  /*
+   * If the fingerprint is cached, updates it for swapping the elements at indexes i and j. Must be
+   * called prior to the swap.
+   */
+  private void updateFingerprintForSwap(int i, int j) {
+    if (fingerprintIsCached) {
+      int a = permutation[i];
+      int b = permutation[j];
+      fingerprint ^= zobristKey(i, a) ^ zobristKey(j, b) ^ zobristKey(i, b) ^ zobristKey(j, a);
+    }
+  }
+
+  /*
+   * If the fingerprint is cached, toggles the keys of the elements at indexes from through to,
+   * inclusive. Calling this both before and after rearranging the elements of that range removes
+   * the keys of the old arrangement from the fingerprint and adds those of the new arrangement.
+   */
+  private void toggleFingerprint(int from, int to) {
+    if (fingerprintIsCached) {
+      long f = fingerprint;
+      for (int k = from; k <= to; k++) {
+        f ^= zobristKey(k, permutation[k]);
+      }
+      fingerprint = f;
+    }
+  }
+
+  /*
+   * Validates that p is a permutation of the integers in [0, p.length), using the calling thread's
+   * validation marks rather than allocating an array on every call.
+   */
+  private static void validate(int[] p) {
+    ValidationMarks marks = ValidationMarks.acquire();
+    try {
+      int[] seen = marks.marks(p.length);
+      int generation = marks.reserve(1);
+      for (int e : p) {
+        if (e < 0 || e >= p.length) {
+          throw new IllegalArgumentException(
+              "Elements of a Permutation must be in interval [0, length())");
+        }
+        if (seen[e] == generation) {
+          throw new IllegalArgumentException(
+              "Duplicate elements are not allowed in a Permutation.");
+        }
+        seen[e] = generation;
+      }
+    } finally {
+      marks.release();
+    }
+  }
+
+  /*
+   * Validates permutation[i..j], given that prior to the change the elements then at indexes i
+   * through j, inclusive, were marked with generation before in marks, and that the change did not
+   * alter any other index. Each element now in the range must be one that was marked, and must
+   * occur only once, which is marked with generation before + 1.
+   */
+  private void validateRange(int i, int j, int[] marks, int before) {
+    final int after = before + 1;
+    for (int k = i; k <= j; k++) {
+      int e = permutation[k];
+      if (e < 0 || e >= permutation.length) {
         throw new IllegalArgumentException(
             "Elements of a Permutation must be in interval [0, length())");
       }
-      if (inP[e]) {
+      if (marks[e] != before) {
         throw new IllegalArgumentException("Duplicate elements are not allowed in a Permutation.");
       }
-      inP[e] = true;
+      marks[e] = after;
     }
-    return true;
   }
 
   private void internalReverse(int i, int j) {
@@ -958,6 +1784,123 @@ public final class Permutation
     }
   }
 
+  /*
+   * Rotates permutation[from..to] to the left by k positions, where 0 < k <= to - from, in place.
+   * A rotation by a single position in either direction is a shift by System.arraycopy, and a
+   * rotation of a range of at most SHORT_RANGE elements is by three reversals. Otherwise, the
+   * shorter of the two parts is set aside in the thread's scratch buffer while the longer is
+   * shifted by System.arraycopy. If both parts are longer than SCRATCH_LIMIT, the rotation is first
+   * reduced by swapping the shorter part with the far end of the longer part, which places the
+   * shorter part, and leaves a rotation of the rest of the range (Gries and Mills' block swap),
+   * until the shorter part fits in the scratch buffer.
+   */
+  private void internalRotate(int from, int to, int k) {
+    int length = to - from + 1;
+    while (k > SCRATCH_LIMIT && length - k > SCRATCH_LIMIT) {
+      if (k <= length - k) {
+        swapEqualBlocks(from, to - k + 1, k);
+        to -= k;
+      } else {
+        int m = length - k;
+        swapEqualBlocks(from, from + k, m);
+        from += m;
+        k -= m;
+      }
+      length = to - from + 1;
+    }
+    if (k == length) {
+      // the block swaps completed the rotation
+    } else if (k == 1) {
+      int temp = permutation[from];
+      System.arraycopy(permutation, from + 1, permutation, from, length - 1);
+      permutation[to] = temp;
+    } else if (k == length - 1) {
+      int temp = permutation[to];
+      System.arraycopy(permutation, from, permutation, from + 1, length - 1);
+      permutation[from] = temp;
+    } else if (length <= SHORT_RANGE) {
+      internalReverse(from, from + k - 1);
+      internalReverse(from + k, to);
+      internalReverse(from, to);
+    } else if (k <= length - k) {
+      int[] temp = scratch(k);
+      System.arraycopy(permutation, from, temp, 0, k);
+      System.arraycopy(permutation, from + k, permutation, from, length - k);
+      System.arraycopy(temp, 0, permutation, to - k + 1, k);
+    } else {
+      int m = length - k;
+      int[] temp = scratch(m);
+      System.arraycopy(permutation, from + k, temp, 0, m);
+      System.arraycopy(permutation, from, permutation, from + m, k);
+      System.arraycopy(temp, 0, permutation, from, m);
+    }
+  }
+
+  /*
+   * Swaps permutation[i..i+size-1] with permutation[j..j+size-1], where i + size <= j, element by
+   * element if size is at most SHORT_RANGE, and otherwise passing through the scratch buffer in
+   * pieces of at most SCRATCH_LIMIT elements.
+   */
+  private void swapEqualBlocks(int i, int j, int size) {
+    if (size <= SHORT_RANGE) {
+      for (int x = 0; x < size; x++) {
+        internalSwap(i + x, j + x);
+      }
+      return;
+    }
+    int[] temp = scratch(Math.min(size, SCRATCH_LIMIT));
+    for (int done = 0; done < size; done += SCRATCH_LIMIT) {
+      int count = Math.min(SCRATCH_LIMIT, size - done);
+      System.arraycopy(permutation, i + done, temp, 0, count);
+      System.arraycopy(permutation, j + done, permutation, i + done, count);
+      System.arraycopy(temp, 0, permutation, j + done, count);
+    }
+  }
+
+  private void checkRange(int i, int j) {
+    if (j < i) throw new IllegalArgumentException("j must not be less than i");
+    if (i < 0 || j >= permutation.length) {
+      throw new IndexOutOfBoundsException("Range must be within [0, length())");
+    }
+  }
+
+  /*
+   * Inverts the permutation in place without a temporary array, by reversing each of its cycles.
+   * Elements already placed are marked by storing their bitwise complement, which is undone by a
+   * final pass.
+   */
+  private void invertCycles() {
+    for (int i = 0; i < permutation.length; i++) {
+      if (permutation[i] >= 0) {
+        int previous = i;
+        int current = permutation[i];
+        while (current != i) {
+          int next = permutation[current];
+          permutation[current] = ~previous;
+          previous = current;
+          current = next;
+        }
+        permutation[i] = ~previous;
+      }
+    }
+    for (int i = 0; i < permutation.length; i++) {
+      permutation[i] = ~permutation[i];
+    }
+  }
+
+  /*
+   * Gets the calling thread's scratch buffer, with length at least n, where n <= SCRATCH_LIMIT,
+   * which the in-place mutators use in place of allocating a temporary array on every call.
+   */
+  private static int[] scratch(int n) {
+    int[] buffer = SCRATCH.get();
+    if (buffer.length < n) {
+      buffer = new int[Math.min(Math.max(n, buffer.length << 1), SCRATCH_LIMIT)];
+      SCRATCH.set(buffer);
+    }
+    return buffer;
+  }
+
   /*
    * Use internally, such as from reverse, etc to avoid
    * repeatedly invalidating hashCode cache (as well as from
@@ -968,4 +1911,63 @@ public final class Permutation
     permutation[i] = permutation[j];
     permutation[j] = temp;
   }
+
+  /*
+   * The per-thread marks used to validate permutations without allocating or clearing an array on
+   * every validation. Each validation reserves a new generation number, and an element is marked
+   * if and only if its mark equals that generation, so the marks are only cleared when the
+   * generation number would overflow. Like the scratch buffer, the kept marks are limited to
+   * SCRATCH_LIMIT elements.
+   */
+  private static final class ValidationMarks {
+
+    private static final ThreadLocal<ValidationMarks> MARKS =
+        ThreadLocal.withInitial(ValidationMarks::new);
+
+    private int[] marks = new int[16];
+    private int generation;
+    private boolean inUse;
+
+    /*
+     * Gets the calling thread's marks. If they are already in use, such as if an operator passed
+     * to an applyThenValidate method itself validates a permutation, then new marks are returned.
+     */
+    static ValidationMarks acquire() {
+      ValidationMarks m = MARKS.get();
+      if (m.inUse) return new ValidationMarks();
+      m.inUse = true;
+      return m;
+    }
+
+    void release() {
+      inUse = false;
+    }
+
+    /*
+     * Gets the marks, with length at least n. The kept marks grow to at most SCRATCH_LIMIT, so that
+     * validating one long permutation does not pin a large array to the thread, and longer
+     * permutations are instead validated with new marks that are discarded afterwards. New marks
+     * are all 0, which no reserved generation equals.
+     */
+    int[] marks(int n) {
+      if (n > SCRATCH_LIMIT) {
+        return new int[n];
+      }
+      if (marks.length < n) {
+        marks = new int[Math.min(Math.max(n, marks.length << 1), SCRATCH_LIMIT)];
+      }
+      return marks;
+    }
+
+    /* Reserves count consecutive generation numbers, returning the first. */
+    int reserve(int count) {
+      if (generation > Integer.MAX_VALUE - count) {
+        Arrays.fill(marks, 0);
+        generation = 0;
+      }
+      int first = generation + 1;
+      generation += count;
+      return first;
+    }
+  }
 }
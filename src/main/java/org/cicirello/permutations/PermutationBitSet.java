@@ -0,0 +1,241 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A set of permutations of length n, represented as an array of n! bits, one for each permutation,
+ * indexed by the permutation's rank as computed by {@link Permutation#toLong()}. This is a compact
+ * alternative to a {@code HashSet<Permutation>} for exhaustive searches over all of the
+ * permutations of length n, such as for the set of visited states of a breadth first search,
+ * requiring n!/8 bytes regardless of the number of permutations in the set. For example, for n =
+ * 12 it requires 60 MB, and for n = 13 it requires 778 MB.
+ *
+ * <p>All operations are thread-safe, and {@link #testAndSet} and {@link #testAndClear} are atomic,
+ * for use by concurrent searches. The bits are stored either in an array on the heap, or in a
+ * memory-mapped file, which supports sets larger than the heap, and sets that persist across runs.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class PermutationBitSet {
+
+  private final int n;
+  private final long size;
+  private final LongWords words;
+
+  /**
+   * Constructs an empty set of the permutations of length n, stored on the heap.
+   *
+   * @param n The length of the permutations.
+   * @throws IllegalArgumentException if n is negative, or if n! bits is too many for an array of
+   *     longs (i.e., if n &gt; 14)
+   */
+  public PermutationBitSet(int n) {
+    this.n = n;
+    size = factorial(n);
+    words = LongWords.heap(wordCount(size));
+  }
+
+  /**
+   * Constructs a set of the permutations of length n, stored in a memory-mapped file. If the file
+   * does not exist, then it is created, and the set is initially empty. Otherwise, the set consists
+   * of the permutations recorded in the file, such as by a previous run of a search. Changes to the
+   * set are written to the file, but are not guaranteed to reach the storage device prior to a call
+   * to {@link #force()}.
+   *
+   * @param n The length of the permutations.
+   * @param file The file.
+   * @throws IllegalArgumentException if n is negative or greater than 20
+   * @throws IOException if the file exists but is not of the size required for n, or if an I/O
+   *     error occurs opening or mapping the file
+   */
+  public PermutationBitSet(int n, Path file) throws IOException {
+    this.n = n;
+    size = factorial(n);
+    words = LongWords.mapped(wordCount(size), file);
+  }
+
+  /**
+   * Gets the length of the permutations.
+   *
+   * @return the length of the permutations
+   */
+  public int length() {
+    return n;
+  }
+
+  /**
+   * Gets the number of permutations of length n, which is the number of bits of this set.
+   *
+   * @return n!
+   */
+  public long capacity() {
+    return size;
+  }
+
+  /**
+   * Checks if the set contains a permutation.
+   *
+   * @param rank The rank of the permutation, as computed by {@link Permutation#toLong()}.
+   * @return true if the set contains the permutation
+   * @throws IndexOutOfBoundsException if rank is negative or not less than n!
+   */
+  public boolean get(long rank) {
+    check(rank);
+    return (words.get(rank >>> 6) & (1L << rank)) != 0;
+  }
+
+  /**
+   * Checks if the set contains a permutation.
+   *
+   * @param p The permutation.
+   * @return true if the set contains p
+   * @throws IllegalArgumentException if p.length() is not n
+   */
+  public boolean get(Permutation p) {
+    return get(rank(p));
+  }
+
+  /**
+   * Adds a permutation to the set.
+   *
+   * @param rank The rank of the permutation, as computed by {@link Permutation#toLong()}.
+   * @throws IndexOutOfBoundsException if rank is negative or not less than n!
+   */
+  public void set(long rank) {
+    testAndSet(rank);
+  }
+
+  /**
+   * Adds a permutation to the set.
+   *
+   * @param p The permutation.
+   * @throws IllegalArgumentException if p.length() is not n
+   */
+  public void set(Permutation p) {
+    testAndSet(rank(p));
+  }
+
+  /**
+   * Atomically adds a permutation to the set, and checks whether it was already in the set. If
+   * multiple threads concurrently add the same permutation, then exactly one of them gets a result
+   * of false.
+   *
+   * @param rank The rank of the permutation, as computed by {@link Permutation#toLong()}.
+   * @return true if the set already contained the permutation
+   * @throws IndexOutOfBoundsException if rank is negative or not less than n!
+   */
+  public boolean testAndSet(long rank) {
+    check(rank);
+    long bit = 1L << rank;
+    return (words.getAndBitwiseOr(rank >>> 6, bit) & bit) != 0;
+  }
+
+  /**
+   * Atomically adds a permutation to the set, and checks whether it was already in the set.
+   *
+   * @param p The permutation.
+   * @return true if the set already contained the permutation
+   * @throws IllegalArgumentException if p.length() is not n
+   */
+  public boolean testAndSet(Permutation p) {
+    return testAndSet(rank(p));
+  }
+
+  /**
+   * Removes a permutation from the set.
+   *
+   * @param rank The rank of the permutation, as computed by {@link Permutation#toLong()}.
+   * @throws IndexOutOfBoundsException if rank is negative or not less than n!
+   */
+  public void clear(long rank) {
+    testAndClear(rank);
+  }
+
+  /**
+   * Atomically removes a permutation from the set, and checks whether it was in the set.
+   *
+   * @param rank The rank of the permutation, as computed by {@link Permutation#toLong()}.
+   * @return true if the set contained the permutation
+   * @throws IndexOutOfBoundsException if rank is negative or not less than n!
+   */
+  public boolean testAndClear(long rank) {
+    check(rank);
+    long bit = 1L << rank;
+    return (words.getAndBitwiseAnd(rank >>> 6, ~bit) & bit) != 0;
+  }
+
+  /**
+   * Counts the permutations in the set. This is not atomic with respect to concurrent changes.
+   *
+   * @return the number of permutations in the set
+   */
+  public long cardinality() {
+    long count = 0;
+    for (long i = 0; i < words.length(); i++) {
+      count += Long.bitCount(words.get(i));
+    }
+    return count;
+  }
+
+  /**
+   * Writes any changes to the storage device, if this set is stored in a memory-mapped file, and
+   * otherwise does nothing.
+   */
+  public void force() {
+    words.force();
+  }
+
+  private long rank(Permutation p) {
+    if (p.length() != n) {
+      throw new IllegalArgumentException("Permutation must be of length " + n);
+    }
+    return p.toLong();
+  }
+
+  private void check(long rank) {
+    if (rank < 0 || rank >= size) {
+      throw new IndexOutOfBoundsException(rank);
+    }
+  }
+
+  private static long wordCount(long size) {
+    return (size + 63) >>> 6;
+  }
+
+  /*
+   * Computes n!, for n in [0, 20].
+   */
+  static long factorial(int n) {
+    if (n < 0 || n > 20) {
+      throw new IllegalArgumentException("Requires 0 <= n <= 20.");
+    }
+    long f = 1;
+    for (int i = 2; i <= n; i++) {
+      f *= i;
+    }
+    return f;
+  }
+}
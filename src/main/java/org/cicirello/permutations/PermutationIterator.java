@@ -1,6 +1,6 @@
 /*
  * JavaPermutationTools: A Java library for computation on permutations and sequences
- * Copyright 2005-2023 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -88,21 +88,27 @@ public class PermutationIterator implements Iterator<Permutation> {
   public Permutation next() {
     if (done) throw new NoSuchElementException();
     Permutation n = new Permutation(p);
-    if (lastSwap.length <= 1) {
-      done = true;
-    } else {
-      for (int i = lastSwap.length - 2; i >= 0; i--) {
-        if (lastSwap[i] != i) p.internalSwap(i, lastSwap[i]);
-        if (lastSwap[i] == lastSwap.length - 1) {
-          lastSwap[i] = i;
-          if (i == 0) done = true;
-          continue;
-        }
-        lastSwap[i]++;
-        p.internalSwap(i, lastSwap[i]);
-        break;
+    done = !advance(p, lastSwap);
+    return n;
+  }
+
+  /*
+   * Advances p in place to the next permutation of the iteration, where lastSwap holds the state of
+   * the iteration, and which is initially lastSwap[i] = i. Returns false, with p restored to the
+   * first permutation of the iteration, if p was the last permutation of the iteration. The runtime
+   * is O(1) amortized over the iteration.
+   */
+  static boolean advance(Permutation p, int[] lastSwap) {
+    for (int i = lastSwap.length - 2; i >= 0; i--) {
+      if (lastSwap[i] != i) p.swap(i, lastSwap[i]);
+      if (lastSwap[i] == lastSwap.length - 1) {
+        lastSwap[i] = i;
+        continue;
       }
+      lastSwap[i]++;
+      p.swap(i, lastSwap[i]);
+      return true;
     }
-    return n;
+    return false;
   }
 }
@@ -0,0 +1,214 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+/**
+ * A PermutationMove describes one application of a mutation method of the {@link Permutation}
+ * class, such as a swap of two elements or the reversal of a subsequence, as an immutable value
+ * that can be applied to a Permutation later or not at all. For example, a local search can
+ * generate candidate moves, evaluate the effect that each would have on some objective, and then
+ * apply only the chosen move. Distance measures that implement {@link
+ * org.cicirello.permutations.distance.DeltaPermutationDistanceMeasurer} can compute the change in
+ * distance that a move would cause, without applying it.
+ *
+ * <p>Each kind of move is a record, whose components are the parameters of the corresponding
+ * Permutation method. The parameters are validated against the length of a permutation when the
+ * move is applied (or evaluated), as specified by {@link #isValidFor(int)}. Unlike some of the
+ * corresponding Permutation methods, a move whose indexes are out of bounds is rejected even if it
+ * would not change the permutation, such as a swap of an index with itself.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public sealed interface PermutationMove {
+
+  /**
+   * Applies this move to a permutation.
+   *
+   * @param p The permutation to change.
+   * @throws ArrayIndexOutOfBoundsException if any of the indexes of this move are out of bounds for
+   *     the permutation p, as specified by {@link #isValidFor(int)}
+   * @throws IllegalArgumentException if this is a {@link BlockSwap} whose blocks are not within the
+   *     bounds of the permutation p
+   */
+  void apply(Permutation p);
+
+  /**
+   * Determines whether this move is valid for permutations of a specified length, which is the
+   * case if all of its indexes, including the last index of any block that it moves, are in the
+   * interval [0, length), and the size of a {@link BlockInsertion} is not negative. A {@link
+   * Rotation} is valid for all lengths.
+   *
+   * @param length The length of a permutation.
+   * @return true if this move can be applied to permutations of the specified length
+   */
+  boolean isValidFor(int length);
+
+  /* Throws an ArrayIndexOutOfBoundsException if the move is not valid for p. */
+  private static void checkIndexes(PermutationMove move, Permutation p) {
+    if (!move.isValidFor(p.length())) {
+      throw new ArrayIndexOutOfBoundsException("The move is not valid for the permutation length");
+    }
+  }
+
+  /* Tests whether index is in [0, length). */
+  private static boolean inBounds(int index, int length) {
+    return index >= 0 && index < length;
+  }
+
+  /**
+   * Swaps two elements, as in {@link Permutation#swap(int, int)}.
+   *
+   * @param i The index of one of the elements.
+   * @param j The index of the other element.
+   */
+  record Swap(int i, int j) implements PermutationMove {
+    @Override
+    public void apply(Permutation p) {
+      checkIndexes(this, p);
+      p.swap(i, j);
+    }
+
+    @Override
+    public boolean isValidFor(int length) {
+      return inBounds(i, length) && inBounds(j, length);
+    }
+  }
+
+  /**
+   * Reverses the elements of a subrange, as in {@link Permutation#reverse(int, int)}.
+   *
+   * @param i One endpoint, inclusive, of the subrange.
+   * @param j The other endpoint, inclusive, of the subrange.
+   */
+  record Reversal(int i, int j) implements PermutationMove {
+    @Override
+    public void apply(Permutation p) {
+      checkIndexes(this, p);
+      p.reverse(i, j);
+    }
+
+    @Override
+    public boolean isValidFor(int length) {
+      return inBounds(i, length) && inBounds(j, length);
+    }
+  }
+
+  /**
+   * Removes an element and reinserts it at a different index, as in {@link
+   * Permutation#removeAndInsert(int, int)}.
+   *
+   * @param i The index of the element to remove.
+   * @param j The index at which to reinsert it.
+   */
+  record Insertion(int i, int j) implements PermutationMove {
+    @Override
+    public void apply(Permutation p) {
+      checkIndexes(this, p);
+      p.removeAndInsert(i, j);
+    }
+
+    @Override
+    public boolean isValidFor(int length) {
+      return inBounds(i, length) && inBounds(j, length);
+    }
+  }
+
+  /**
+   * Removes a block of consecutive elements and reinserts it at a different index, as in {@link
+   * Permutation#removeAndInsert(int, int, int)}.
+   *
+   * @param i The index of the first element of the block.
+   * @param size The number of elements in the block.
+   * @param j The index at which to reinsert the block.
+   */
+  record BlockInsertion(int i, int size, int j) implements PermutationMove {
+    @Override
+    public void apply(Permutation p) {
+      checkIndexes(this, p);
+      p.removeAndInsert(i, size, j);
+    }
+
+    @Override
+    public boolean isValidFor(int length) {
+      return size >= 0
+          && inBounds(i, length)
+          && inBounds(j, length)
+          && size <= length - i
+          && size <= length - j;
+    }
+  }
+
+  /**
+   * Swaps two non-overlapping blocks, as in {@link Permutation#swapBlocks(int, int, int, int)}.
+   *
+   * @param a The starting index of the first block.
+   * @param b The ending index, inclusive, of the first block.
+   * @param i The starting index of the second block.
+   * @param j The ending index, inclusive, of the second block.
+   */
+  record BlockSwap(int a, int b, int i, int j) implements PermutationMove {
+
+    /**
+     * Constructs a BlockSwap.
+     *
+     * @param a The starting index of the first block.
+     * @param b The ending index, inclusive, of the first block.
+     * @param i The starting index of the second block.
+     * @param j The ending index, inclusive, of the second block.
+     * @throws IllegalArgumentException if the following constraint is violated: 0 &le; a &le; b
+     *     &lt; i &le; j.
+     */
+    public BlockSwap {
+      if (a < 0 || b < a || i <= b || j < i) {
+        throw new IllegalArgumentException("Illegal block definition.");
+      }
+    }
+
+    @Override
+    public void apply(Permutation p) {
+      p.swapBlocks(a, b, i, j);
+    }
+
+    @Override
+    public boolean isValidFor(int length) {
+      return j < length;
+    }
+  }
+
+  /**
+   * Rotates the entire permutation to the left, as in {@link Permutation#rotate(int)}.
+   *
+   * @param numPositions The number of positions to rotate.
+   */
+  record Rotation(int numPositions) implements PermutationMove {
+    @Override
+    public void apply(Permutation p) {
+      p.rotate(numPositions);
+    }
+
+    @Override
+    public boolean isValidFor(int length) {
+      return true;
+    }
+  }
+}
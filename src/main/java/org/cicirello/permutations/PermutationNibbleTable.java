@@ -0,0 +1,228 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A table of 4-bit values, i.e., integers from 0 to 15, one for each permutation of length n,
+ * indexed by the permutation's rank as computed by {@link Permutation#toLong()}. For example, this
+ * can hold the distances of the permutations from a starting permutation during a breadth first
+ * search, for distances less than 16. It requires n!/2 bytes. For example, for n = 12 it requires
+ * 240 MB, and for n = 13 it requires 3.1 GB.
+ *
+ * <p>All operations are thread-safe, and {@link #compareAndSet} is atomic, for use by concurrent
+ * searches. The values are stored either in an array on the heap, or in a memory-mapped file, which
+ * supports tables larger than the heap, and tables that persist across runs. Values are initially
+ * 0.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class PermutationNibbleTable {
+
+  private final int n;
+  private final long size;
+  private final LongWords words;
+
+  /**
+   * Constructs a table for the permutations of length n, stored on the heap, with all values 0.
+   *
+   * @param n The length of the permutations.
+   * @throws IllegalArgumentException if n is negative, or if n!/2 bytes is too many for an array of
+   *     longs (i.e., if n &gt; 13)
+   */
+  public PermutationNibbleTable(int n) {
+    this.n = n;
+    size = PermutationBitSet.factorial(n);
+    words = LongWords.heap(wordCount(size));
+  }
+
+  /**
+   * Constructs a table for the permutations of length n, stored in a memory-mapped file. If the
+   * file does not exist, then it is created, with all values 0. Otherwise, the table consists of
+   * the values recorded in the file, such as by a previous run of a search. Changes to the table
+   * are written to the file, but are not guaranteed to reach the storage device prior to a call to
+   * {@link #force()}.
+   *
+   * @param n The length of the permutations.
+   * @param file The file.
+   * @throws IllegalArgumentException if n is negative or greater than 20
+   * @throws IOException if the file exists but is not of the size required for n, or if an I/O
+   *     error occurs opening or mapping the file
+   */
+  public PermutationNibbleTable(int n, Path file) throws IOException {
+    this.n = n;
+    size = PermutationBitSet.factorial(n);
+    words = LongWords.mapped(wordCount(size), file);
+  }
+
+  /**
+   * Gets the length of the permutations.
+   *
+   * @return the length of the permutations
+   */
+  public int length() {
+    return n;
+  }
+
+  /**
+   * Gets the number of permutations of length n, which is the number of values in this table.
+   *
+   * @return n!
+   */
+  public long capacity() {
+    return size;
+  }
+
+  /**
+   * Gets the value for a permutation.
+   *
+   * @param rank The rank of the permutation, as computed by {@link Permutation#toLong()}.
+   * @return the value for the permutation, in the interval [0, 15]
+   * @throws IndexOutOfBoundsException if rank is negative or not less than n!
+   */
+  public int get(long rank) {
+    check(rank);
+    return (int) (words.get(rank >>> 4) >>> ((rank & 15) << 2)) & 0xF;
+  }
+
+  /**
+   * Gets the value for a permutation.
+   *
+   * @param p The permutation.
+   * @return the value for the permutation, in the interval [0, 15]
+   * @throws IllegalArgumentException if p.length() is not n
+   */
+  public int get(Permutation p) {
+    return get(rank(p));
+  }
+
+  /**
+   * Sets the value for a permutation.
+   *
+   * @param rank The rank of the permutation, as computed by {@link Permutation#toLong()}.
+   * @param value The value, in the interval [0, 15].
+   * @throws IndexOutOfBoundsException if rank is negative or not less than n!
+   * @throws IllegalArgumentException if value is not in the interval [0, 15]
+   */
+  public void set(long rank, int value) {
+    checkValue(value);
+    check(rank);
+    long index = rank >>> 4;
+    int shift = (int) (rank & 15) << 2;
+    long word;
+    do {
+      word = words.get(index);
+    } while (!words.compareAndSet(
+        index, word, (word & ~(0xFL << shift)) | ((long) value << shift)));
+  }
+
+  /**
+   * Sets the value for a permutation.
+   *
+   * @param p The permutation.
+   * @param value The value, in the interval [0, 15].
+   * @throws IllegalArgumentException if p.length() is not n, or if value is not in the interval [0,
+   *     15]
+   */
+  public void set(Permutation p, int value) {
+    set(rank(p), value);
+  }
+
+  /**
+   * Atomically sets the value for a permutation, if its current value is equal to an expected
+   * value. For example, a concurrent breadth first search can claim an unvisited permutation by
+   * setting its value from a value marking it as unvisited to its distance. If multiple threads
+   * concurrently attempt to change the same value from the same expected value, then exactly one of
+   * them succeeds.
+   *
+   * @param rank The rank of the permutation, as computed by {@link Permutation#toLong()}.
+   * @param expected The expected current value.
+   * @param value The new value, in the interval [0, 15].
+   * @return true if the value was equal to expected, and has been set to value
+   * @throws IndexOutOfBoundsException if rank is negative or not less than n!
+   * @throws IllegalArgumentException if value is not in the interval [0, 15]
+   */
+  public boolean compareAndSet(long rank, int expected, int value) {
+    checkValue(value);
+    check(rank);
+    long index = rank >>> 4;
+    int shift = (int) (rank & 15) << 2;
+    while (true) {
+      long word = words.get(index);
+      if (((word >>> shift) & 0xF) != expected) {
+        return false;
+      }
+      if (words.compareAndSet(
+          index, word, (word & ~(0xFL << shift)) | ((long) value << shift))) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Sets the values for all permutations. This is not atomic with respect to concurrent changes.
+   *
+   * @param value The value, in the interval [0, 15].
+   * @throws IllegalArgumentException if value is not in the interval [0, 15]
+   */
+  public void fill(int value) {
+    checkValue(value);
+    long pattern = value * 0x1111111111111111L;
+    for (long i = 0; i < words.length(); i++) {
+      words.set(i, pattern);
+    }
+  }
+
+  /**
+   * Writes any changes to the storage device, if this table is stored in a memory-mapped file, and
+   * otherwise does nothing.
+   */
+  public void force() {
+    words.force();
+  }
+
+  private long rank(Permutation p) {
+    if (p.length() != n) {
+      throw new IllegalArgumentException("Permutation must be of length " + n);
+    }
+    return p.toLong();
+  }
+
+  private void check(long rank) {
+    if (rank < 0 || rank >= size) {
+      throw new IndexOutOfBoundsException(rank);
+    }
+  }
+
+  private static void checkValue(int value) {
+    if (value < 0 || value > 15) {
+      throw new IllegalArgumentException("Values must be in the interval [0, 15].");
+    }
+  }
+
+  private static long wordCount(long size) {
+    return (size + 15) >>> 4;
+  }
+}
@@ -0,0 +1,241 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Depth-first enumeration of the permutations of a specified length that are consistent with a set
+ * of restrictions, by extending prefixes one element at a time. An element can be fixed at an index
+ * with {@link #fix}, and the placement of an element at an index can be forbidden with {@link
+ * #forbid}, and a {@link PermutationPrefixPredicate} is tested on each prefix, such that whenever a
+ * placement is forbidden, or a prefix fails the predicate, all permutations beginning with that
+ * prefix are pruned from the enumeration without being generated. This supports enumerating
+ * permutations subject to constraints, such as precedence constraints, as well as branch-and-bound
+ * search, where the predicate compares a bound on the cost of the permutations that begin with a
+ * prefix to the cost of the best permutation found so far.
+ *
+ * <p>Each permutation of the enumeration is passed to a {@link PermutationVisitor}. The
+ * enumeration changes a single Permutation in place by swaps, so no memory is allocated per prefix
+ * or permutation. The {@link #forEachParallel} method divides the subtrees at the top levels of the
+ * tree of prefixes among the threads of the common {@link ForkJoinPool}.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class PermutationPrefixEnumerator {
+
+  private final int n;
+  // forbidden[i][e] is true if element e must not be placed at index i
+  private final boolean[][] forbidden;
+
+  /**
+   * Initializes an enumerator of the permutations of length n, initially without restrictions.
+   *
+   * @param n The length of the permutations.
+   * @throws NegativeArraySizeException if n is negative
+   */
+  public PermutationPrefixEnumerator(int n) {
+    this.n = n;
+    forbidden = new boolean[n][n];
+  }
+
+  /**
+   * Gets the length of the permutations.
+   *
+   * @return the length of the permutations
+   */
+  public int length() {
+    return n;
+  }
+
+  /**
+   * Restricts the enumeration to the permutations with a specified element at a specified index.
+   * If this conflicts with other restrictions, then the enumeration is empty.
+   *
+   * @param index The index.
+   * @param element The element that must be at that index.
+   * @throws ArrayIndexOutOfBoundsException if either index or element is negative, or greater than
+   *     or equal to length()
+   */
+  public void fix(int index, int element) {
+    boolean keep = forbidden[index][element];
+    for (int k = 0; k < n; k++) {
+      forbidden[index][k] = true;
+      forbidden[k][element] = true;
+    }
+    forbidden[index][element] = keep;
+  }
+
+  /**
+   * Restricts the enumeration to the permutations that do not have a specified element at a
+   * specified index.
+   *
+   * @param index The index.
+   * @param element The element that must not be at that index.
+   * @throws ArrayIndexOutOfBoundsException if either index or element is negative, or greater than
+   *     or equal to length()
+   */
+  public void forbid(int index, int element) {
+    forbidden[index][element] = true;
+  }
+
+  /**
+   * Enumerates the permutations that are consistent with the restrictions, and whose prefixes all
+   * pass a predicate, passing each to a visitor. The Permutation passed to the predicate and to the
+   * visitor is the same object, which is changed in place by the enumeration, and must not be
+   * changed by either.
+   *
+   * @param predicate The predicate, which is tested on each prefix, including complete
+   *     permutations, that is consistent with the restrictions.
+   * @param visitor The visitor, which is called for each permutation whose prefixes all pass the
+   *     predicate, unless it terminates the enumeration early by returning false.
+   * @return true if the enumeration was completed, and false if the visitor terminated it early
+   */
+  public boolean forEach(PermutationPrefixPredicate predicate, PermutationVisitor visitor) {
+    return new Search(predicate, visitor, null).extend(new Permutation(n, 0), 0);
+  }
+
+  /**
+   * Enumerates the permutations that are consistent with the restrictions, and whose prefixes all
+   * pass a predicate, passing each to a visitor, in parallel. The subtrees of the prefixes of a
+   * specified length are enumerated by separate tasks of the common {@link ForkJoinPool}, each of
+   * which changes its own Permutation in place. Thus, the predicate and visitor may be called
+   * concurrently from multiple threads, and must be thread-safe, and the order in which
+   * permutations are visited is unspecified. If the visitor returns false, then the enumeration
+   * stops as soon as each of the tasks observes it.
+   *
+   * @param predicate The predicate, which is tested on each prefix, including complete
+   *     permutations, that is consistent with the restrictions.
+   * @param visitor The visitor, which is called for each permutation whose prefixes all pass the
+   *     predicate, unless it terminates the enumeration early by returning false.
+   * @param splitDepth The length of the prefixes whose subtrees are enumerated by separate tasks.
+   *     For example, if splitDepth is 2, then there is a task for each prefix of length 2 that is
+   *     consistent with the restrictions and passes the predicate. If splitDepth is 0, then the
+   *     enumeration is sequential.
+   * @return true if the enumeration was completed, and false if the visitor terminated it early
+   * @throws IllegalArgumentException if splitDepth is negative
+   */
+  public boolean forEachParallel(
+      PermutationPrefixPredicate predicate, PermutationVisitor visitor, int splitDepth) {
+    if (splitDepth < 0) {
+      throw new IllegalArgumentException("splitDepth must be non-negative");
+    }
+    Search search = new Search(predicate, visitor, new AtomicBoolean());
+    ForkJoinPool.commonPool()
+        .invoke(new Subtree(search, new Permutation(n, 0), 0, Math.min(splitDepth, n)));
+    return !search.stopped.get();
+  }
+
+  /*
+   * The state of an enumeration shared by all of its tasks.
+   */
+  private final class Search {
+
+    private final PermutationPrefixPredicate predicate;
+    private final PermutationVisitor visitor;
+    // null if sequential
+    private final AtomicBoolean stopped;
+
+    Search(
+        PermutationPrefixPredicate predicate, PermutationVisitor visitor, AtomicBoolean stopped) {
+      this.predicate = predicate;
+      this.visitor = visitor;
+      this.stopped = stopped;
+    }
+
+    /*
+     * Tests placing the element at index i of p at index length, which is then the last index of
+     * the prefix, returning true if it is not forbidden, and the prefix passes the predicate. If
+     * true is returned, then p is left with the element placed, and otherwise p is unchanged.
+     */
+    boolean place(Permutation p, int length, int i) {
+      if (forbidden[length][p.get(i)]) return false;
+      p.swap(length, i);
+      if (predicate.test(p, length + 1)) return true;
+      p.swap(length, i);
+      return false;
+    }
+
+    /*
+     * Enumerates the permutations that extend the prefix of the specified length of p, returning
+     * false if the enumeration was terminated early. Upon return, p contains the same elements in
+     * the prefix as on entry.
+     */
+    boolean extend(Permutation p, int length) {
+      if (stopped != null && stopped.get()) return false;
+      if (length == n) {
+        if (visitor.visit(p)) return true;
+        if (stopped != null) stopped.set(true);
+        return false;
+      }
+      for (int i = length; i < n; i++) {
+        if (place(p, length, i)) {
+          boolean completed = extend(p, length + 1);
+          p.swap(length, i);
+          if (!completed) return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /*
+   * A task that enumerates the extensions of a prefix of its own Permutation, forking a task for
+   * each extension until the prefix length reaches splitDepth.
+   */
+  private static final class Subtree extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient PermutationPrefixEnumerator.Search search;
+    private final Permutation p;
+    private final int length;
+    private final int splitDepth;
+
+    Subtree(PermutationPrefixEnumerator.Search search, Permutation p, int length, int splitDepth) {
+      this.search = search;
+      this.p = p;
+      this.length = length;
+      this.splitDepth = splitDepth;
+    }
+
+    @Override
+    protected void compute() {
+      if (length >= splitDepth) {
+        search.extend(p, length);
+        return;
+      }
+      ArrayList<Subtree> tasks = new ArrayList<Subtree>();
+      for (int i = length; i < p.length() && !search.stopped.get(); i++) {
+        if (search.place(p, length, i)) {
+          tasks.add(new Subtree(search, new Permutation(p), length + 1, splitDepth));
+          p.swap(length, i);
+        }
+      }
+      invokeAll(tasks);
+    }
+  }
+}
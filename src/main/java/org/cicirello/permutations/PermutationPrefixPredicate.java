@@ -0,0 +1,47 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+/**
+ * A functional interface for testing the prefixes of permutations during a depth-first
+ * enumeration, such as for pruning the permutations that violate constraints, or whose partial
+ * cost exceeds a bound. See the {@link PermutationPrefixEnumerator} class.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+@FunctionalInterface
+public interface PermutationPrefixPredicate {
+
+  /**
+   * Tests a prefix of a permutation. The prefix consists of the elements at indexes 0 through
+   * length - 1 of p, and the elements at the remaining indexes are the elements not yet placed, in
+   * an unspecified order. Implementers must not change p.
+   *
+   * @param p A permutation whose first length elements are the prefix.
+   * @param length The length of the prefix, which is at least 1. The element most recently placed
+   *     is p.get(length - 1).
+   * @return true if permutations beginning with the prefix should be enumerated, or false to prune
+   *     all permutations beginning with the prefix
+   */
+  boolean test(Permutation p, int length);
+}
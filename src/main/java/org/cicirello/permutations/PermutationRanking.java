@@ -0,0 +1,369 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import java.math.BigInteger;
+
+/**
+ * Internal utility class for converting between permutations and their ranks in the mixed radix
+ * form used by {@link Permutation#toInteger()}, {@link Permutation#toBigInteger()}, and the
+ * corresponding constructors. The rank of a permutation p of length n is the sum over positions i
+ * of d[i] * n * (n-1) * ... * (n-i+1), where d[i], the digit for position i, is the number of
+ * elements less than p[i] that are not in p[0..(i-1)] (i.e., d is the Lehmer code of p).
+ *
+ * <p>This class also supports the ranking of Myrvold and Ruskey, which is not lexicographic, but
+ * can be computed and inverted in O(n) time. Its digits have the same radixes as the Lehmer code,
+ * so the same conversions between digits and BigInteger ranks are used for both.
+ *
+ * <p>The Lehmer code is computed, and inverted, in O(n log n) time with a Fenwick tree (or in O(n)
+ * time with a bitmask for n &le; 64). Conversion between the Lehmer code and a BigInteger rank is
+ * by divide-and-conquer over a tree of products of the radixes, such that the cost of the
+ * BigInteger arithmetic is dominated by a constant number of multiplications or divisions of
+ * numbers of the size of n! at each of the O(log n) levels of the tree.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+final class PermutationRanking {
+
+  /* Maximum length for which a bitmask of the elements is used rather than a Fenwick tree. */
+  private static final int MASK_LENGTH = 64;
+
+  /** Class of static utility methods so no need to instantiate. */
+  private PermutationRanking() {}
+
+  /*
+   * Computes the Lehmer code of permutation p into digits.
+   */
+  static void lehmer(int[] p, int[] digits) {
+    final int n = p.length;
+    if (n <= MASK_LENGTH) {
+      long unused = -1L;
+      for (int i = 0; i < n; i++) {
+        digits[i] = Long.bitCount(unused & ((1L << p[i]) - 1));
+        unused &= ~(1L << p[i]);
+      }
+    } else {
+      // Fenwick tree of the elements that have been used
+      int[] tree = new int[n + 1];
+      for (int i = 0; i < n; i++) {
+        int used = 0;
+        for (int k = p[i]; k > 0; k -= k & -k) {
+          used += tree[k];
+        }
+        digits[i] = p[i] - used;
+        for (int k = p[i] + 1; k <= n; k += k & -k) {
+          tree[k]++;
+        }
+      }
+    }
+  }
+
+  /*
+   * Computes the permutation p whose Lehmer code is digits.
+   */
+  static void fromLehmer(int[] digits, int[] p) {
+    final int n = p.length;
+    if (n <= MASK_LENGTH) {
+      long unused = -1L;
+      for (int i = 0; i < n; i++) {
+        p[i] = select(unused, digits[i]);
+        unused &= ~(1L << p[i]);
+      }
+    } else {
+      // Fenwick tree of the elements that have not been used, initially all of them
+      int[] tree = new int[n + 1];
+      for (int k = 1; k <= n; k++) {
+        tree[k] = k & -k;
+      }
+      final int top = Integer.highestOneBit(n);
+      for (int i = 0; i < n; i++) {
+        // finds the largest pos such that fewer than digits[i]+1 unused elements are less than pos
+        int remaining = digits[i];
+        int pos = 0;
+        for (int step = top; step > 0; step >>= 1) {
+          int next = pos + step;
+          if (next <= n && tree[next] <= remaining) {
+            pos = next;
+            remaining -= tree[next];
+          }
+        }
+        p[i] = pos;
+        for (int k = pos + 1; k <= n; k += k & -k) {
+          tree[k]--;
+        }
+      }
+    }
+  }
+
+  /*
+   * Computes the rank of permutation p, which must be of length at most 20.
+   */
+  static long rank(int[] p) {
+    // bitmask of the elements not yet seen
+    int unused = -1;
+    long result = 0;
+    long multiplier = 1;
+    for (int i = 0; i < p.length - 1; i++) {
+      result += multiplier * Integer.bitCount(unused & ((1 << p[i]) - 1));
+      unused &= ~(1 << p[i]);
+      multiplier *= p.length - i;
+    }
+    return result;
+  }
+
+  /*
+   * Computes the permutation p with the specified rank, or rank mod n! if rank is negative or not
+   * less than n!. Allocates no memory if n &le; 64.
+   */
+  static void unrank(long rank, int[] p) {
+    final int n = p.length;
+    if (n <= MASK_LENGTH) {
+      long unused = -1L;
+      for (int i = 0; i < n; i++) {
+        long quotient = Math.floorDiv(rank, n - i);
+        p[i] = select(unused, (int) (rank - quotient * (n - i)));
+        rank = quotient;
+        unused &= ~(1L << p[i]);
+      }
+    } else {
+      int[] digits = new int[n];
+      for (int i = 0; i < n; i++) {
+        digits[i] = Math.floorMod(rank, n - i);
+        rank = Math.floorDiv(rank, n - i);
+      }
+      fromLehmer(digits, p);
+    }
+  }
+
+  /*
+   * Computes the permutation p whose rank in lexicographic order is rank, which must be in the
+   * interval [0, n!), where n is at most 20. Allocates no memory.
+   */
+  static void unrankLexicographic(long rank, int[] p) {
+    final int n = p.length;
+    // the Lehmer code, whose least significant digit is the last, with radix 1
+    for (int k = 1; k <= n; k++) {
+      p[n - k] = (int) (rank % k);
+      rank /= k;
+    }
+    fromLehmer(p, p);
+  }
+
+  /*
+   * Computes the permutation p whose rank in lexicographic order is rank, which must be in the
+   * interval [0, n!). For n &le; 20, delegates to the long version, which allocates no memory.
+   */
+  static void unrankLexicographic(BigInteger rank, int[] p) {
+    final int n = p.length;
+    if (n <= 20) {
+      unrankLexicographic(rank.longValue(), p);
+      return;
+    }
+    for (int k = 1; k <= n; k++) {
+      BigInteger[] qr = rank.divideAndRemainder(BigInteger.valueOf(k));
+      p[n - k] = qr[1].intValue();
+      rank = qr[0];
+    }
+    fromLehmer(p, p);
+  }
+
+  /*
+   * Computes n! as a BigInteger.
+   */
+  static BigInteger factorial(int n) {
+    BigInteger f = BigInteger.ONE;
+    for (int i = 2; i <= n; i++) {
+      f = f.multiply(BigInteger.valueOf(i));
+    }
+    return f;
+  }
+
+  /*
+   * Finds the index of the k-th lowest (counting from 0) one bit of m in constant time. Expanding
+   * the single bit 1L << k into the one bits of m deposits it on the k-th one bit of m.
+   */
+  private static int select(long m, int k) {
+    return Long.numberOfTrailingZeros(Long.expand(1L << k, m));
+  }
+
+  /*
+   * Computes the digits of the Myrvold-Ruskey rank of permutation p, where the digit for position i
+   * has radix n-i, as for the Lehmer code. The digit for position i is the element at index n-1-i
+   * after the transpositions for the preceding positions, each of which swaps the element at index
+   * n-1-i with the element n-1-i, have been applied to a copy of p.
+   */
+  static void myrvoldRuskey(int[] p, int[] digits) {
+    final int n = p.length;
+    int[] q = p.clone();
+    int[] inverse = new int[n];
+    for (int i = 0; i < n; i++) {
+      inverse[q[i]] = i;
+    }
+    for (int k = n - 1; k >= 0; k--) {
+      int s = q[k];
+      int j = inverse[k];
+      digits[n - 1 - k] = s;
+      q[j] = s;
+      q[k] = k;
+      inverse[s] = j;
+      inverse[k] = k;
+    }
+  }
+
+  /*
+   * Computes the Myrvold-Ruskey rank of permutation p, which must be of length at most 20.
+   */
+  static long rankMyrvoldRuskey(int[] p) {
+    final int n = p.length;
+    int[] digits = new int[n];
+    myrvoldRuskey(p, digits);
+    long result = 0;
+    for (int i = n - 1; i >= 0; i--) {
+      result = result * (n - i) + digits[i];
+    }
+    return result;
+  }
+
+  /*
+   * Computes the permutation p with the specified Myrvold-Ruskey rank, or rank mod n! if rank is
+   * negative or not less than n!.
+   */
+  static void unrankMyrvoldRuskey(long rank, int[] p) {
+    final int n = p.length;
+    for (int i = 0; i < n; i++) {
+      p[i] = i;
+    }
+    for (int k = n; k > 0; k--) {
+      long quotient = Math.floorDiv(rank, k);
+      int j = (int) (rank - quotient * k);
+      int temp = p[k - 1];
+      p[k - 1] = p[j];
+      p[j] = temp;
+      rank = quotient;
+    }
+  }
+
+  /*
+   * Computes the permutation p whose Myrvold-Ruskey rank has the specified digits.
+   */
+  static void fromMyrvoldRuskey(int[] digits, int[] p) {
+    final int n = p.length;
+    for (int i = 0; i < n; i++) {
+      p[i] = i;
+    }
+    for (int k = n; k > 0; k--) {
+      int j = digits[n - k];
+      int temp = p[k - 1];
+      p[k - 1] = p[j];
+      p[j] = temp;
+    }
+  }
+
+  /*
+   * Computes the rank with Lehmer code digits.
+   */
+  static BigInteger toBigInteger(int[] digits) {
+    return new ProductTree(digits.length, 0, digits.length).rank(digits);
+  }
+
+  /*
+   * Computes the Lehmer code, into digits, of the rank value of a permutation of length
+   * digits.length. If value is negative or not less than n!, then value mod n! is used.
+   */
+  static void fromBigInteger(BigInteger value, int[] digits) {
+    ProductTree tree = new ProductTree(digits.length, 0, digits.length);
+    if (value.signum() < 0 || value.compareTo(tree.weight) >= 0) {
+      value = value.mod(tree.weight);
+    }
+    tree.digits(value, digits);
+  }
+
+  /*
+   * A node of a tree of products of the radixes of the positions [lo, hi). The radix of position i
+   * of a permutation of length n is n-i. Leaves span as many positions as can have their product
+   * computed as a long.
+   */
+  private static final class ProductTree {
+
+    private final int n;
+    private final int lo;
+    private final int hi;
+    private final BigInteger weight;
+    private final ProductTree left;
+    private final ProductTree right;
+
+    ProductTree(int n, int lo, int hi) {
+      this.n = n;
+      this.lo = lo;
+      this.hi = hi;
+      // the product of leafLength radixes, each at most n, is less than 2^62
+      int leafLength = Math.max(1, 62 / (64 - Long.numberOfLeadingZeros(Math.max(n, 1))));
+      if (hi - lo <= leafLength) {
+        long product = 1;
+        for (int i = lo; i < hi; i++) {
+          product *= n - i;
+        }
+        weight = BigInteger.valueOf(product);
+        left = right = null;
+      } else {
+        int mid = (lo + hi) >>> 1;
+        left = new ProductTree(n, lo, mid);
+        right = new ProductTree(n, mid, hi);
+        weight = left.weight.multiply(right.weight);
+      }
+    }
+
+    /*
+     * The part of the rank contributed by digits[lo, hi), divided by the product of the radixes of
+     * positions [0, lo).
+     */
+    BigInteger rank(int[] digits) {
+      if (left == null) {
+        long value = 0;
+        for (int i = hi - 1; i >= lo; i--) {
+          value = value * (n - i) + digits[i];
+        }
+        return BigInteger.valueOf(value);
+      }
+      return left.rank(digits).add(left.weight.multiply(right.rank(digits)));
+    }
+
+    /*
+     * Computes digits[lo, hi) from the part of the rank contributed by those digits, divided by the
+     * product of the radixes of positions [0, lo).
+     */
+    void digits(BigInteger value, int[] digits) {
+      if (left == null) {
+        long v = value.longValue();
+        for (int i = lo; i < hi; i++) {
+          digits[i] = (int) (v % (n - i));
+          v /= n - i;
+        }
+      } else {
+        BigInteger[] divRem = value.divideAndRemainder(left.weight);
+        left.digits(divRem[1], digits);
+        right.digits(divRem[0], digits);
+      }
+    }
+  }
+}
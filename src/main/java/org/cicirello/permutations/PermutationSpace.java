@@ -0,0 +1,160 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Utility class of static methods for enumerating the space of all permutations of a given length
+ * as a {@link Stream}, including in parallel. The permutations are enumerated in lexicographic
+ * order, and the rank of a permutation in that order, in the interval [0, n!), determines how the
+ * enumeration is split for parallel processing. Each part of a split is positioned by computing
+ * the permutation with its first rank, and is then advanced in place to the lexicographic
+ * successor, which is O(1) amortized over the part. Since n! must not exceed the range of a long,
+ * the length is limited to 20.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class PermutationSpace {
+
+  /** Class of static utility methods so no need to instantiate. */
+  private PermutationSpace() {}
+
+  /**
+   * Creates a sequential Stream over all permutations of length n, in lexicographic order. Call
+   * {@link Stream#parallel()} on the result for a parallel Stream, which is split into parts of
+   * known size by rank. Each element of the Stream is a new Permutation, so the elements can be
+   * freely retained and changed.
+   *
+   * @param n The length of the permutations.
+   * @return a Stream over all permutations of length n
+   * @throws IllegalArgumentException if n is negative or greater than 20
+   */
+  public static Stream<Permutation> stream(int n) {
+    return StreamSupport.stream(spliterator(n), false);
+  }
+
+  /**
+   * Creates a Spliterator over all permutations of length n, in lexicographic order. The
+   * Spliterator is {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED}, and its {@link
+   * Spliterator#trySplit()} splits the remaining range of ranks in half.
+   *
+   * @param n The length of the permutations.
+   * @return a Spliterator over all permutations of length n
+   * @throws IllegalArgumentException if n is negative or greater than 20
+   */
+  public static Spliterator<Permutation> spliterator(int n) {
+    return new RankRangeSpliterator(n, 0, PermutationBitSet.factorial(n));
+  }
+
+  /*
+   * Advances p in place to its lexicographic successor, returning false, without changing p, if p
+   * is the last permutation in lexicographic order. The runtime is O(1) amortized over all
+   * permutations, and O(n) in the worst case.
+   */
+  static boolean advanceLexicographic(Permutation p) {
+    int i = p.length() - 2;
+    while (i >= 0 && p.get(i) > p.get(i + 1)) {
+      i--;
+    }
+    if (i < 0) return false;
+    int j = p.length() - 1;
+    while (p.get(j) < p.get(i)) {
+      j--;
+    }
+    p.swap(i, j);
+    if (i + 1 < p.length() - 1) {
+      p.reverse(i + 1, p.length() - 1);
+    }
+    return true;
+  }
+
+  /*
+   * Spliterator over the permutations of length n with lexicographic ranks in [next, end).
+   */
+  private static final class RankRangeSpliterator implements Spliterator<Permutation> {
+
+    private final int n;
+    private long next;
+    private final long end;
+    // the permutation with rank next - 1, or null if not yet positioned
+    private Permutation current;
+
+    RankRangeSpliterator(int n, long next, long end) {
+      this.n = n;
+      this.next = next;
+      this.end = end;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Permutation> action) {
+      if (next >= end) return false;
+      step();
+      action.accept(new Permutation(current));
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Permutation> action) {
+      while (next < end) {
+        step();
+        action.accept(new Permutation(current));
+      }
+    }
+
+    @Override
+    public Spliterator<Permutation> trySplit() {
+      long mid = next + ((end - next) >>> 1);
+      if (mid == next) return null;
+      RankRangeSpliterator prefix = new RankRangeSpliterator(n, next, mid);
+      prefix.current = current;
+      next = mid;
+      current = null;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return end - next;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | DISTINCT | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+
+    private void step() {
+      if (current == null) {
+        int[] p = new int[n];
+        PermutationRanking.unrankLexicographic(next, p);
+        current = new Permutation(p, false);
+      } else {
+        advanceLexicographic(current);
+      }
+      next++;
+    }
+  }
+}
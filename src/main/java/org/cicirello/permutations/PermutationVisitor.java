@@ -0,0 +1,45 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+/**
+ * A functional interface for visiting permutations during an enumeration that reuses a single
+ * Permutation object, rather than copying each permutation of the enumeration. See the {@link
+ * Permutation#forEachPermutation(int, PermutationVisitor)} method.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+@FunctionalInterface
+public interface PermutationVisitor {
+
+  /**
+   * Visits a permutation of the enumeration. The Permutation passed to this method is the one that
+   * the enumeration changes in place to produce the next permutation, so implementers must not
+   * change it, and must copy it, such as with the {@link Permutation#Permutation(Permutation)}
+   * constructor, if they need to retain it beyond the call.
+   *
+   * @param p The current permutation of the enumeration, which must be treated as read-only.
+   * @return true to continue the enumeration, or false to terminate it early
+   */
+  boolean visit(Permutation p);
+}
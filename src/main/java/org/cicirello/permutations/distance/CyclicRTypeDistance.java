@@ -1,6 +1,6 @@
 /*
  * JavaPermutationTools - A Java library for computation on permutations.
- * Copyright 2005-2023 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * JavaPermutationTools is free software: you can
  * redistribute it and/or modify it under the terms of the GNU
@@ -21,6 +21,7 @@
 package org.cicirello.permutations.distance;
 
 import org.cicirello.permutations.Permutation;
+import org.cicirello.permutations.PermutationMove;
 
 /**
  * Cyclic RType distance treats the permutations as if they represent sets of directed edges, and
@@ -43,7 +44,8 @@ import org.cicirello.permutations.Permutation;
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
  *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  */
-public final class CyclicRTypeDistance implements NormalizedPermutationDistanceMeasurer {
+public final class CyclicRTypeDistance
+    implements NormalizedPermutationDistanceMeasurer, DeltaPermutationDistanceMeasurer {
 
   /** Constructs the distance measurer as specified in the class documentation. */
   public CyclicRTypeDistance() {}
@@ -58,12 +60,57 @@ public final class CyclicRTypeDistance implements NormalizedPermutationDistanceM
     if (p1.length() != p2.length()) {
       throw new IllegalArgumentException("Permutations must be the same length");
     }
-    int countNonSharedEdges = 0;
+    return countNonSharedEdges(p1, successors(p2));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The successors of the elements of the reference permutation are computed once, so that
+   * computing each subsequent distance allocates no memory.
+   */
+  @Override
+  public PreparedPermutationDistance prepare(Permutation reference) {
+    final int[] successors1 = successors(reference);
+    return other -> {
+      if (other.length() != successors1.length) {
+        throw new IllegalArgumentException("Permutations must be the same length");
+      }
+      // This distance is symmetric, so count the edges of other that are not in the reference.
+      return countNonSharedEdges(other, successors1);
+    };
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The inverse of the reference permutation is computed once. Runtime of each subsequent delta:
+   * O(1), since only the edges at the ends of the segments rearranged by the move can change, with
+   * the exception of a {@link PermutationMove.Reversal}, which is O(m), where m is the number of
+   * positions reversed.
+   */
+  @Override
+  public PreparedDeltaDistance prepareDelta(Permutation reference) {
+    final int n = reference.length();
+    return new MoveDeltas.Edges(reference, true, true, (rx, ry) -> ry == (rx + 1 < n ? rx + 1 : 0));
+  }
+
+  @Override
+  public int max(int length) {
+    if (length <= 2) return 0;
+    return length;
+  }
+
+  private static int[] successors(Permutation p2) {
     int[] successors2 = new int[p2.length()];
     for (int i = 0; i < successors2.length; i++) {
       successors2[p2.get(i)] = p2.get(indexCyclicAdjustment(i + 1, successors2.length));
     }
+    return successors2;
+  }
 
+  private static int countNonSharedEdges(Permutation p1, int[] successors2) {
+    int countNonSharedEdges = 0;
     for (int i = 0; i < successors2.length; i++) {
       if (p1.get(indexCyclicAdjustment(i + 1, successors2.length)) != successors2[p1.get(i)]) {
         countNonSharedEdges++;
@@ -72,13 +119,7 @@ public final class CyclicRTypeDistance implements NormalizedPermutationDistanceM
     return countNonSharedEdges;
   }
 
-  @Override
-  public int max(int length) {
-    if (length <= 2) return 0;
-    return length;
-  }
-
-  private int indexCyclicAdjustment(int i, int length) {
+  private static int indexCyclicAdjustment(int i, int length) {
     return i < length ? i : 0;
   }
 }
@@ -0,0 +1,50 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations.distance;
+
+import org.cicirello.permutations.Permutation;
+import org.cicirello.permutations.PermutationMove;
+
+/**
+ * Implement this interface, DeltaPermutationDistanceMeasurer, to define a distance metric for
+ * permutations that can compute the change in the distance between a permutation and a reference
+ * permutation that a {@link PermutationMove} would cause, without applying the move and without
+ * recomputing the distance. This is useful in local search, such as when searching for a
+ * permutation at a target distance from a reference, where many candidate moves are evaluated for
+ * each move that is applied.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public interface DeltaPermutationDistanceMeasurer extends PermutationDistanceMeasurerDouble {
+
+  /**
+   * Prepares this distance measure for computing the change in the distance to a reference
+   * permutation that applying moves to other permutations would cause. Anything derived from the
+   * reference permutation, such as its inverse, is computed once by this method, which does not
+   * change the reference permutation, and is not affected by subsequent changes to it.
+   *
+   * @param reference The reference permutation.
+   * @return a prepared delta distance for the reference permutation
+   */
+  PreparedDeltaDistance prepareDelta(Permutation reference);
+}
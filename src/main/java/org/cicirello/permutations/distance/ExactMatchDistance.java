@@ -21,6 +21,7 @@
 package org.cicirello.permutations.distance;
 
 import org.cicirello.permutations.Permutation;
+import org.cicirello.permutations.PermutationMove;
 
 /**
  * Exact Match distance is an extension of Hamming distance but to non-binary strings, in this case,
@@ -36,7 +37,8 @@ import org.cicirello.permutations.Permutation;
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
  *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  */
-public final class ExactMatchDistance implements NormalizedPermutationDistanceMeasurer {
+public final class ExactMatchDistance
+    implements NormalizedPermutationDistanceMeasurer, DeltaPermutationDistanceMeasurer {
 
   /** Constructs the distance measurer as specified in the class documentation. */
   public ExactMatchDistance() {}
@@ -60,6 +62,18 @@ public final class ExactMatchDistance implements NormalizedPermutationDistanceMe
     return misMatchPoints;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The inverse of the reference permutation is computed once. Runtime of each subsequent delta:
+   * O(1) for a {@link PermutationMove.Swap}, and otherwise O(m), where m is the number of positions
+   * changed by the move.
+   */
+  @Override
+  public PreparedDeltaDistance prepareDelta(Permutation reference) {
+    return new MoveDeltas.Positional(reference, (r, k) -> r != k ? 1 : 0);
+  }
+
   @Override
   public int max(int length) {
     if (length <= 1) return 0;
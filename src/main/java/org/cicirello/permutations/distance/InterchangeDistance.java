@@ -1,6 +1,6 @@
 /*
  * JavaPermutationTools - A Java library for computation on permutations.
- * Copyright 2005-2024 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * JavaPermutationTools is free software: you can
  * redistribute it and/or modify it under the terms of the GNU
@@ -20,6 +20,7 @@
  */
 package org.cicirello.permutations.distance;
 
+import java.util.Arrays;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -55,9 +56,38 @@ public final class InterchangeDistance implements NormalizedPermutationDistanceM
     if (p1.length() != p2.length()) {
       throw new IllegalArgumentException("Permutations must be the same length");
     }
+    return countSwaps(p1, p1.getInverse(), p2, new boolean[p1.length()]);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The inverse of the reference permutation is computed once, and the prepared distance retains
+   * its scratch buffer, so that computing each subsequent distance allocates no memory.
+   */
+  @Override
+  public PreparedPermutationDistance prepare(Permutation reference) {
+    final Permutation p1 = new Permutation(reference);
+    final int[] invP1 = p1.getInverse();
+    final boolean[] used = new boolean[invP1.length];
+    return other -> {
+      if (other.length() != invP1.length) {
+        throw new IllegalArgumentException("Permutations must be the same length");
+      }
+      Arrays.fill(used, false);
+      return countSwaps(p1, invP1, other, used);
+    };
+  }
+
+  @Override
+  public int max(int length) {
+    if (length <= 1) return 0;
+    return length - 1;
+  }
+
+  private static int countSwaps(Permutation p1, int[] invP1, Permutation p2, boolean[] used) {
     int numSwaps = 0;
     int length = p1.length();
-    boolean[] used = new boolean[length];
     for (int k = 0; k < length; k++) {
       if (p1.get(k) == p2.get(k)) used[p1.get(k)] = true;
     }
@@ -70,7 +100,6 @@ public final class InterchangeDistance implements NormalizedPermutationDistanceM
     if (i >= used.length) return 0;
     int iLast = i;
 
-    int[] invP1 = p1.getInverse();
     boolean done = true;
     do {
       done = true;
@@ -93,10 +122,4 @@ public final class InterchangeDistance implements NormalizedPermutationDistanceM
     } while (!done);
     return numSwaps;
   }
-
-  @Override
-  public int max(int length) {
-    if (length <= 1) return 0;
-    return length - 1;
-  }
 }
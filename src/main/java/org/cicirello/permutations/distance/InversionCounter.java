@@ -0,0 +1,182 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations.distance;
+
+/**
+ * An InversionCounter counts the inversions in an array of ints, i.e., the number of pairs of
+ * indexes i &lt; j such that array[i] &gt; array[j]. It does so with an iterative, bottom-up
+ * mergesort that alternates between the array and a single scratch buffer. The scratch buffer is
+ * owned by the InversionCounter and is reused across calls, only growing if a longer array is
+ * encountered, so a caller that counts inversions repeatedly (e.g., computing {@link
+ * KendallTauDistance} within a loop) can do so without allocating any memory after the first call.
+ * See {@link KendallTauDistance#distancel(org.cicirello.permutations.Permutation,
+ * org.cicirello.permutations.Permutation, InversionCounter)} and {@link
+ * WeightedKendallTauDistance#distancef(org.cicirello.permutations.Permutation,
+ * org.cicirello.permutations.Permutation, InversionCounter)}.
+ *
+ * <p>Runtime: O(n lg n), where n is the array length.
+ *
+ * <p>An InversionCounter is not thread-safe. If you are counting inversions from multiple threads,
+ * then use a separate InversionCounter for each thread.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class InversionCounter {
+
+  /* Runs of this length are first sorted with insertion sort. */
+  private static final int RUN_LENGTH = 16;
+
+  private int[] scratch;
+  private int[] work;
+  private double[] weights;
+
+  /** Constructs an InversionCounter, whose scratch buffer is allocated upon first use. */
+  public InversionCounter() {
+    this(0);
+  }
+
+  /**
+   * Constructs an InversionCounter whose scratch buffer is sized for arrays of a specified length.
+   *
+   * @param capacity The initial capacity of the scratch buffer. If used for longer arrays, the
+   *     scratch buffer will be grown as necessary.
+   * @throws NegativeArraySizeException if capacity is negative
+   */
+  public InversionCounter(int capacity) {
+    scratch = new int[capacity];
+    work = new int[capacity];
+  }
+
+  /**
+   * Counts the inversions in an array, i.e., the number of pairs of indexes i &lt; j such that
+   * array[i] &gt; array[j]. As a side-effect, the array is sorted into ascending order.
+   *
+   * @param array The array, which is sorted by this method.
+   * @return the number of inversions in the array prior to sorting
+   */
+  public long countInversions(int[] array) {
+    return countInversions(array, scratch(array.length), 0, array.length);
+  }
+
+  /*
+   * Gets the scratch buffer, with length at least n.
+   */
+  int[] scratch(int n) {
+    if (scratch.length < n) {
+      scratch = new int[n];
+    }
+    return scratch;
+  }
+
+  /*
+   * Gets a second buffer, independent of the scratch buffer, with length at least n.
+   */
+  int[] work(int n) {
+    if (work.length < n) {
+      work = new int[n];
+    }
+    return work;
+  }
+
+  /*
+   * Gets a buffer of weights, with length at least n, which is allocated upon first use since only
+   * weighted inversion counts need it.
+   */
+  double[] weights(int n) {
+    if (weights == null || weights.length < n) {
+      weights = new double[n];
+    }
+    return weights;
+  }
+
+  /*
+   * Counts the inversions in array[from, to), using scratch[from, to) as the scratch buffer. Upon
+   * return, array[from, to) is sorted.
+   */
+  static long countInversions(int[] array, int[] scratch, int from, int to) {
+    long count = 0;
+    for (int lo = from; lo < to; lo += RUN_LENGTH) {
+      count += insertionSort(array, lo, Math.min(lo + RUN_LENGTH, to));
+    }
+    int[] src = array;
+    int[] dst = scratch;
+    for (int width = RUN_LENGTH; width < to - from; width <<= 1) {
+      for (int lo = from; lo < to; lo += width << 1) {
+        int mid = Math.min(lo + width, to);
+        int hi = Math.min(mid + width, to);
+        count += merge(src, dst, lo, mid, hi);
+      }
+      int[] temp = src;
+      src = dst;
+      dst = temp;
+    }
+    if (src != array) {
+      System.arraycopy(src, from, array, from, to - from);
+    }
+    return count;
+  }
+
+  /*
+   * Merges src[lo, mid) and src[mid, hi) into dst[lo, hi), returning the number of inversions
+   * between the two runs.
+   */
+  static long merge(int[] src, int[] dst, int lo, int mid, int hi) {
+    if (mid >= hi || src[mid - 1] <= src[mid]) {
+      System.arraycopy(src, lo, dst, lo, hi - lo);
+      return 0;
+    }
+    long count = 0;
+    int i = lo;
+    int j = mid;
+    int k = lo;
+    while (i < mid && j < hi) {
+      if (src[i] <= src[j]) {
+        dst[k] = src[i];
+        i++;
+      } else {
+        // inversions
+        count += mid - i;
+        dst[k] = src[j];
+        j++;
+      }
+      k++;
+    }
+    System.arraycopy(src, i, dst, k, mid - i);
+    System.arraycopy(src, j, dst, k, hi - j);
+    return count;
+  }
+
+  private static long insertionSort(int[] array, int lo, int hi) {
+    long count = 0;
+    for (int i = lo + 1; i < hi; i++) {
+      int current = array[i];
+      int j = i - 1;
+      for (; j >= lo && array[j] > current; j--) {
+        array[j + 1] = array[j];
+      }
+      count += i - 1 - j;
+      array[j + 1] = current;
+    }
+    return count;
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * JavaPermutationTools: A Java library for computation on permutations and sequences
- * Copyright 2005-2022 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -21,6 +21,7 @@
  */
 package org.cicirello.permutations.distance;
 
+import java.util.Arrays;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -73,7 +74,40 @@ public final class KCycleDistance implements NormalizedPermutationDistanceMeasur
     if (p1.length() != p2.length()) {
       throw new IllegalArgumentException("Permutations must be the same length");
     }
-    boolean[] used = new boolean[p1.length()];
+    return countCycles(p1, p1.getInverse(), p2, new boolean[p1.length()]);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The inverse of the reference permutation is computed once, and the prepared distance retains
+   * its scratch buffer, so that computing each subsequent distance allocates no memory.
+   */
+  @Override
+  public PreparedPermutationDistance prepare(Permutation reference) {
+    final Permutation p1 = new Permutation(reference);
+    final int[] invP1 = p1.getInverse();
+    final boolean[] used = new boolean[invP1.length];
+    return other -> {
+      if (other.length() != invP1.length) {
+        throw new IllegalArgumentException("Permutations must be the same length");
+      }
+      Arrays.fill(used, false);
+      return countCycles(p1, invP1, other, used);
+    };
+  }
+
+  @Override
+  public int max(int length) {
+    if (length != lastLength) {
+      lastLength = length;
+      precomputedMax =
+          Math.max(length >> 1, (int) Math.ceil((length - 1.0) / (maxCycleLength - 1.0)));
+    }
+    return precomputedMax;
+  }
+
+  private int countCycles(Permutation p1, int[] invP1, Permutation p2, boolean[] used) {
     for (int k = 0; k < used.length; k++) {
       if (p1.get(k) == p2.get(k)) {
         used[p1.get(k)] = true;
@@ -86,7 +120,6 @@ public final class KCycleDistance implements NormalizedPermutationDistanceMeasur
       }
     }
 
-    int[] invP1 = p1.getInverse();
     int cycleCount = 0;
     int iLast = i;
 
@@ -115,14 +148,4 @@ public final class KCycleDistance implements NormalizedPermutationDistanceMeasur
     }
     return cycleCount;
   }
-
-  @Override
-  public int max(int length) {
-    if (length != lastLength) {
-      lastLength = length;
-      precomputedMax =
-          Math.max(length >> 1, (int) Math.ceil((length - 1.0) / (maxCycleLength - 1.0)));
-    }
-    return precomputedMax;
-  }
 }
@@ -1,6 +1,6 @@
 /*
  * JavaPermutationTools - A Java library for computation on permutations.
- * Copyright 2005-2024 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * JavaPermutationTools is free software: you can
  * redistribute it and/or modify it under the terms of the GNU
@@ -20,8 +20,8 @@
  */
 package org.cicirello.permutations.distance;
 
-import java.util.Arrays;
 import org.cicirello.permutations.Permutation;
+import org.cicirello.permutations.PermutationMove;
 
 /**
  * Kendall Tau distance is sometimes also known as bubble sort distance, as it is the number of
@@ -40,7 +40,9 @@ import org.cicirello.permutations.Permutation;
  * does not normalize.
  *
  * <p>Runtime: O(n lg n), where n is the permutation length. This runtime is achieved using a
- * modified version of mergesort to count the inversions.
+ * modified version of mergesort to count the inversions. See {@link InversionCounter}, which can be
+ * passed to {@link #distancel(Permutation, Permutation, InversionCounter)} by callers who compute
+ * many distances and wish to avoid allocating buffers on each call.
  *
  * <p>Kendall Tau distance originally described in:<br>
  * M. G. Kendall, "A new measure of rank correlation," Biometrika, vol. 30, no. 1/2, pp. 81-93, June
@@ -49,7 +51,10 @@ import org.cicirello.permutations.Permutation;
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
  *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  */
-public final class KendallTauDistance implements NormalizedPermutationDistanceMeasurer {
+public final class KendallTauDistance
+    implements NormalizedPermutationDistanceMeasurer,
+        NormalizedLongPermutationDistanceMeasurer,
+        DeltaPermutationDistanceMeasurer {
 
   /** Constructs the distance measurer as specified in the class documentation. */
   public KendallTauDistance() {}
@@ -58,62 +63,156 @@ public final class KendallTauDistance implements NormalizedPermutationDistanceMe
    * {@inheritDoc}
    *
    * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   * @throws ArithmeticException if the distance exceeds the range of an int, which is possible for
+   *     permutations of length greater than 65536. Use {@link #distancel} for such permutations.
    */
   @Override
   public int distance(Permutation p1, Permutation p2) {
+    return Math.toIntExact(distancel(p1, p2));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   */
+  @Override
+  public long distancel(Permutation p1, Permutation p2) {
+    return distancel(p1, p2, new InversionCounter(p1.length()));
+  }
+
+  /**
+   * Measures the distance between two permutations, using the buffers of a caller supplied
+   * InversionCounter, rather than allocating new buffers. If the InversionCounter's buffers are
+   * already large enough for the permutations, then this method allocates no memory.
+   *
+   * @param p1 first permutation
+   * @param p2 second permutation
+   * @param workspace An InversionCounter whose buffers are used to relabel the permutations and to
+   *     count inversions.
+   * @return distance between p1 and p2
+   * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   */
+  public long distancel(Permutation p1, Permutation p2, InversionCounter workspace) {
     if (p1.length() != p2.length()) {
       throw new IllegalArgumentException("Permutations must be the same length");
     }
+    int n = p1.length();
 
     // use inverse of p1 as a relabeling
-    int[] invP1 = p1.getInverse();
+    int[] invP1 = workspace.scratch(n);
+    for (int i = 0; i < n; i++) {
+      invP1[p1.get(i)] = i;
+    }
 
     // relabel array copy of p2
-    int[] arrayP2 = new int[invP1.length];
-    for (int i = 0; i < arrayP2.length; i++) {
+    int[] arrayP2 = workspace.work(n);
+    for (int i = 0; i < n; i++) {
       arrayP2[i] = invP1[p2.get(i)];
     }
-    return countInversions(arrayP2, 0, arrayP2.length - 1);
+
+    // the inverse is no longer needed, so reuse it as the mergesort's scratch buffer
+    return InversionCounter.countInversions(arrayP2, invP1, 0, n);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   */
+  @Override
+  public double distancef(Permutation p1, Permutation p2) {
+    return distancel(p1, p2);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The inverse of the reference permutation is computed once, and the prepared distance retains
+   * an {@link InversionCounter}, so that computing each subsequent distance allocates no memory.
+   */
+  @Override
+  public PreparedPermutationDistance prepare(Permutation reference) {
+    return new Prepared(reference);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The inverse of the reference permutation is computed once. Runtime of each subsequent delta:
+   * O(m) for a {@link PermutationMove.Swap}, and otherwise O(m lg m), where m is the number of
+   * positions changed by the move, since only pairs of elements that are both within that range can
+   * change their relative order.
+   */
+  @Override
+  public PreparedDeltaDistance prepareDelta(Permutation reference) {
+    return new MoveDeltas.Inversions(reference);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @throws ArithmeticException if the maximum distance exceeds the range of an int, which is the
+   *     case for lengths greater than 65536. Use {@link #maxl} for such lengths.
+   */
   @Override
   public int max(int length) {
+    return Math.toIntExact(maxl(length));
+  }
+
+  @Override
+  public long maxl(int length) {
     if (length <= 1) return 0;
-    return (length * (length - 1)) >> 1;
+    return ((long) length * (length - 1)) >> 1;
   }
 
-  private int countInversions(int[] array, int first, int last) {
-    if (last <= first) {
-      return 0;
-    }
-    int m = (first + last) >> 1;
-    return countInversions(array, first, m)
-        + countInversions(array, m + 1, last)
-        + merge(array, first, m + 1, last + 1);
+  @Override
+  public double maxf(int length) {
+    return maxl(length);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   */
+  @Override
+  public double normalizedDistance(Permutation p1, Permutation p2) {
+    long m = maxl(p1.length());
+    if (m == 0) return 0;
+    return distancel(p1, p2) / ((double) m);
   }
 
-  private int merge(int[] array, int first, int midPlus, int lastPlus) {
-    int[] left = Arrays.copyOfRange(array, first, midPlus);
-    int[] right = Arrays.copyOfRange(array, midPlus, lastPlus);
-    int i = 0;
-    int j = 0;
-    int k = first;
-    int count = 0;
-    while (i < left.length && j < right.length) {
-      if (left[i] < right[j]) {
-        array[k] = left[i];
-        i++;
-        k++;
-      } else {
-        // inversions
-        count += (left.length - i);
-        array[k] = right[j];
-        j++;
-        k++;
+  private static final class Prepared implements PreparedPermutationDistance {
+
+    private final int[] invP1;
+    private final InversionCounter workspace;
+
+    Prepared(Permutation reference) {
+      invP1 = reference.getInverse();
+      workspace = new InversionCounter(invP1.length);
+    }
+
+    @Override
+    public int distance(Permutation other) {
+      return Math.toIntExact(distancel(other));
+    }
+
+    @Override
+    public double distancef(Permutation other) {
+      return distancel(other);
+    }
+
+    private long distancel(Permutation other) {
+      if (other.length() != invP1.length) {
+        throw new IllegalArgumentException("Permutations must be the same length");
+      }
+      int n = invP1.length;
+      int[] arrayP2 = workspace.work(n);
+      for (int i = 0; i < n; i++) {
+        arrayP2[i] = invP1[other.get(i)];
       }
+      return InversionCounter.countInversions(arrayP2, workspace.scratch(n), 0, n);
     }
-    System.arraycopy(left, i, array, k, left.length - i);
-    System.arraycopy(right, j, array, k, right.length - j);
-    return count;
   }
 }
@@ -1,6 +1,6 @@
 /*
  * JavaPermutationTools: A Java library for computation on permutations and sequences
- * Copyright 2005-2022 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -22,6 +22,7 @@
 package org.cicirello.permutations.distance;
 
 import org.cicirello.permutations.Permutation;
+import org.cicirello.permutations.PermutationMove;
 
 /**
  * Lee Distance is closely related to deviation distance. However, Lee Distance considers the
@@ -46,7 +47,10 @@ import org.cicirello.permutations.Permutation;
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
  *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  */
-public final class LeeDistance implements NormalizedPermutationDistanceMeasurer {
+public final class LeeDistance
+    implements NormalizedPermutationDistanceMeasurer,
+        NormalizedLongPermutationDistanceMeasurer,
+        DeltaPermutationDistanceMeasurer {
 
   /** Constructs the distance measurer as specified in the class documentation. */
   public LeeDistance() {}
@@ -55,14 +59,26 @@ public final class LeeDistance implements NormalizedPermutationDistanceMeasurer
    * {@inheritDoc}
    *
    * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   * @throws ArithmeticException if the distance exceeds the range of an int, which is possible for
+   *     permutations of length greater than 65535. Use {@link #distancel} for such permutations.
    */
   @Override
   public int distance(Permutation p1, Permutation p2) {
+    return Math.toIntExact(distancel(p1, p2));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   */
+  @Override
+  public long distancel(Permutation p1, Permutation p2) {
     if (p1.length() != p2.length()) {
       throw new IllegalArgumentException("Permutations must be the same length");
     }
     if (p1.length() <= 1) return 0;
-    int distancePoints = 0;
+    long distancePoints = 0;
     int[] invP1 = p1.getInverse();
     int[] invP2 = p2.getInverse();
 
@@ -74,9 +90,107 @@ public final class LeeDistance implements NormalizedPermutationDistanceMeasurer
     return distancePoints;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   */
+  @Override
+  public double distancef(Permutation p1, Permutation p2) {
+    return distancel(p1, p2);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The inverse of the reference permutation is computed once, so that computing each
+   * subsequent distance allocates no memory.
+   */
+  @Override
+  public PreparedPermutationDistance prepare(Permutation reference) {
+    return new Prepared(reference);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The inverse of the reference permutation is computed once. Runtime of each subsequent delta:
+   * O(1) for a {@link PermutationMove.Swap}, and otherwise O(m), where m is the number of positions
+   * changed by the move.
+   */
+  @Override
+  public PreparedDeltaDistance prepareDelta(Permutation reference) {
+    final int n = reference.length();
+    return new MoveDeltas.Positional(
+        reference,
+        (r, k) -> {
+          int dev = Math.abs(r - k);
+          return Math.min(dev, n - dev);
+        });
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws ArithmeticException if the maximum distance exceeds the range of an int, which is the
+   *     case for lengths greater than 65535. Use {@link #maxl} for such lengths.
+   */
   @Override
   public int max(int length) {
+    return Math.toIntExact(maxl(length));
+  }
+
+  @Override
+  public long maxl(int length) {
     if (length <= 1) return 0;
-    return length * (length >> 1);
+    return (long) length * (length >> 1);
+  }
+
+  @Override
+  public double maxf(int length) {
+    return maxl(length);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   */
+  @Override
+  public double normalizedDistance(Permutation p1, Permutation p2) {
+    long m = maxl(p1.length());
+    if (m == 0) return 0;
+    return distancel(p1, p2) / ((double) m);
+  }
+
+  private static final class Prepared implements PreparedPermutationDistance {
+
+    private final int[] invP1;
+
+    Prepared(Permutation reference) {
+      invP1 = reference.getInverse();
+    }
+
+    @Override
+    public int distance(Permutation other) {
+      return Math.toIntExact(distancel(other));
+    }
+
+    @Override
+    public double distancef(Permutation other) {
+      return distancel(other);
+    }
+
+    private long distancel(Permutation other) {
+      if (other.length() != invP1.length) {
+        throw new IllegalArgumentException("Permutations must be the same length");
+      }
+      long distancePoints = 0;
+      for (int i = 0; i < invP1.length; i++) {
+        int dev = Math.abs(invP1[other.get(i)] - i);
+        distancePoints += Math.min(dev, invP1.length - dev);
+      }
+      return distancePoints;
+    }
   }
 }
@@ -0,0 +1,54 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations.distance;
+
+import org.cicirello.permutations.Permutation;
+
+/**
+ * Implement this interface, LongPermutationDistanceMeasurer, to define a distance metric for
+ * permutations whose values may exceed the range of an int for long permutations, such as metrics
+ * whose maximum grows quadratically or cubically in the permutation length.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public interface LongPermutationDistanceMeasurer extends PermutationDistanceMeasurerDouble {
+  /**
+   * Measures the distance between two permutations.
+   *
+   * @param p1 first permutation
+   * @param p2 second permutation
+   * @return distance between p1 and p2
+   * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   */
+  long distancel(Permutation p1, Permutation p2);
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   */
+  @Override
+  default double distancef(Permutation p1, Permutation p2) {
+    return distancel(p1, p2);
+  }
+}
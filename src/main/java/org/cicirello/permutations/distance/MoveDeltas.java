@@ -0,0 +1,387 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations.distance;
+
+import org.cicirello.permutations.Permutation;
+import org.cicirello.permutations.PermutationMove;
+
+/*
+ * Implementations of PreparedDeltaDistance. Each move is first converted to a Layout: the range of
+ * indexes that it changes, and the order in which it rearranges the segments of that range. Every
+ * move of PermutationMove rearranges at most three segments, only reversing a segment in the case
+ * of a Reversal. Each prepared delta distance holds a copy of the inverse of the reference
+ * permutation, and a Layout and any other buffers that it reuses for every move, so that computing
+ * a delta allocates no memory.
+ */
+final class MoveDeltas {
+
+  private MoveDeltas() {}
+
+  /*
+   * The cost of an element at an index, for a distance that is a sum of such costs, given the
+   * index of the element in the reference permutation.
+   */
+  @FunctionalInterface
+  interface PositionCost {
+    long cost(int referenceIndex, int index);
+  }
+
+  /*
+   * Tests whether the reference permutation contains an edge from x to y, given the indexes of x
+   * and y in the reference permutation.
+   */
+  @FunctionalInterface
+  interface EdgeTest {
+    boolean shared(int referenceIndexX, int referenceIndexY);
+  }
+
+  /*
+   * Base class of the prepared delta distances, holding the inverse of the reference permutation
+   * and the reusable Layout.
+   */
+  private abstract static class Prepared implements PreparedDeltaDistance {
+
+    final int[] inverse;
+    final Layout m;
+
+    Prepared(Permutation reference) {
+      inverse = reference.getInverse();
+      m = new Layout();
+    }
+
+    @Override
+    public final long deltaDistance(Permutation current, PermutationMove move) {
+      if (current.length() != inverse.length) {
+        throw new IllegalArgumentException("Permutations must be the same length");
+      }
+      m.set(move, inverse.length);
+      return m.count == 0 ? 0 : delta(current);
+    }
+
+    /* The delta for the move whose layout is m, which changes at least one index. */
+    abstract long delta(Permutation current);
+  }
+
+  /*
+   * The change in a distance that is the sum of the costs of the elements at their indexes, which
+   * is O(1) for a swap, and otherwise proportional to the number of elements moved.
+   */
+  static final class Positional extends Prepared {
+
+    private final PositionCost cost;
+
+    Positional(Permutation reference, PositionCost cost) {
+      super(reference);
+      this.cost = cost;
+    }
+
+    @Override
+    long delta(Permutation current) {
+      long delta = 0;
+      int k = m.low;
+      for (int s = 0; s < m.count; s++) {
+        int length = m.ends[s] - m.starts[s] + 1;
+        if (m.reversed || m.starts[s] != k) {
+          int step = m.reversed ? -1 : 1;
+          int source = m.reversed ? m.ends[s] : m.starts[s];
+          for (int t = 0; t < length; t++, k++, source += step) {
+            delta +=
+                cost.cost(inverse[current.get(source)], k) - cost.cost(inverse[current.get(k)], k);
+          }
+        } else {
+          // segment stays in place
+          k += length;
+        }
+      }
+      return delta;
+    }
+  }
+
+  /*
+   * The change in a distance that counts the edges of current that are not edges of the reference.
+   * Only the edges at the boundaries of the rearranged segments change, other than the reversed
+   * edges within a reversed segment, which only matter for directed edges. Thus, this is O(1)
+   * other than for a reversal with directed edges.
+   */
+  static final class Edges extends Prepared {
+
+    private final boolean cyclic;
+    private final boolean directed;
+    private final EdgeTest test;
+
+    Edges(Permutation reference, boolean cyclic, boolean directed, EdgeTest test) {
+      super(reference);
+      this.cyclic = cyclic;
+      this.directed = directed;
+      this.test = test;
+    }
+
+    @Override
+    long delta(Permutation current) {
+      final int n = inverse.length;
+      long delta = 0;
+      int first = current.get(m.first(0));
+      int last = current.get(m.last(m.count - 1));
+      // edges at the ends of the changed range
+      if (cyclic && m.low == 0 && m.high == n - 1) {
+        delta += nonShared(last, first) - nonShared(current.get(n - 1), current.get(0));
+      } else {
+        if (m.low > 0 || cyclic) {
+          int before = current.get(m.low > 0 ? m.low - 1 : n - 1);
+          delta += nonShared(before, first) - nonShared(before, current.get(m.low));
+        }
+        if (m.high < n - 1 || cyclic) {
+          int after = current.get(m.high < n - 1 ? m.high + 1 : 0);
+          delta += nonShared(last, after) - nonShared(current.get(m.high), after);
+        }
+      }
+      // edges between segments, where the range is cut and rejoined
+      for (int s = 0; s < m.count; s++) {
+        if (m.ends[s] != m.high) {
+          delta -= nonShared(current.get(m.ends[s]), current.get(m.ends[s] + 1));
+        }
+        if (s + 1 < m.count) {
+          delta += nonShared(current.get(m.last(s)), current.get(m.first(s + 1)));
+        }
+      }
+      if (directed && m.reversed) {
+        for (int k = m.low; k < m.high; k++) {
+          int x = current.get(k);
+          int y = current.get(k + 1);
+          delta += nonShared(y, x) - nonShared(x, y);
+        }
+      }
+      return delta;
+    }
+
+    private int nonShared(int x, int y) {
+      return test.shared(inverse[x], inverse[y]) ? 0 : 1;
+    }
+  }
+
+  /*
+   * The change in the number of inversions of current relative to the reference, i.e., Kendall tau
+   * distance. Only pairs of elements that are both within the changed range of length m can
+   * change. A reversal inverts every pair of the range, so its delta is m(m-1)/2 less twice the
+   * inversions of the range, which are counted in O(m log m). Every other move reverses the order
+   * of its segments, so only the pairs of elements from different segments change, and its delta is
+   * the number of such pairs less twice the number of them that are inversions prior to the move.
+   * These are counted in O(m) if one of the segments is a single element, such as for a swap or an
+   * insertion, and otherwise by sorting each segment and merging each pair of segments, in O(m log
+   * m), in the buffers of a retained InversionCounter.
+   */
+  static final class Inversions extends Prepared {
+
+    private final InversionCounter workspace;
+
+    Inversions(Permutation reference) {
+      super(reference);
+      workspace = new InversionCounter();
+    }
+
+    @Override
+    long delta(Permutation current) {
+      if (m.swap) {
+        int x = inverse[current.get(m.low)];
+        int y = inverse[current.get(m.high)];
+        int lo = Math.min(x, y);
+        int hi = Math.max(x, y);
+        long between = 0;
+        for (int k = m.low + 1; k < m.high; k++) {
+          int z = inverse[current.get(k)];
+          if (z > lo && z < hi) between++;
+        }
+        return x < y ? 1 + 2 * between : -1 - 2 * between;
+      }
+      if (m.count == 2 && (m.starts[0] == m.ends[0] || m.starts[1] == m.ends[1])) {
+        return deltaOfSingle(current);
+      }
+      final int length = m.high - m.low + 1;
+      int[] ranks = workspace.work(length);
+      int[] scratch = workspace.scratch(length);
+      for (int k = 0; k < length; k++) {
+        ranks[k] = inverse[current.get(m.low + k)];
+      }
+      if (m.reversed) {
+        long inversions = InversionCounter.countInversions(ranks, scratch, 0, length);
+        return (long) length * (length - 1) / 2 - 2 * inversions;
+      }
+      for (int s = 0; s < m.count; s++) {
+        InversionCounter.countInversions(ranks, scratch, from(s), to(s));
+      }
+      long delta = 0;
+      // the segments are in their order after the move, so segment t precedes segment s before it
+      for (int s = 0; s < m.count; s++) {
+        for (int t = s + 1; t < m.count; t++) {
+          long pairs = (long) (to(s) - from(s)) * (to(t) - from(t));
+          delta += pairs - 2 * crossInversions(ranks, from(t), to(t), from(s), to(s));
+        }
+      }
+      return delta;
+    }
+
+    /* The start of segment s, relative to the start of the changed range. */
+    private int from(int s) {
+      return m.starts[s] - m.low;
+    }
+
+    /* The end, exclusive, of segment s, relative to the start of the changed range. */
+    private int to(int s) {
+      return m.ends[s] - m.low + 1;
+    }
+
+    /*
+     * The delta of a move of two segments, at least one of which is a single element, which only
+     * changes the order of that element relative to each element of the other segment.
+     */
+    private long deltaOfSingle(Permutation current) {
+      int single = m.starts[0] == m.ends[0] ? 0 : 1;
+      int other = 1 - single;
+      int x = inverse[current.get(m.starts[single])];
+      // the single element precedes the other segment before the move if it is last after it
+      boolean precedes = single == 1;
+      long inversions = 0;
+      for (int k = m.starts[other]; k <= m.ends[other]; k++) {
+        int y = inverse[current.get(k)];
+        if (precedes ? y < x : y > x) inversions++;
+      }
+      return m.ends[other] - m.starts[other] + 1 - 2 * inversions;
+    }
+
+    /*
+     * The number of pairs of an element of sorted[aFrom, aTo) and an element of sorted[bFrom, bTo)
+     * such that the first is greater, where both ranges are sorted.
+     */
+    private static long crossInversions(int[] sorted, int aFrom, int aTo, int bFrom, int bTo) {
+      long count = 0;
+      int j = bFrom;
+      for (int i = aFrom; i < aTo; i++) {
+        while (j < bTo && sorted[j] < sorted[i]) {
+          j++;
+        }
+        count += j - bFrom;
+      }
+      return count;
+    }
+  }
+
+  /*
+   * The changed range, low through high, of a move, as a sequence of segments of the indexes of
+   * the permutation prior to the move, in their order after the move. A Layout is reused for
+   * every move by setting it to the move.
+   */
+  static final class Layout {
+    int low;
+    int high;
+    int count;
+    final int[] starts = new int[3];
+    final int[] ends = new int[3];
+    boolean reversed;
+    boolean swap;
+
+    /* The index, prior to the move, of the first element of segment s after the move. */
+    int first(int s) {
+      return reversed ? ends[s] : starts[s];
+    }
+
+    /* The index, prior to the move, of the last element of segment s after the move. */
+    int last(int s) {
+      return reversed ? starts[s] : ends[s];
+    }
+
+    /*
+     * Sets this Layout to that of a move of a permutation of length n, which is empty if the move
+     * does not change the permutation. The move is validated first, such that a move that is not
+     * valid for length n is rejected even if it would not change a permutation.
+     */
+    void set(PermutationMove move, int n) {
+      if (!move.isValidFor(n)) {
+        throw new IllegalArgumentException("The move is not valid for the permutation length");
+      }
+      count = 0;
+      reversed = false;
+      swap = false;
+      switch (move) {
+        case PermutationMove.Swap(int i, int j) -> {
+          if (i != j) {
+            range(Math.min(i, j), Math.max(i, j));
+            swap = true;
+            segment(high, high);
+            segment(low + 1, high - 1);
+            segment(low, low);
+          }
+        }
+        case PermutationMove.Reversal(int i, int j) -> {
+          if (i != j) {
+            range(Math.min(i, j), Math.max(i, j));
+            reversed = true;
+            segment(low, high);
+          }
+        }
+        case PermutationMove.Insertion(int i, int j) -> insertion(i, 1, j);
+        case PermutationMove.BlockInsertion(int i, int size, int j) -> {
+          if (size > 0) insertion(i, size, j);
+        }
+        case PermutationMove.BlockSwap(int a, int b, int i, int j) -> {
+          range(a, j);
+          segment(i, j);
+          segment(b + 1, i - 1);
+          segment(a, b);
+        }
+        case PermutationMove.Rotation(int numPositions) -> {
+          int k = n > 0 ? Math.floorMod(numPositions, n) : 0;
+          if (k != 0) {
+            range(0, n - 1);
+            segment(k, n - 1);
+            segment(0, k - 1);
+          }
+        }
+      }
+    }
+
+    private void insertion(int i, int size, int j) {
+      if (i < j) {
+        range(i, j + size - 1);
+        segment(i + size, j + size - 1);
+        segment(i, i + size - 1);
+      } else if (i > j) {
+        range(j, i + size - 1);
+        segment(i, i + size - 1);
+        segment(j, i - 1);
+      }
+    }
+
+    private void range(int low, int high) {
+      this.low = low;
+      this.high = high;
+    }
+
+    /* Appends a segment, unless it is empty. */
+    private void segment(int start, int end) {
+      if (start <= end) {
+        starts[count] = start;
+        ends[count] = end;
+        count++;
+      }
+    }
+  }
+}
@@ -0,0 +1,400 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations.distance;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import org.cicirello.permutations.Permutation;
+
+/**
+ * A parallel implementation of Kendall tau distance for very long permutations. Kendall tau
+ * distance is the number of pairs of elements whose order is inverted in one permutation relative
+ * to the other. See {@link KendallTauDistance} for a sequential implementation, and for a more
+ * detailed description of the distance itself. The two compute identical distances.
+ *
+ * <p>This implementation relabels the permutations in parallel, and then counts inversions with a
+ * parallel mergesort using a {@link ForkJoinPool}. The two halves of each subarray are sorted
+ * concurrently, and the merging of the two halves, and the counting of the inversions that cross
+ * between them, is itself parallelized by splitting the larger half at its midpoint and binary
+ * searching the other half for the corresponding split point. Subproblems that are smaller than a
+ * configurable threshold are solved with the sequential algorithm of {@link InversionCounter}, and
+ * permutations that are shorter than the threshold are handled entirely sequentially.
+ *
+ * <p>Runtime: O(n lg n) total work, where n is the permutation length, with O(lg^3 n) span.
+ *
+ * <p>Kendall Tau distance originally described in:<br>
+ * M. G. Kendall, "A new measure of rank correlation," Biometrika, vol. 30, no. 1/2, pp. 81-93, June
+ * 1938.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class ParallelKendallTauDistance
+    implements NormalizedPermutationDistanceMeasurer, NormalizedLongPermutationDistanceMeasurer {
+
+  /** The default threshold below which the sequential algorithm is used. */
+  public static final int DEFAULT_THRESHOLD = 1 << 14;
+
+  private final ForkJoinPool pool;
+  private final int threshold;
+
+  /**
+   * Constructs the distance measurer, using the {@link ForkJoinPool#commonPool() common pool} and
+   * the {@link #DEFAULT_THRESHOLD default threshold}.
+   */
+  public ParallelKendallTauDistance() {
+    this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * Constructs the distance measurer, using the {@link ForkJoinPool#commonPool() common pool}.
+   *
+   * @param threshold Subproblems smaller than this are solved sequentially, as are entire distance
+   *     computations for permutations shorter than this.
+   * @throws IllegalArgumentException if threshold is less than 2
+   */
+  public ParallelKendallTauDistance(int threshold) {
+    this(ForkJoinPool.commonPool(), threshold);
+  }
+
+  /**
+   * Constructs the distance measurer.
+   *
+   * @param pool The ForkJoinPool to use for the parallel computation.
+   * @param threshold Subproblems smaller than this are solved sequentially, as are entire distance
+   *     computations for permutations shorter than this.
+   * @throws IllegalArgumentException if threshold is less than 2
+   * @throws NullPointerException if pool is null
+   */
+  public ParallelKendallTauDistance(ForkJoinPool pool, int threshold) {
+    if (threshold < 2) {
+      throw new IllegalArgumentException("threshold must be at least 2");
+    }
+    if (pool == null) {
+      throw new NullPointerException("pool must not be null");
+    }
+    this.pool = pool;
+    this.threshold = threshold;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   * @throws ArithmeticException if the distance exceeds the range of an int, which is possible for
+   *     permutations of length greater than 65536. Use {@link #distancel} for such permutations.
+   */
+  @Override
+  public int distance(Permutation p1, Permutation p2) {
+    return Math.toIntExact(distancel(p1, p2));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   */
+  @Override
+  public long distancel(Permutation p1, Permutation p2) {
+    if (p1.length() != p2.length()) {
+      throw new IllegalArgumentException("Permutations must be the same length");
+    }
+    int n = p1.length();
+    if (n < threshold) {
+      return new KendallTauDistance().distancel(p1, p2, new InversionCounter(n));
+    }
+    int[] invP1 = new int[n];
+    int[] arrayP2 = new int[n];
+    pool.invoke(new Inverse(p1, invP1, 0, n, threshold));
+    pool.invoke(new Relabel(p2, invP1, arrayP2, 0, n, threshold));
+    return pool.invoke(new Sort(arrayP2, invP1, 0, n, false, threshold));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   */
+  @Override
+  public double distancef(Permutation p1, Permutation p2) {
+    return distancel(p1, p2);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws ArithmeticException if the maximum distance exceeds the range of an int, which is the
+   *     case for lengths greater than 65536. Use {@link #maxl} for such lengths.
+   */
+  @Override
+  public int max(int length) {
+    return Math.toIntExact(maxl(length));
+  }
+
+  @Override
+  public long maxl(int length) {
+    if (length <= 1) return 0;
+    return ((long) length * (length - 1)) >> 1;
+  }
+
+  @Override
+  public double maxf(int length) {
+    return maxl(length);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   */
+  @Override
+  public double normalizedDistance(Permutation p1, Permutation p2) {
+    long m = maxl(p1.length());
+    if (m == 0) return 0;
+    return distancel(p1, p2) / ((double) m);
+  }
+
+  /*
+   * Relabels p2 in parallel using the inverse of p1.
+   */
+  private static final class Relabel extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Permutation p2;
+    private final int[] invP1;
+    private final int[] arrayP2;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    Relabel(Permutation p2, int[] invP1, int[] arrayP2, int from, int to, int threshold) {
+      this.p2 = p2;
+      this.invP1 = invP1;
+      this.arrayP2 = arrayP2;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= threshold) {
+        for (int i = from; i < to; i++) {
+          arrayP2[i] = invP1[p2.get(i)];
+        }
+      } else {
+        int mid = (from + to) >>> 1;
+        invokeAll(
+            new Relabel(p2, invP1, arrayP2, from, mid, threshold),
+            new Relabel(p2, invP1, arrayP2, mid, to, threshold));
+      }
+    }
+  }
+
+  /*
+   * Computes the inverse of a permutation in parallel.
+   */
+  private static final class Inverse extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Permutation p;
+    private final int[] inverse;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    Inverse(Permutation p, int[] inverse, int from, int to, int threshold) {
+      this.p = p;
+      this.inverse = inverse;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= threshold) {
+        for (int i = from; i < to; i++) {
+          inverse[p.get(i)] = i;
+        }
+      } else {
+        int mid = (from + to) >>> 1;
+        invokeAll(
+            new Inverse(p, inverse, from, mid, threshold),
+            new Inverse(p, inverse, mid, to, threshold));
+      }
+    }
+  }
+
+  /*
+   * Sorts a[from, to), counting inversions, with the sorted result placed either in b[from, to) or
+   * back into a[from, to). Recursive calls alternate between the two arrays, so that each level
+   * merges from one array into the other without an extra copy.
+   */
+  private static final class Sort extends RecursiveTask<Long> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int[] a;
+    private final int[] b;
+    private final int from;
+    private final int to;
+    private final boolean resultInB;
+    private final int threshold;
+
+    Sort(int[] a, int[] b, int from, int to, boolean resultInB, int threshold) {
+      this.a = a;
+      this.b = b;
+      this.from = from;
+      this.to = to;
+      this.resultInB = resultInB;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected Long compute() {
+      if (to - from <= threshold) {
+        long count = InversionCounter.countInversions(a, b, from, to);
+        if (resultInB) {
+          System.arraycopy(a, from, b, from, to - from);
+        }
+        return count;
+      }
+      int mid = (from + to) >>> 1;
+      Sort left = new Sort(a, b, from, mid, !resultInB, threshold);
+      Sort right = new Sort(a, b, mid, to, !resultInB, threshold);
+      right.fork();
+      long count = left.compute() + right.join();
+      int[] src = resultInB ? a : b;
+      int[] dst = resultInB ? b : a;
+      return count + new Merge(src, dst, from, mid, mid, to, from, threshold).compute();
+    }
+  }
+
+  /*
+   * Merges src[l1, h1) and src[l2, h2) into dst beginning at index k, counting the inversions
+   * between the two runs, i.e., the number of pairs x from the first run and y from the second run
+   * such that x > y.
+   */
+  private static final class Merge extends RecursiveTask<Long> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int[] src;
+    private final int[] dst;
+    private final int l1;
+    private final int h1;
+    private final int l2;
+    private final int h2;
+    private final int k;
+    private final int threshold;
+
+    Merge(int[] src, int[] dst, int l1, int h1, int l2, int h2, int k, int threshold) {
+      this.src = src;
+      this.dst = dst;
+      this.l1 = l1;
+      this.h1 = h1;
+      this.l2 = l2;
+      this.h2 = h2;
+      this.k = k;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected Long compute() {
+      int n1 = h1 - l1;
+      int n2 = h2 - l2;
+      if (n1 + n2 <= threshold || n1 == 0 || n2 == 0) {
+        return sequentialMerge();
+      }
+      // Split the longer run at its midpoint, and binary search the other run for the matching
+      // split point. Every element of the high part of the first run is greater than every
+      // element of the low part of the second run, so all of those pairs are inversions, and no
+      // other pair crosses between the two subproblems.
+      int i;
+      int j;
+      if (n1 >= n2) {
+        i = (l1 + h1) >>> 1;
+        j = lowerBound(src, l2, h2, src[i]);
+      } else {
+        j = (l2 + h2) >>> 1;
+        i = upperBound(src, l1, h1, src[j]);
+      }
+      long crossing = (long) (h1 - i) * (j - l2);
+      Merge low = new Merge(src, dst, l1, i, l2, j, k, threshold);
+      Merge high = new Merge(src, dst, i, h1, j, h2, k + (i - l1) + (j - l2), threshold);
+      high.fork();
+      return crossing + low.compute() + high.join();
+    }
+
+    private long sequentialMerge() {
+      long count = 0;
+      int i = l1;
+      int j = l2;
+      int m = k;
+      while (i < h1 && j < h2) {
+        if (src[i] <= src[j]) {
+          dst[m] = src[i];
+          i++;
+        } else {
+          // inversions
+          count += h1 - i;
+          dst[m] = src[j];
+          j++;
+        }
+        m++;
+      }
+      System.arraycopy(src, i, dst, m, h1 - i);
+      System.arraycopy(src, j, dst, m + h1 - i, h2 - j);
+      return count;
+    }
+
+    /* First index in array[from, to) whose element is not less than key. */
+    private static int lowerBound(int[] array, int from, int to, int key) {
+      while (from < to) {
+        int mid = (from + to) >>> 1;
+        if (array[mid] < key) {
+          from = mid + 1;
+        } else {
+          to = mid;
+        }
+      }
+      return from;
+    }
+
+    /* First index in array[from, to) whose element is greater than key. */
+    private static int upperBound(int[] array, int from, int to, int key) {
+      while (from < to) {
+        int mid = (from + to) >>> 1;
+        if (array[mid] <= key) {
+          from = mid + 1;
+        } else {
+          to = mid;
+        }
+      }
+      return from;
+    }
+  }
+}
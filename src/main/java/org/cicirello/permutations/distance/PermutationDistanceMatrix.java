@@ -0,0 +1,501 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations.distance;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import org.cicirello.permutations.Permutation;
+
+/**
+ * A matrix of the pairwise distances among a population of permutations, along with summary
+ * statistics (minimum, maximum, mean, and a histogram) of those distances. The matrix is computed
+ * in parallel with a {@link ForkJoinPool}, either the common pool or one supplied by the caller, by
+ * the static {@code compute} methods, which can use any {@link PermutationDistanceMeasurerDouble}.
+ *
+ * <p>The computation is tiled: each fork-join task is responsible for a block of rows, for which it
+ * {@link PermutationDistanceMeasurerDouble#prepare prepares} the distance measure once per row,
+ * and then sweeps across the columns in tiles, so that each permutation of a column tile is reused
+ * by every row of the block while it is still in cache. Each task accumulates the statistics of the
+ * distances that it computes, so that the statistics are available without a second scan of the
+ * matrix.
+ *
+ * <p>For symmetric distance measures, which includes all of the distance metrics in this package
+ * other than {@link EditDistance} with asymmetric costs, only the upper triangle of the matrix is
+ * computed, and it is stored in packed form, requiring n(n-1)/2 entries for a population of n
+ * permutations. For asymmetric distance measures, the full matrix is computed and stored. In both
+ * cases, the entries on the diagonal are assumed to be 0 and are not computed, nor are they
+ * included in the statistics. The entries are stored as ints, floats, or doubles, as specified by a
+ * {@link Precision}.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class PermutationDistanceMatrix {
+
+  /** The default number of bins in the histogram of distances. */
+  public static final int DEFAULT_HISTOGRAM_BINS = 20;
+
+  /* Number of rows in a block processed by a single task. */
+  private static final int ROW_BLOCK = 16;
+
+  /* Number of columns swept per tile within a block of rows. */
+  private static final int COLUMN_TILE = 64;
+
+  /** The type used to store the entries of the distance matrix. */
+  public enum Precision {
+    /**
+     * Entries are stored as ints, which requires an integer-valued distance measure, i.e., a
+     * {@link PermutationDistanceMeasurer}.
+     */
+    INT,
+    /** Entries are stored as floats. */
+    FLOAT,
+    /** Entries are stored as doubles. */
+    DOUBLE
+  }
+
+  private final int n;
+  private final boolean symmetric;
+  private final Precision precision;
+  private final int[] ints;
+  private final float[] floats;
+  private final double[] doubles;
+  private final double min;
+  private final double max;
+  private final double mean;
+  private final long[] histogram;
+  private final double binWidth;
+
+  private PermutationDistanceMatrix(
+      int n, boolean symmetric, Precision precision, int bins, double upperBound) {
+    this.n = n;
+    this.symmetric = symmetric;
+    this.precision = precision;
+    long entries = symmetric ? (long) n * (n - 1) / 2 : (long) n * n;
+    if (entries > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Too many permutations for a single distance matrix.");
+    }
+    int size = (int) entries;
+    ints = precision == Precision.INT ? new int[size] : null;
+    floats = precision == Precision.FLOAT ? new float[size] : null;
+    doubles = precision == Precision.DOUBLE ? new double[size] : null;
+    binWidth = upperBound / bins;
+    histogram = new long[bins];
+    min = max = mean = 0;
+  }
+
+  private PermutationDistanceMatrix(PermutationDistanceMatrix m, Stats stats) {
+    n = m.n;
+    symmetric = m.symmetric;
+    precision = m.precision;
+    ints = m.ints;
+    floats = m.floats;
+    doubles = m.doubles;
+    binWidth = m.binWidth;
+    histogram = stats.histogram;
+    if (stats.count > 0) {
+      min = stats.min;
+      max = stats.max;
+      mean = stats.sum / stats.count;
+    } else {
+      min = max = mean = Double.NaN;
+    }
+  }
+
+  /**
+   * Computes the matrix of pairwise distances among a population of permutations, assuming that the
+   * distance measure is symmetric. The entries are stored as ints if the distance measure is a
+   * {@link PermutationDistanceMeasurer}, and otherwise as doubles. The histogram has {@link
+   * #DEFAULT_HISTOGRAM_BINS} bins spanning the interval from 0 to the maximum distance for the
+   * length of the permutations.
+   *
+   * @param d The distance measure, which must be a {@link
+   *     NormalizedPermutationDistanceMeasurerDouble} so that the range of the histogram is known.
+   * @param permutations The population of permutations, which must all be the same length.
+   * @return the distance matrix
+   * @throws IllegalArgumentException if the permutations are not all the same length, or if there
+   *     are too many permutations for the matrix to be stored in a single array.
+   */
+  public static PermutationDistanceMatrix compute(
+      NormalizedPermutationDistanceMeasurerDouble d, Permutation[] permutations) {
+    return compute(
+        d,
+        permutations,
+        d instanceof PermutationDistanceMeasurer ? Precision.INT : Precision.DOUBLE,
+        true,
+        DEFAULT_HISTOGRAM_BINS);
+  }
+
+  /**
+   * Computes the matrix of pairwise distances among a population of permutations. The histogram
+   * spans the interval from 0 to the maximum distance for the length of the permutations.
+   *
+   * @param d The distance measure, which must be a {@link
+   *     NormalizedPermutationDistanceMeasurerDouble} so that the range of the histogram is known.
+   * @param permutations The population of permutations, which must all be the same length.
+   * @param precision The type used to store the entries.
+   * @param symmetric If true, the distance measure is assumed to be symmetric, and only the upper
+   *     triangle of the matrix is computed and stored.
+   * @param histogramBins The number of bins in the histogram.
+   * @return the distance matrix
+   * @throws IllegalArgumentException if the permutations are not all the same length, if
+   *     histogramBins is less than 1, if precision is INT but d is not a {@link
+   *     PermutationDistanceMeasurer}, or if there are too many permutations for the matrix to be
+   *     stored in a single array.
+   */
+  public static PermutationDistanceMatrix compute(
+      NormalizedPermutationDistanceMeasurerDouble d,
+      Permutation[] permutations,
+      Precision precision,
+      boolean symmetric,
+      int histogramBins) {
+    double upperBound = permutations.length > 0 ? d.maxf(permutations[0].length()) : 0;
+    return compute(d, permutations, precision, symmetric, histogramBins, upperBound);
+  }
+
+  /**
+   * Computes the matrix of pairwise distances among a population of permutations, using the common
+   * {@link ForkJoinPool}.
+   *
+   * @param d The distance measure.
+   * @param permutations The population of permutations, which must all be the same length.
+   * @param precision The type used to store the entries.
+   * @param symmetric If true, the distance measure is assumed to be symmetric, and only the upper
+   *     triangle of the matrix is computed and stored.
+   * @param histogramBins The number of bins in the histogram.
+   * @param histogramUpperBound The histogram's bins evenly divide the interval from 0 to
+   *     histogramUpperBound. Any distances greater than this are counted in the last bin.
+   * @return the distance matrix
+   * @throws IllegalArgumentException if the permutations are not all the same length, if
+   *     histogramBins is less than 1, if precision is INT but d is not a {@link
+   *     PermutationDistanceMeasurer}, or if there are too many permutations for the matrix to be
+   *     stored in a single array.
+   */
+  public static PermutationDistanceMatrix compute(
+      PermutationDistanceMeasurerDouble d,
+      Permutation[] permutations,
+      Precision precision,
+      boolean symmetric,
+      int histogramBins,
+      double histogramUpperBound) {
+    return compute(
+        d,
+        permutations,
+        precision,
+        symmetric,
+        histogramBins,
+        histogramUpperBound,
+        ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Computes the matrix of pairwise distances among a population of permutations, using the
+   * specified {@link ForkJoinPool}.
+   *
+   * @param d The distance measure.
+   * @param permutations The population of permutations, which must all be the same length.
+   * @param precision The type used to store the entries.
+   * @param symmetric If true, the distance measure is assumed to be symmetric, and only the upper
+   *     triangle of the matrix is computed and stored.
+   * @param histogramBins The number of bins in the histogram.
+   * @param histogramUpperBound The histogram's bins evenly divide the interval from 0 to
+   *     histogramUpperBound. Any distances greater than this are counted in the last bin.
+   * @param pool The pool that runs the tasks of the computation.
+   * @return the distance matrix
+   * @throws IllegalArgumentException if the permutations are not all the same length, if
+   *     histogramBins is less than 1, if precision is INT but d is not a {@link
+   *     PermutationDistanceMeasurer}, or if there are too many permutations for the matrix to be
+   *     stored in a single array.
+   */
+  public static PermutationDistanceMatrix compute(
+      PermutationDistanceMeasurerDouble d,
+      Permutation[] permutations,
+      Precision precision,
+      boolean symmetric,
+      int histogramBins,
+      double histogramUpperBound,
+      ForkJoinPool pool) {
+    if (histogramBins < 1) {
+      throw new IllegalArgumentException("histogramBins must be positive");
+    }
+    if (precision == Precision.INT && !(d instanceof PermutationDistanceMeasurer)) {
+      throw new IllegalArgumentException("INT precision requires a PermutationDistanceMeasurer");
+    }
+    for (Permutation p : permutations) {
+      if (p.length() != permutations[0].length()) {
+        throw new IllegalArgumentException("Permutations must be the same length");
+      }
+    }
+    PermutationDistanceMatrix m =
+        new PermutationDistanceMatrix(
+            permutations.length, symmetric, precision, histogramBins, histogramUpperBound);
+    Stats stats = pool.invoke(new RowBlocks(m, d, permutations, 0, permutations.length));
+    return new PermutationDistanceMatrix(m, stats);
+  }
+
+  /**
+   * Gets the number of permutations, n, such that this is an n by n matrix.
+   *
+   * @return the number of rows and the number of columns of the matrix
+   */
+  public int size() {
+    return n;
+  }
+
+  /**
+   * Checks whether this matrix was computed for a symmetric distance measure, in which case only
+   * its upper triangle is stored.
+   *
+   * @return true if symmetric
+   */
+  public boolean isSymmetric() {
+    return symmetric;
+  }
+
+  /**
+   * Gets the type used to store the entries of this matrix.
+   *
+   * @return the precision of the entries
+   */
+  public Precision precision() {
+    return precision;
+  }
+
+  /**
+   * Gets the distance between permutation i and permutation j, i.e., the distance computed with
+   * permutation i as the first permutation and permutation j as the second permutation.
+   *
+   * @param i row index
+   * @param j column index
+   * @return the distance between permutation i and permutation j
+   * @throws IndexOutOfBoundsException if either i or j is negative or not less than size()
+   */
+  public double get(int i, int j) {
+    if (i < 0 || j < 0 || i >= n || j >= n) {
+      throw new IndexOutOfBoundsException("i and j must be in [0, size())");
+    }
+    if (i == j) {
+      return 0;
+    }
+    int index;
+    if (symmetric) {
+      index = i < j ? packedIndex(i, j) : packedIndex(j, i);
+    } else {
+      index = i * n + j;
+    }
+    return switch (precision) {
+      case INT -> ints[index];
+      case FLOAT -> floats[index];
+      case DOUBLE -> doubles[index];
+    };
+  }
+
+  /**
+   * Gets the minimum of the distances between pairs of different permutations.
+   *
+   * @return the minimum distance, or NaN if there are fewer than two permutations
+   */
+  public double min() {
+    return min;
+  }
+
+  /**
+   * Gets the maximum of the distances between pairs of different permutations.
+   *
+   * @return the maximum distance, or NaN if there are fewer than two permutations
+   */
+  public double max() {
+    return max;
+  }
+
+  /**
+   * Gets the mean of the distances between pairs of different permutations.
+   *
+   * @return the mean distance, or NaN if there are fewer than two permutations
+   */
+  public double mean() {
+    return mean;
+  }
+
+  /**
+   * Gets the histogram of the distances between pairs of different permutations. Bin k counts the
+   * distances in the interval [k * w, (k+1) * w), where w is the {@link #histogramBinWidth() bin
+   * width}, except that the last bin also counts all distances greater than its interval. For a
+   * symmetric matrix, each pair is counted once.
+   *
+   * @return a copy of the histogram
+   */
+  public long[] histogram() {
+    return histogram.clone();
+  }
+
+  /**
+   * Gets the width of each of the bins of the {@link #histogram() histogram}.
+   *
+   * @return the width of the bins
+   */
+  public double histogramBinWidth() {
+    return binWidth;
+  }
+
+  private int packedIndex(int i, int j) {
+    // rows 0 through i-1 of the upper triangle hold i*(n-1) - i*(i-1)/2 entries
+    return (int) ((long) i * (n - 1) - ((long) i * (i - 1) >> 1) + (j - i - 1));
+  }
+
+  private void store(int index, double value) {
+    switch (precision) {
+      case INT -> ints[index] = (int) value;
+      case FLOAT -> floats[index] = (float) value;
+      case DOUBLE -> doubles[index] = value;
+    }
+  }
+
+  /*
+   * Statistics of the distances computed by one task.
+   */
+  private static final class Stats {
+    private final long[] histogram;
+    private final double binWidth;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double sum;
+    private long count;
+
+    Stats(int bins, double binWidth) {
+      histogram = new long[bins];
+      this.binWidth = binWidth;
+    }
+
+    void add(double value) {
+      if (value < min) min = value;
+      if (value > max) max = value;
+      sum += value;
+      count++;
+      int bin = binWidth > 0 ? (int) (value / binWidth) : 0;
+      histogram[bin < 0 ? 0 : Math.min(bin, histogram.length - 1)]++;
+    }
+
+    Stats combine(Stats other) {
+      min = Math.min(min, other.min);
+      max = Math.max(max, other.max);
+      sum += other.sum;
+      count += other.count;
+      for (int i = 0; i < histogram.length; i++) {
+        histogram[i] += other.histogram[i];
+      }
+      return this;
+    }
+  }
+
+  /*
+   * Computes the rows of the matrix in [first, last), splitting the rows so that each half has
+   * roughly the same number of entries to compute.
+   */
+  private static final class RowBlocks extends RecursiveTask<Stats> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient PermutationDistanceMatrix m;
+    private final transient PermutationDistanceMeasurerDouble d;
+    private final transient Permutation[] permutations;
+    private final int first;
+    private final int last;
+
+    RowBlocks(
+        PermutationDistanceMatrix m,
+        PermutationDistanceMeasurerDouble d,
+        Permutation[] permutations,
+        int first,
+        int last) {
+      this.m = m;
+      this.d = d;
+      this.permutations = permutations;
+      this.first = first;
+      this.last = last;
+    }
+
+    @Override
+    protected Stats compute() {
+      if (last - first <= ROW_BLOCK) {
+        return computeBlock();
+      }
+      int split = (first + last) >>> 1;
+      if (m.symmetric) {
+        // row i of the upper triangle has n-1-i entries, so balance the work rather than the rows:
+        // the split is the first row at which the rows before it have at least half the entries,
+        // found by a binary search over the closed form of their count
+        long half = (entries(first, last) + 1) >> 1;
+        int low = first + 1;
+        int high = last - 1;
+        while (low < high) {
+          int mid = (low + high) >>> 1;
+          if (entries(first, mid) < half) {
+            low = mid + 1;
+          } else {
+            high = mid;
+          }
+        }
+        split = low;
+      }
+      RowBlocks right = new RowBlocks(m, d, permutations, split, last);
+      right.fork();
+      Stats stats = new RowBlocks(m, d, permutations, first, split).compute();
+      return stats.combine(right.join());
+    }
+
+    /* The number of entries of the upper triangle in rows [from, to), an arithmetic series. */
+    private long entries(int from, int to) {
+      long rows = to - from;
+      return rows * (m.n - 1) - rows * (from + to - 1) / 2;
+    }
+
+    private Stats computeBlock() {
+      Stats stats = new Stats(m.histogram.length, m.binWidth);
+      int rows = last - first;
+      PreparedPermutationDistanceDouble[] prepared = new PreparedPermutationDistanceDouble[rows];
+      for (int r = 0; r < rows; r++) {
+        prepared[r] = d.prepare(permutations[first + r]);
+      }
+      int startColumn = m.symmetric ? first + 1 : 0;
+      for (int c0 = startColumn; c0 < m.n; c0 += COLUMN_TILE) {
+        int c1 = Math.min(c0 + COLUMN_TILE, m.n);
+        for (int r = 0; r < rows; r++) {
+          int i = first + r;
+          int j = m.symmetric ? Math.max(c0, i + 1) : c0;
+          int index = m.symmetric ? m.packedIndex(i, j) : i * m.n + j;
+          for (; j < c1; j++, index++) {
+            if (j != i) {
+              double value =
+                  m.precision == Precision.INT
+                      ? ((PreparedPermutationDistance) prepared[r]).distance(permutations[j])
+                      : prepared[r].distancef(permutations[j]);
+              m.store(index, value);
+              stats.add(value);
+            }
+          }
+        }
+      }
+      return stats;
+    }
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * JavaPermutationTools: A Java library for computation on permutations and sequences
- * Copyright 2005-2022 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -50,4 +50,20 @@ public interface PermutationDistanceMeasurer extends PermutationDistanceMeasurer
   default double distancef(Permutation p1, Permutation p2) {
     return distance(p1, p2);
   }
+
+  /**
+   * Prepares this distance measure for computing the distances from a reference permutation to many
+   * other permutations. The default implementation simply retains a copy of the reference
+   * permutation, but many distance measures override this to precompute structures derived from
+   * the reference permutation, so that they are not recomputed for each of the other permutations.
+   *
+   * @param reference the reference permutation, which is the first permutation (i.e., p1) of all
+   *     subsequent distance computations
+   * @return a distance measure prepared for computing distances from the reference permutation
+   */
+  @Override
+  default PreparedPermutationDistance prepare(Permutation reference) {
+    final Permutation p1 = new Permutation(reference);
+    return other -> distance(p1, other);
+  }
 }
@@ -0,0 +1,57 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations.distance;
+
+import org.cicirello.permutations.Permutation;
+import org.cicirello.permutations.PermutationMove;
+
+/**
+ * A distance measure that has been prepared for repeatedly computing the change in the distance to
+ * a single reference permutation that applying a {@link PermutationMove} to another permutation
+ * would cause. Obtain one from the {@link DeltaPermutationDistanceMeasurer#prepareDelta} method of
+ * a distance measurer.
+ *
+ * <p>A PreparedDeltaDistance retains a workspace that it reuses across calls, so that computing a
+ * delta allocates no memory, and is therefore not thread-safe. If you are computing deltas from
+ * multiple threads, such as parallel local searches relative to the same reference permutation,
+ * then prepare a separate PreparedDeltaDistance for each thread.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+@FunctionalInterface
+public interface PreparedDeltaDistance {
+
+  /**
+   * Computes the change in the distance to the reference permutation that applying a move to a
+   * permutation would cause. Specifically, if p is a copy of current to which move has been
+   * applied, then the result is equal to distancef(p, reference) - distancef(current, reference).
+   * The permutation current is not changed by this method.
+   *
+   * @param current The permutation to which the move would be applied.
+   * @param move The move.
+   * @return the change in distance that the move would cause
+   * @throws IllegalArgumentException if current.length() is not equal to the length of the
+   *     reference permutation, or if the move is not valid for permutations of that length
+   */
+  long deltaDistance(Permutation current, PermutationMove move);
+}
@@ -0,0 +1,75 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations.distance;
+
+import org.cicirello.permutations.Permutation;
+
+/**
+ * A distance measure that has been prepared for repeatedly computing the distance from a single
+ * reference permutation to many other permutations, where the distance is an integer value. Obtain
+ * one from the {@link PermutationDistanceMeasurer#prepare} method of a distance measurer.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+@FunctionalInterface
+public interface PreparedPermutationDistance extends PreparedPermutationDistanceDouble {
+
+  /**
+   * Measures the distance from the reference permutation to another permutation.
+   *
+   * @param other the other permutation
+   * @return distance from the reference permutation to other
+   * @throws IllegalArgumentException if other.length() is not equal to the length of the
+   *     reference permutation.
+   */
+  int distance(Permutation other);
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if other.length() is not equal to the length of the
+   *     reference permutation.
+   */
+  @Override
+  default double distancef(Permutation other) {
+    return distance(other);
+  }
+
+  /**
+   * Measures the distances from the reference permutation to each of an array of permutations.
+   *
+   * @param others the other permutations
+   * @param out an array for the results, such that out[i] is set to the distance from the
+   *     reference permutation to others[i]
+   * @throws IllegalArgumentException if out.length is less than others.length, or if the length
+   *     of any of the others is not equal to the length of the reference permutation.
+   */
+  default void distances(Permutation[] others, int[] out) {
+    if (out.length < others.length) {
+      throw new IllegalArgumentException("out must be at least as long as others");
+    }
+    for (int i = 0; i < others.length; i++) {
+      out[i] = distance(others[i]);
+    }
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * JavaPermutationTools: A Java library for computation on permutations and sequences
- * Copyright 2005-2022 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -22,6 +22,7 @@
 package org.cicirello.permutations.distance;
 
 import org.cicirello.permutations.Permutation;
+import org.cicirello.permutations.PermutationMove;
 
 /**
  * RType distance treats the permutations as if they represent sets of directed edges, and counts
@@ -43,7 +44,8 @@ import org.cicirello.permutations.Permutation;
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
  *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  */
-public final class RTypeDistance implements NormalizedPermutationDistanceMeasurer {
+public final class RTypeDistance
+    implements NormalizedPermutationDistanceMeasurer, DeltaPermutationDistanceMeasurer {
 
   /** Constructs the distance measurer as specified in the class documentation. */
   public RTypeDistance() {}
@@ -58,18 +60,38 @@ public final class RTypeDistance implements NormalizedPermutationDistanceMeasure
     if (p1.length() != p2.length()) {
       throw new IllegalArgumentException("Permutations must be the same length");
     }
-    int countNonSharedEdges = 0;
-    if (p2.length() == 0) return 0;
-    int[] successors2 = new int[p2.length()];
-    for (int i = 0; i < successors2.length - 1; i++) {
-      successors2[p2.get(i)] = p2.get(i + 1);
-    }
-    successors2[p2.get(successors2.length - 1)] = -1;
+    return countNonSharedEdges(p1, successors(p2));
+  }
 
-    for (int i = 0; i < successors2.length - 1; i++) {
-      if (p1.get(i + 1) != successors2[p1.get(i)]) countNonSharedEdges++;
-    }
-    return countNonSharedEdges;
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The successors of the elements of the reference permutation are computed once, so that
+   * computing each subsequent distance allocates no memory.
+   */
+  @Override
+  public PreparedPermutationDistance prepare(Permutation reference) {
+    final int[] successors1 = successors(reference);
+    return other -> {
+      if (other.length() != successors1.length) {
+        throw new IllegalArgumentException("Permutations must be the same length");
+      }
+      // This distance is symmetric, so count the edges of other that are not in the reference.
+      return countNonSharedEdges(other, successors1);
+    };
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The inverse of the reference permutation is computed once. Runtime of each subsequent delta:
+   * O(1), since only the edges at the ends of the segments rearranged by the move can change, with
+   * the exception of a {@link PermutationMove.Reversal}, which is O(m), where m is the number of
+   * positions reversed.
+   */
+  @Override
+  public PreparedDeltaDistance prepareDelta(Permutation reference) {
+    return new MoveDeltas.Edges(reference, false, true, (rx, ry) -> ry == rx + 1);
   }
 
   @Override
@@ -77,4 +99,23 @@ public final class RTypeDistance implements NormalizedPermutationDistanceMeasure
     if (length <= 1) return 0;
     return length - 1;
   }
+
+  private static int[] successors(Permutation p2) {
+    int[] successors2 = new int[p2.length()];
+    if (successors2.length > 0) {
+      for (int i = 0; i < successors2.length - 1; i++) {
+        successors2[p2.get(i)] = p2.get(i + 1);
+      }
+      successors2[p2.get(successors2.length - 1)] = -1;
+    }
+    return successors2;
+  }
+
+  private static int countNonSharedEdges(Permutation p1, int[] successors2) {
+    int countNonSharedEdges = 0;
+    for (int i = 0; i < successors2.length - 1; i++) {
+      if (p1.get(i + 1) != successors2[p1.get(i)]) countNonSharedEdges++;
+    }
+    return countNonSharedEdges;
+  }
 }
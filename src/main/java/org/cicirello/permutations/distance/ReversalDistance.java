@@ -1,6 +1,6 @@
 /*
  * JavaPermutationTools: A Java library for computation on permutations and sequences
- * Copyright 2005-2022 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -21,7 +21,8 @@
  */
 package org.cicirello.permutations.distance;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.nio.file.Path;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -40,20 +41,31 @@ import org.cicirello.permutations.Permutation;
  * permutation. And we continue in this manner, computing all that are a distance of 2, and then 3,
  * etc.
  *
+ * <p>The enumeration is parallelized, one level at a time, across the threads of the common {@link
+ * java.util.concurrent.ForkJoinPool}. Once a level's permutations outnumber those not yet reached,
+ * the enumeration switches direction, searching from each permutation not yet reached for a
+ * neighbor in the current level.
+ *
  * <p>The total cost of this is: O(N! * N^3) since each permutation has N^2 neighbors, generating a
  * neighbor is linear cost, and there are N! permutations. Since our original application required
  * computing distance for all N! permutations, the amortized cost (if your application also has that
  * requirement) of computing distance is O(N^3).
  *
- * <p>We have not used this for N &gt; 10. Warning: time to construct distance measure increases
- * factorially.
+ * <p>The lookup table stores each distance in 4 bits, requiring N!/2 bytes, and is shared by all
+ * instances for the same N within the JVM, so it is computed at most once per JVM. It can also be
+ * saved to, and memory-mapped from, a file (see {@link #ReversalDistance(int, Path)}), so that it
+ * is computed only once across many JVMs.
+ *
+ * <p>Warning: time to compute the lookup table increases factorially. For permutations longer than
+ * 12, or if you only need the distances of a few pairs of permutations, see {@link
+ * ReversalDistanceSearch}, which computes exact reversal distances with a search instead.
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
  *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  */
 public final class ReversalDistance implements NormalizedPermutationDistanceMeasurer {
 
-  private byte[] dist;
+  private final ReversalDistanceTable table;
   private final int PERM_LENGTH;
 
   /** Construct the distance measure. Default handles permutations of length n=5. */
@@ -62,7 +74,9 @@ public final class ReversalDistance implements NormalizedPermutationDistanceMeas
   }
 
   /**
-   * Defines a distance measure for permutations of length n. n must be no greater than 12.
+   * Defines a distance measure for permutations of length n. n must be no greater than 12. The
+   * lookup table for length n is built the first time that a ReversalDistance for length n is
+   * constructed, and is then shared by all ReversalDistance instances for length n within the JVM.
    *
    * @param n The length of the permutations supported.
    * @throws IllegalArgumentException when n is greater than 12
@@ -70,42 +84,26 @@ public final class ReversalDistance implements NormalizedPermutationDistanceMeas
   public ReversalDistance(int n) {
     if (n > 12 || n < 0) throw new IllegalArgumentException("Requires 0 <= n <= 12.");
     PERM_LENGTH = n;
-    int fact = 1;
-    for (int i = 2; i <= n; i++) fact *= i;
-    dist = new byte[fact];
-    final byte BYTE_MAX = 0x7f;
-    Arrays.fill(dist, BYTE_MAX);
-    Permutation p = new Permutation(n, 0);
-    for (int i = 0; i < n - 1; i++) {
-      for (int j = i + 1; j < n; j++) {
-        p.reverse(i, j);
-        int v = p.toInteger();
-        p.reverse(i, j);
-        dist[v] = 1;
-      }
-    }
-    int visited = n * (n - 1) / 2 + 1;
-    int start = 1;
-    for (byte d = 1; visited < fact; d++) {
-      for (; dist[start] < d; start++)
-        ;
-      for (int e = start; e < fact; e++) {
-        if (dist[e] == d) {
-          p = new Permutation(n, e);
-          for (int i = 0; i < n - 1; i++) {
-            for (int j = i + 1; j < n; j++) {
-              p.reverse(i, j);
-              int v = p.toInteger();
-              p.reverse(i, j);
-              if (v > 0 && dist[v] == BYTE_MAX) {
-                dist[v] = (byte) (d + 1);
-                visited++;
-              }
-            }
-          }
-        }
-      }
-    }
+    table = ReversalDistanceTable.shared(n);
+  }
+
+  /**
+   * Defines a distance measure for permutations of length n, whose lookup table is memory-mapped
+   * from a file. If the file does not exist, or does not contain a valid table for permutations of
+   * length n (e.g., if it was written by an incompatible version of this library), then the table
+   * is computed and written to the file, replacing any existing file. Thus, only the first JVM to
+   * use a given file pays the cost of computing the table. The file for n=12 is approximately 240
+   * MB. The table is also shared with later ReversalDistance instances for length n within the JVM.
+   *
+   * @param n The length of the permutations supported.
+   * @param file The path to the file containing the lookup table.
+   * @throws IllegalArgumentException when n is greater than 12
+   * @throws IOException if an I/O error occurs reading, writing, or mapping the file
+   */
+  public ReversalDistance(int n, Path file) throws IOException {
+    if (n > 12 || n < 0) throw new IllegalArgumentException("Requires 0 <= n <= 12.");
+    PERM_LENGTH = n;
+    table = ReversalDistanceTable.shared(n, file);
   }
 
   /**
@@ -127,7 +125,7 @@ public final class ReversalDistance implements NormalizedPermutationDistanceMeas
     for (int i = 0; i < inv1.length; i++) {
       r2[i] = inv1[p2.get(i)];
     }
-    return dist[new Permutation(r2).toInteger()];
+    return table.get((int) Permutation.rank(r2));
   }
 
   @Override
@@ -0,0 +1,319 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations.distance;
+
+import java.util.concurrent.TimeUnit;
+import org.cicirello.permutations.Permutation;
+
+/**
+ * Reversal Distance is the minimum number of subpermutation reversals necessary to transform one
+ * permutation into the other. This is an NP-Hard problem. Unlike {@link ReversalDistance}, which
+ * looks up distances in a table of all N! permutations and is thus limited to N &le; 12, this
+ * implementation computes the exact reversal distance with a search, and supports permutations of
+ * any length. However, its runtime is exponential in the worst case, so it is practical only for
+ * permutations of moderate length, or that are relatively close to each other, such as those that
+ * arise in local search.
+ *
+ * <p>The search is an iterative deepening A* (IDA*) search for a sequence of reversals that sorts
+ * the permutation p2 relabeled relative to p1. It is guided by the breakpoint lower bound: a
+ * breakpoint is a pair of adjacent elements (including the adjacency of the first element to an
+ * implicit element -1, and the last element to an implicit element N) that do not differ by 1,
+ * and since a reversal removes at most 2 breakpoints, a permutation with b breakpoints is at least
+ * ceil(b/2) reversals from sorted. Reversals are applied to and undone from a single array in
+ * place. The search never considers reversals that cut a strip (i.e., a maximal run of elements
+ * without breakpoints) of length greater than 2, since there is always an optimal sequence of
+ * reversals that does not do so (Hannenhalli and Pevzner, 1996). An upper bound, from a greedy
+ * algorithm that repeatedly applies the reversal that removes the most breakpoints, ends the search
+ * early if the lower bound rises to meet it.
+ *
+ * <p>The {@link #distance distance} method always computes the exact distance. For applications
+ * that cannot afford to wait for the exact distance of a difficult pair of permutations, the {@link
+ * #bounds bounds} method supports limiting the search by a number of nodes and by time, returning
+ * the best lower and upper bounds on the distance if the limit is reached first.
+ *
+ * <p>Sources:<br>
+ * J. Kececioglu and D. Sankoff, "Exact and approximation algorithms for sorting by reversals, with
+ * application to genome rearrangement," Algorithmica, vol. 13, pp. 180-210, 1995.<br>
+ * S. Hannenhalli and P. Pevzner, "To cut... or not to cut (applications of comparative physical
+ * maps in molecular evolution)," Proceedings of the Seventh Annual ACM-SIAM Symposium on Discrete
+ * Algorithms, pp. 304-313, 1996.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+public final class ReversalDistanceSearch implements NormalizedPermutationDistanceMeasurer {
+
+  /* Number of nodes of the search between checks of the time limit. */
+  private static final int NODES_PER_TIME_CHECK = 1 << 12;
+
+  /**
+   * Lower and upper bounds on the reversal distance between a pair of permutations, as computed by
+   * {@link ReversalDistanceSearch#bounds bounds}.
+   *
+   * @param lower A lower bound on the distance.
+   * @param upper An upper bound on the distance.
+   */
+  public record Bounds(int lower, int upper) {
+
+    /**
+     * Checks whether the bounds are equal, and thus are the exact distance.
+     *
+     * @return true if the lower bound is equal to the upper bound
+     */
+    public boolean isExact() {
+      return lower == upper;
+    }
+  }
+
+  /** Constructs the distance measure. */
+  public ReversalDistanceSearch() {}
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   */
+  @Override
+  public int distance(Permutation p1, Permutation p2) {
+    return bounds(p1, p2, Long.MAX_VALUE, Long.MAX_VALUE).upper();
+  }
+
+  /**
+   * Computes bounds on the reversal distance between two permutations, with a limit on the search.
+   * If the search completes within the limits, then the lower and upper bounds are both equal to
+   * the exact distance.
+   *
+   * @param p1 first permutation
+   * @param p2 second permutation
+   * @param maxNodes The maximum number of nodes to expand during the search, or Long.MAX_VALUE for
+   *     no limit.
+   * @param maxMillis The maximum time for the search in milliseconds, or Long.MAX_VALUE for no
+   *     limit.
+   * @return lower and upper bounds on the distance between p1 and p2
+   * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   * @throws IllegalArgumentException if maxNodes or maxMillis is negative.
+   */
+  public Bounds bounds(Permutation p1, Permutation p2, long maxNodes, long maxMillis) {
+    if (p1.length() != p2.length()) {
+      throw new IllegalArgumentException("Permutations must be the same length");
+    }
+    if (maxNodes < 0 || maxMillis < 0) {
+      throw new IllegalArgumentException("Limits must be non-negative");
+    }
+    return new Search(p1, p2, maxNodes, maxMillis).run();
+  }
+
+  @Override
+  public int max(int length) {
+    if (length > 1) {
+      // Source: Bafna, V.; Pevzner, P.A. Genome Rearrangements and Sorting
+      // by Reversals. SIAM Journal on Computing 1996, 25, 272–289. 570
+      // doi:10.1137/S0097539793250627.
+      return length - 1;
+    } else {
+      return 0;
+    }
+  }
+
+  /*
+   * The state of one search, for p2 relabeled relative to p1 and framed by -1 and N.
+   */
+  private static final class Search {
+
+    private final int[] a;
+    private final int n;
+    private final long maxNodes;
+    private final long deadline;
+    private final boolean timed;
+    private long nodes;
+    private boolean exceeded;
+    private int[][] cuts;
+
+    Search(Permutation p1, Permutation p2, long maxNodes, long maxMillis) {
+      n = p1.length();
+      a = new int[n + 2];
+      int[] inv1 = p1.getInverse();
+      a[0] = -1;
+      for (int i = 0; i < n; i++) {
+        a[i + 1] = inv1[p2.get(i)];
+      }
+      a[n + 1] = n;
+      this.maxNodes = maxNodes;
+      timed = maxMillis < TimeUnit.NANOSECONDS.toMillis(Long.MAX_VALUE) / 2;
+      deadline = timed ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxMillis) : 0;
+    }
+
+    Bounds run() {
+      int b = 0;
+      for (int k = 0; k <= n; k++) {
+        b += breakpoint(a[k], a[k + 1]);
+      }
+      int upper = greedy(b);
+      cuts = new int[upper + 1][n + 1];
+      for (int t = (b + 1) >> 1; t < upper; t++) {
+        if (search(0, t, b, 0, 0)) {
+          return new Bounds(t, t);
+        }
+        if (exceeded) {
+          return new Bounds(t, upper);
+        }
+      }
+      return new Bounds(upper, upper);
+    }
+
+    /*
+     * Searches for a sequence of at most t - depth reversals that sorts a, which has b breakpoints,
+     * without undoing the reversal of a[lastI, lastJ] that led to this node.
+     */
+    private boolean search(int depth, int t, int b, int lastI, int lastJ) {
+      if (b == 0) {
+        return true;
+      }
+      if (depth == t || outOfBudget()) {
+        return false;
+      }
+      int[] c = cuts[depth];
+      int m = collectCuts(c);
+      // after this reversal, the remaining reversals can remove at most 2 breakpoints each
+      int minDelta = Math.max(-2, b - 2 * (t - depth - 1));
+      for (int want = 2; want >= minDelta; want--) {
+        for (int x = 0; x < m; x++) {
+          int i = c[x];
+          for (int y = x + 1; y < m; y++) {
+            int j = c[y] - 1;
+            if (j > i && (i != lastI || j != lastJ) && delta(i, j) == want) {
+              reverse(i, j);
+              boolean found = search(depth + 1, t, b - want, i, j);
+              reverse(i, j);
+              if (found) {
+                return true;
+              }
+              if (exceeded) {
+                return false;
+              }
+            }
+          }
+        }
+      }
+      return false;
+    }
+
+    /*
+     * Collects the cut points c, 1 &le; c &le; n+1 (i.e., between a[c-1] and a[c]), that the search
+     * may use: breakpoints, and adjacencies within strips of length 2.
+     */
+    private int collectCuts(int[] c) {
+      int m = 0;
+      int stripStart = 0;
+      for (int k = 1; k <= n + 1; k++) {
+        if (breakpoint(a[k - 1], a[k]) == 1) {
+          c[m++] = k;
+          stripStart = k;
+        } else if (k - stripStart == 1 && (k == n + 1 || breakpoint(a[k], a[k + 1]) == 1)) {
+          c[m++] = k;
+        }
+      }
+      return m;
+    }
+
+    /*
+     * Computes an upper bound on the distance by greedily applying the reversal that removes the
+     * most breakpoints, or if no reversal removes a breakpoint, reversing an increasing strip.
+     */
+    private int greedy(int b) {
+      if (n <= 1) {
+        return 0;
+      }
+      int[] saved = a.clone();
+      int count = 0;
+      while (b > 0 && count < n - 1) {
+        int bestI = 0;
+        int bestJ = 0;
+        int best = Integer.MIN_VALUE;
+        for (int i = 1; i < n; i++) {
+          for (int j = i + 1; j <= n; j++) {
+            int d = delta(i, j);
+            if (d > best) {
+              best = d;
+              bestI = i;
+              bestJ = j;
+            }
+          }
+        }
+        if (best <= 0) {
+          // reversing an increasing strip creates a decreasing strip, after which some reversal
+          // removes a breakpoint
+          bestI = 0;
+          for (int k = 1; k < n && bestI == 0; k++) {
+            if (breakpoint(a[k - 1], a[k]) == 1 && a[k + 1] == a[k] + 1) {
+              bestI = k;
+              bestJ = k + 1;
+              while (bestJ < n && a[bestJ + 1] == a[bestJ] + 1) {
+                bestJ++;
+              }
+            }
+          }
+          if (bestI == 0) {
+            break;
+          }
+          best = delta(bestI, bestJ);
+        }
+        reverse(bestI, bestJ);
+        b -= best;
+        count++;
+      }
+      System.arraycopy(saved, 0, a, 0, a.length);
+      return b == 0 ? count : n - 1;
+    }
+
+    /*
+     * The change in the number of breakpoints from reversing a[i, j].
+     */
+    private int delta(int i, int j) {
+      return breakpoint(a[i - 1], a[i])
+          + breakpoint(a[j], a[j + 1])
+          - breakpoint(a[i - 1], a[j])
+          - breakpoint(a[i], a[j + 1]);
+    }
+
+    private void reverse(int i, int j) {
+      for (; i < j; i++, j--) {
+        int temp = a[i];
+        a[i] = a[j];
+        a[j] = temp;
+      }
+    }
+
+    private boolean outOfBudget() {
+      nodes++;
+      if (nodes > maxNodes
+          || (timed && (nodes & (NODES_PER_TIME_CHECK - 1)) == 0 && System.nanoTime() > deadline)) {
+        exceeded = true;
+      }
+      return exceeded;
+    }
+
+    private static int breakpoint(int x, int y) {
+      return x - y == 1 || y - x == 1 ? 0 : 1;
+    }
+  }
+}
@@ -0,0 +1,427 @@
+/*
+ * JavaPermutationTools: A Java library for computation on permutations and sequences
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations.distance;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.cicirello.permutations.Permutation;
+
+/**
+ * The lookup table of reversal distances from the identity permutation used by {@link
+ * ReversalDistance}, indexed by the rank of a permutation as computed by {@link
+ * Permutation#toInteger()}. Since the maximum reversal distance between permutations of length n is
+ * n-1, which is at most 11 for the supported lengths, each entry is packed into 4 bits, eight
+ * entries per int: the entry for rank r is in bits 4(r mod 8) through 4(r mod 8)+3 of int r/8.
+ *
+ * <p>Tables are immutable once built, and are shared by all instances of {@link ReversalDistance}
+ * within the JVM, such that the table for each length is built at most once. A table can also be
+ * saved to a file, and memory-mapped from that file by later JVMs, rather than rebuilt. The file
+ * begins with a 16 byte header, consisting of a magic number, the version of the file format, the
+ * permutation length, and the number of entries, each as a 4 byte big-endian int, followed by the
+ * ints of packed entries, each in little-endian byte order (such that the entry for rank r is in
+ * byte r/2 of the packed entries, in the low-order 4 bits if r is even).
+ *
+ * <p>The table is built with a parallel, level-synchronous breadth first search outward from the
+ * identity permutation. Each level partitions the ranks among the tasks of a {@link ForkJoinPool},
+ * each of which unranks the permutations at the current distance into a reusable array, and ranks
+ * each of their reversal neighbors by updating only the part of the rank contributed by the
+ * reversed elements. Neighbors not yet visited are claimed with a compare-and-set on the int that
+ * contains their entry.
+ *
+ * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
+ *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
+ */
+final class ReversalDistanceTable {
+
+  /* Magic number identifying a reversal distance table file: "JPTR" in ASCII. */
+  static final int MAGIC = 0x4A505452;
+
+  /* Version of the file format, which must be changed if the ranking of permutations changes. */
+  static final int VERSION = 2;
+
+  /* Length of the file header in bytes. */
+  static final int HEADER_LENGTH = 16;
+
+  /* Maximum supported permutation length. */
+  static final int MAX_LENGTH = 12;
+
+  /* Marks an entry that the breadth first search has not yet reached. */
+  private static final int UNVISITED = 0xF;
+
+  /* Number of ints of packed entries scanned sequentially by a single task of the search. */
+  private static final int WORDS_PER_TASK = 1 << 12;
+
+  private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(int[].class);
+
+  private static final AtomicReferenceArray<ReversalDistanceTable> SHARED =
+      new AtomicReferenceArray<ReversalDistanceTable>(MAX_LENGTH + 1);
+
+  /* One lock per length, such that only requests for the same length wait on a build. */
+  private static final Object[] LOCKS = new Object[MAX_LENGTH + 1];
+
+  static {
+    for (int i = 0; i < LOCKS.length; i++) {
+      LOCKS[i] = new Object();
+    }
+  }
+
+  private final int n;
+  private final int size;
+  private final IntBuffer entries;
+
+  private ReversalDistanceTable(int n, int size, IntBuffer entries) {
+    this.n = n;
+    this.size = size;
+    this.entries = entries;
+  }
+
+  /*
+   * Gets the shared table for permutations of length n, building it if this is the first request
+   * for length n within the JVM. Only concurrent requests for the same length wait for the build.
+   */
+  static ReversalDistanceTable shared(int n) {
+    ReversalDistanceTable table = SHARED.get(n);
+    if (table == null) {
+      synchronized (LOCKS[n]) {
+        table = SHARED.get(n);
+        if (table == null) {
+          table = build(n);
+          SHARED.set(n, table);
+        }
+      }
+    }
+    return table;
+  }
+
+  /*
+   * Gets the table for permutations of length n, memory-mapped from the specified file. If the file
+   * does not exist, or is not a valid table of the current VERSION for length n, it is first written
+   * from the shared table if one already exists for length n, and otherwise from a table that is
+   * built for the purpose and then discarded, such that only the mapped table is retained. The file
+   * is written to a temporary file in the same directory that is then moved into place, so that
+   * concurrently running JVMs never map a partially written file. The mapped table becomes the
+   * shared table for length n if there is not one yet.
+   */
+  static ReversalDistanceTable shared(int n, Path file) throws IOException {
+    ReversalDistanceTable table = map(n, file);
+    if (table == null) {
+      synchronized (LOCKS[n]) {
+        table = map(n, file);
+        if (table == null) {
+          ReversalDistanceTable existing = SHARED.get(n);
+          (existing != null ? existing : build(n)).save(file);
+          table = map(n, file);
+          if (table == null) {
+            throw new IOException("Failed to create a valid reversal distance table: " + file);
+          }
+        }
+      }
+    }
+    SHARED.compareAndSet(n, null, table);
+    return table;
+  }
+
+  /*
+   * The length of permutations supported by this table.
+   */
+  int length() {
+    return n;
+  }
+
+  /*
+   * Gets the distance from the identity permutation to the permutation with the specified rank.
+   */
+  int get(int rank) {
+    return (entries.get(rank >>> 3) >>> ((rank & 7) << 2)) & 0xF;
+  }
+
+  /*
+   * Writes this table to a file, replacing any existing file.
+   */
+  void save(Path file) throws IOException {
+    Path dir = file.toAbsolutePath().getParent();
+    Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        header.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(size).flip();
+        writeFully(channel, header);
+        ByteBuffer chunk = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        IntBuffer source = entries.duplicate().clear();
+        while (source.hasRemaining()) {
+          chunk.clear();
+          while (source.hasRemaining() && chunk.hasRemaining()) {
+            chunk.putInt(source.get());
+          }
+          writeFully(channel, chunk.flip());
+        }
+        channel.force(false);
+      }
+      try {
+        Files.move(
+            temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /*
+   * Memory-maps a table from a file, or returns null if the file doesn't exist or isn't a valid
+   * table for permutations of length n.
+   */
+  static ReversalDistanceTable map(int n, Path file) throws IOException {
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+    int size = factorial(n);
+    long bytes = 4L * packedLength(size);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() != HEADER_LENGTH + bytes) {
+        return null;
+      }
+      ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+      while (header.hasRemaining() && channel.read(header, header.position()) >= 0)
+        ;
+      header.flip();
+      if (header.remaining() < HEADER_LENGTH
+          || header.getInt() != MAGIC
+          || header.getInt() != VERSION
+          || header.getInt() != n
+          || header.getInt() != size) {
+        return null;
+      }
+      // the mapping remains valid after the channel is closed
+      IntBuffer entries =
+          channel
+              .map(FileChannel.MapMode.READ_ONLY, HEADER_LENGTH, bytes)
+              .order(ByteOrder.LITTLE_ENDIAN)
+              .asIntBuffer();
+      return new ReversalDistanceTable(n, size, entries);
+    }
+  }
+
+  /*
+   * Computes the table for permutations of length n with a parallel breadth first search outward
+   * from the identity permutation, using the common ForkJoinPool.
+   */
+  static ReversalDistanceTable build(int n) {
+    return build(n, ForkJoinPool.commonPool());
+  }
+
+  /*
+   * Computes the table for permutations of length n with a parallel breadth first search outward
+   * from the identity permutation.
+   */
+  static ReversalDistanceTable build(int n, ForkJoinPool pool) {
+    int fact = factorial(n);
+    int[] words = new int[packedLength(fact)];
+    Arrays.fill(words, -1);
+    words[0] &= ~UNVISITED;
+    // multipliers[i] is the weight in the rank of the digit for position i
+    int[] multipliers = new int[n];
+    for (int i = 0, m = 1; i < n; m *= n - i, i++) {
+      multipliers[i] = m;
+    }
+    long visited = 1;
+    long frontier = 1;
+    for (int d = 0; visited < fact; d++) {
+      // once the frontier outnumbers the unvisited permutations, it is cheaper to search from
+      // each unvisited permutation for a neighbor in the frontier
+      boolean bottomUp = frontier > fact - visited;
+      frontier = pool.invoke(new Level(words, multipliers, fact, d, bottomUp, 0, words.length));
+      visited += frontier;
+    }
+    return new ReversalDistanceTable(n, fact, IntBuffer.wrap(words));
+  }
+
+  static int factorial(int n) {
+    int fact = 1;
+    for (int i = 2; i <= n; i++) fact *= i;
+    return fact;
+  }
+
+  /*
+   * The number of ints needed to pack the specified number of entries.
+   */
+  private static int packedLength(int size) {
+    return (size + 7) >>> 3;
+  }
+
+  /*
+   * Expands one level of the breadth first search for the ranks in ints [from, to) of the table,
+   * i.e., sets the entries of all unvisited reversal neighbors of the permutations at distance d
+   * to d+1, and returns the number of such neighbors. If bottomUp is false, this is done by
+   * expanding each permutation at distance d within [from, to). Otherwise, this is done by checking
+   * each unvisited permutation within [from, to) for a neighbor at distance d.
+   */
+  private static final class Level extends RecursiveTask<Long> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int[] words;
+    private final int[] multipliers;
+    private final int size;
+    private final int d;
+    private final boolean bottomUp;
+    private final int from;
+    private final int to;
+
+    Level(int[] words, int[] multipliers, int size, int d, boolean bottomUp, int from, int to) {
+      this.words = words;
+      this.multipliers = multipliers;
+      this.size = size;
+      this.d = d;
+      this.bottomUp = bottomUp;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Long compute() {
+      if (to - from > WORDS_PER_TASK) {
+        int mid = (from + to) >>> 1;
+        Level right = new Level(words, multipliers, size, d, bottomUp, mid, to);
+        right.fork();
+        long count = new Level(words, multipliers, size, d, bottomUp, from, mid).compute();
+        return count + right.join();
+      }
+      final int n = multipliers.length;
+      // p is the permutation, unused[i] the bitmask of the elements not in p[0, i), and
+      // partial[i] the part of the rank contributed by p[0, i)
+      int[] p = new int[n];
+      int[] unused = new int[n + 1];
+      int[] partial = new int[n + 1];
+      // the entry value sought, and an int with that value in each of its 8 entries
+      int target = bottomUp ? UNVISITED : d;
+      int pattern = target * 0x11111111;
+      long count = 0;
+      for (int w = from; w < to; w++) {
+        int word = words[w];
+        // skip the int unless it contains an entry equal to target
+        int x = word ^ pattern;
+        if (((x - 0x11111111) & ~x & 0x88888888) == 0) {
+          continue;
+        }
+        for (int s = 0, rank = w << 3; s < 8 && rank < size; s++, rank++) {
+          if (((word >>> (s << 2)) & 0xF) == target) {
+            unrank(rank, p, unused, partial);
+            count += expand(rank, p, unused, partial);
+          }
+        }
+      }
+      return count;
+    }
+
+    /*
+     * Unranks rank into p, consistent with Permutation.toInteger(), filling in unused and partial.
+     */
+    private void unrank(int rank, int[] p, int[] unused, int[] partial) {
+      final int n = p.length;
+      int remaining = (1 << n) - 1;
+      for (int i = 0; i < n; i++) {
+        int digit = rank % (n - i);
+        rank /= n - i;
+        int m = remaining;
+        for (int k = 0; k < digit; k++) {
+          m &= m - 1;
+        }
+        p[i] = Integer.numberOfTrailingZeros(m);
+        unused[i] = remaining;
+        partial[i + 1] = partial[i] + digit * multipliers[i];
+        remaining &= ~(1 << p[i]);
+      }
+      unused[n] = remaining;
+    }
+
+    /*
+     * Visits the reversal neighbors of the permutation p, with the specified rank, returning the
+     * number of them visited for the first time. Or if bottomUp, visits p itself, returning 1, if
+     * it has a neighbor at distance d, and otherwise returns 0. Reversing p[i, j] changes only the
+     * digits of the rank for positions i through j, so only those are recomputed.
+     */
+    private long expand(int rank, int[] p, int[] unused, int[] partial) {
+      final int n = p.length;
+      long count = 0;
+      for (int i = 0; i < n - 1; i++) {
+        for (int j = i + 1; j < n; j++) {
+          int m = unused[i];
+          int reversed = 0;
+          for (int k = i; k <= j; k++) {
+            int v = p[i + j - k];
+            reversed += multipliers[k] * Integer.bitCount(m & ((1 << v) - 1));
+            m &= ~(1 << v);
+          }
+          int neighbor = partial[i] + reversed + rank - partial[j + 1];
+          if (bottomUp) {
+            if (((words[neighbor >>> 3] >>> ((neighbor & 7) << 2)) & 0xF) == d) {
+              return visit(rank) ? 1 : 0;
+            }
+          } else if (visit(neighbor)) {
+            count++;
+          }
+        }
+      }
+      return count;
+    }
+
+    /*
+     * Sets the entry for rank v to d+1 if it is unvisited, returning true if this call set it.
+     */
+    private boolean visit(int v) {
+      int w = v >>> 3;
+      int shift = (v & 7) << 2;
+      int word = words[w];
+      while (((word >>> shift) & 0xF) == UNVISITED) {
+        int updated = (word & ~(UNVISITED << shift)) | ((d + 1) << shift);
+        int witness = (int) WORDS.compareAndExchange(words, w, word, updated);
+        if (witness == word) {
+          return true;
+        }
+        word = witness;
+      }
+      return false;
+    }
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+}
@@ -1,6 +1,6 @@
 /*
  * JavaPermutationTools: A Java library for computation on permutations and sequences
- * Copyright 2005-2022 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -22,6 +22,7 @@
 package org.cicirello.permutations.distance;
 
 import org.cicirello.permutations.Permutation;
+import org.cicirello.permutations.PermutationMove;
 
 /**
  * Squared Deviation distance is the sum of the squares of the positional deviations of the
@@ -36,6 +37,11 @@ import org.cicirello.permutations.Permutation;
  *
  * <p>Runtime: O(n), where n is the permutation length.
  *
+ * <p>Distances are computed exactly in long arithmetic. The maximum distance, (n^3 - n) / 3, fits
+ * in a long for lengths up to 3024616. For longer permutations, {@link #distancel} throws an {@link
+ * ArithmeticException}, rather than returning a wrapped value, if a distance exceeds the range of a
+ * long.
+ *
  * <p>Squared deviation distance is described in:<br>
  * M. Sevaux and K. Sorensen, "Permutation distance measures for memetic algorithms with population
  * management," The 6th Metaheuristics International Conference, August, 2005.
@@ -43,7 +49,10 @@ import org.cicirello.permutations.Permutation;
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
  *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
  */
-public final class SquaredDeviationDistance implements NormalizedPermutationDistanceMeasurer {
+public final class SquaredDeviationDistance
+    implements NormalizedPermutationDistanceMeasurer,
+        NormalizedLongPermutationDistanceMeasurer,
+        DeltaPermutationDistanceMeasurer {
 
   /** Constructs the distance measurer as specified in the class documentation. */
   public SquaredDeviationDistance() {}
@@ -52,26 +61,158 @@ public final class SquaredDeviationDistance implements NormalizedPermutationDist
    * {@inheritDoc}
    *
    * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   * @throws ArithmeticException if the distance exceeds the range of an int, which is possible for
+   *     permutations of length greater than 1860. Use {@link #distancel} for such permutations.
    */
   @Override
   public int distance(Permutation p1, Permutation p2) {
+    return Math.toIntExact(distancel(p1, p2));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   * @throws ArithmeticException if the distance exceeds the range of a long, which is possible for
+   *     permutations of length greater than 3024616.
+   */
+  @Override
+  public long distancel(Permutation p1, Permutation p2) {
     if (p1.length() != p2.length()) {
       throw new IllegalArgumentException("Permutations must be the same length");
     }
-    int distancePoints = 0;
+    long distancePoints = 0;
 
     int[] invP2 = p2.getInverse();
 
     for (int i = 0; i < invP2.length; i++) {
-      int dev = invP2[p1.get(i)] - i;
-      distancePoints += (dev * dev);
+      long dev = invP2[p1.get(i)] - i;
+      // each square is less than 2^62, so only the sum can overflow
+      distancePoints = Math.addExact(distancePoints, dev * dev);
     }
     return distancePoints;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   * @throws ArithmeticException if the distance exceeds the range of a long, which is possible for
+   *     permutations of length greater than 3024616.
+   */
+  @Override
+  public double distancef(Permutation p1, Permutation p2) {
+    return distancel(p1, p2);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The inverse of the reference permutation is computed once, so that computing each
+   * subsequent distance allocates no memory.
+   */
+  @Override
+  public PreparedPermutationDistance prepare(Permutation reference) {
+    return new Prepared(reference);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The inverse of the reference permutation is computed once. Runtime of each subsequent delta:
+   * O(1) for a {@link PermutationMove.Swap}, and otherwise O(m), where m is the number of positions
+   * changed by the move.
+   */
+  @Override
+  public PreparedDeltaDistance prepareDelta(Permutation reference) {
+    return new MoveDeltas.Positional(
+        reference,
+        (r, k) -> {
+          long d = r - k;
+          return d * d;
+        });
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws ArithmeticException if the maximum distance exceeds the range of an int, which is the
+   *     case for lengths greater than 1860. Use {@link #maxl} for such lengths.
+   */
   @Override
   public int max(int length) {
+    return Math.toIntExact(maxl(length));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws ArithmeticException if the maximum distance exceeds the range of a long, which is the
+   *     case for lengths greater than 3024616.
+   */
+  @Override
+  public long maxl(int length) {
     if (length <= 1) return 0;
-    return (length * length * length - length) / 3;
+    // (n^3 - n) / 3 = (n - 1) * n * (n + 1) / 3, and one of those three consecutive integers is
+    // divisible by 3, so divide first to avoid overflowing sooner than necessary.
+    long a = length - 1;
+    long b = length;
+    long c = length + 1L;
+    if (a % 3 == 0) {
+      a /= 3;
+    } else if (b % 3 == 0) {
+      b /= 3;
+    } else {
+      c /= 3;
+    }
+    return Math.multiplyExact(Math.multiplyExact(a, b), c);
+  }
+
+  @Override
+  public double maxf(int length) {
+    return maxl(length);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalArgumentException if p1.length() is not equal to p2.length().
+   */
+  @Override
+  public double normalizedDistance(Permutation p1, Permutation p2) {
+    long m = maxl(p1.length());
+    if (m == 0) return 0;
+    return distancel(p1, p2) / ((double) m);
+  }
+
+  private static final class Prepared implements PreparedPermutationDistance {
+
+    private final int[] invP1;
+
+    Prepared(Permutation reference) {
+      invP1 = reference.getInverse();
+    }
+
+    @Override
+    public int distance(Permutation other) {
+      return Math.toIntExact(distancel(other));
+    }
+
+    @Override
+    public double distancef(Permutation other) {
+      return distancel(other);
+    }
+
+    private long distancel(Permutation other) {
+      if (other.length() != invP1.length) {
+        throw new IllegalArgumentException("Permutations must be the same length");
+      }
+      long distancePoints = 0;
+      for (int i = 0; i < invP1.length; i++) {
+        long dev = invP1[other.get(i)] - i;
+        distancePoints = Math.addExact(distancePoints, dev * dev);
+      }
+      return distancePoints;
+    }
   }
 }
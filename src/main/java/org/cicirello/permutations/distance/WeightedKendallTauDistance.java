@@ -1,6 +1,6 @@
 /*
  * JavaPermutationTools: A Java library for computation on permutations and sequences.
- * Copyright (C) 2018-2023 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright (C) 2018-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -21,7 +21,6 @@
  */
 package org.cicirello.permutations.distance;
 
-import java.util.Arrays;
 import org.cicirello.permutations.Permutation;
 
 /**
@@ -39,7 +38,10 @@ import org.cicirello.permutations.Permutation;
  * 46-56).
  *
  * <p>The runtime of JPT's implementation is O(n lg n), where n is the permutation length. This
- * runtime is achieved using a modified version of mergesort to sum the weighted inversions.
+ * runtime is achieved using a modified version of mergesort to sum the weighted inversions. An
+ * {@link InversionCounter} can be passed to {@link #distancef(Permutation, Permutation,
+ * InversionCounter)} by callers who compute many distances and wish to avoid allocating buffers on
+ * each call.
  *
  * @author <a href=https://www.cicirello.org/ target=_top>Vincent A. Cicirello</a>, <a
  *     href=https://www.cicirello.org/ target=_top>https://www.cicirello.org/</a>
@@ -86,21 +88,45 @@ public final class WeightedKendallTauDistance
    */
   @Override
   public double distancef(Permutation p1, Permutation p2) {
+    return distancef(p1, p2, new InversionCounter(weights.length));
+  }
+
+  /**
+   * Measures the distance between two permutations, using the buffers of a caller supplied
+   * InversionCounter, rather than allocating new buffers. If the InversionCounter's buffers are
+   * already large enough for the permutations, then this method allocates no memory.
+   *
+   * @param p1 first permutation
+   * @param p2 second permutation
+   * @param workspace An InversionCounter whose buffers are used to relabel the permutations and
+   *     their weights, and to sum the weighted inversions.
+   * @return distance between p1 and p2
+   * @throws IllegalArgumentException if p1.length() is not equal to supportedLength(), or if
+   *     p2.length() is not equal to supportedLength().
+   */
+  public double distancef(Permutation p1, Permutation p2, InversionCounter workspace) {
     if (p1.length() != weights.length || p2.length() != weights.length) {
       throw new IllegalArgumentException("p1 and/or p2 not of supported length of this instance");
     }
+    int n = weights.length;
+
     // use inverse of p1 as a relabeling
-    int[] invP1 = p1.getInverse();
+    int[] invP1 = workspace.scratch(n);
+    for (int i = 0; i < n; i++) {
+      invP1[p1.get(i)] = i;
+    }
 
     // relabel array copy of p2 and likewise map weights to weights of relabeled copy
-    int[] arrayP2 = new int[invP1.length];
-    double[] w = new double[weights.length];
-    for (int i = 0; i < arrayP2.length; i++) {
-      arrayP2[i] = invP1[p2.get(i)];
-      w[arrayP2[i]] = weights[p2.get(i)];
+    int[] arrayP2 = workspace.work(n);
+    double[] w = workspace.weights(n);
+    for (int i = 0; i < n; i++) {
+      int element = p2.get(i);
+      arrayP2[i] = invP1[element];
+      w[arrayP2[i]] = weights[element];
     }
 
-    return countWeightedInversions(arrayP2, w, 0, arrayP2.length - 1);
+    // the inverse is no longer needed, so reuse it as the mergesort's scratch buffer
+    return countWeightedInversions(arrayP2, invP1, w, n);
   }
 
   /**
@@ -114,43 +140,55 @@ public final class WeightedKendallTauDistance
     return maxDistance;
   }
 
-  private double countWeightedInversions(int[] array, double[] w, int first, int last) {
-    if (last <= first) {
-      return 0;
+  /*
+   * Bottom-up mergesort of array[0, n) that alternates between the array and a single scratch
+   * buffer, rather than allocating new arrays for each merge.
+   */
+  private double countWeightedInversions(int[] array, int[] scratch, double[] w, int n) {
+    int[] src = array;
+    int[] dst = scratch;
+    double weightedCount = 0;
+    for (int width = 1; width < n; width <<= 1) {
+      for (int lo = 0; lo < n; lo += width << 1) {
+        int mid = Math.min(lo + width, n);
+        int hi = Math.min(mid + width, n);
+        weightedCount += merge(src, dst, w, lo, mid, hi);
+      }
+      int[] temp = src;
+      src = dst;
+      dst = temp;
     }
-    int m = (first + last) >> 1;
-    return countWeightedInversions(array, w, first, m)
-        + countWeightedInversions(array, w, m + 1, last)
-        + merge(array, w, first, m + 1, last + 1);
+    return weightedCount;
   }
 
-  private double merge(int[] array, double[] w, int first, int midPlus, int lastPlus) {
-    int[] left = Arrays.copyOfRange(array, first, midPlus);
-    int[] right = Arrays.copyOfRange(array, midPlus, lastPlus);
-    int i = 0;
-    int j = 0;
-    int k = first;
+  private double merge(int[] src, int[] dst, double[] w, int lo, int mid, int hi) {
+    if (mid >= hi || src[mid - 1] < src[mid]) {
+      System.arraycopy(src, lo, dst, lo, hi - lo);
+      return 0;
+    }
+    int i = lo;
+    int j = mid;
+    int k = lo;
     double weightedCount = 0;
     double leftWeights = 0;
-    for (int x = 0; x < left.length; x++) {
-      leftWeights += w[left[x]];
+    for (int x = lo; x < mid; x++) {
+      leftWeights += w[src[x]];
     }
-    while (i < left.length && j < right.length) {
-      if (left[i] < right[j]) {
-        leftWeights -= w[left[i]];
-        array[k] = left[i];
+    while (i < mid && j < hi) {
+      if (src[i] < src[j]) {
+        leftWeights -= w[src[i]];
+        dst[k] = src[i];
         i++;
-        k++;
       } else {
         // inversions
-        weightedCount += w[right[j]] * leftWeights;
-        array[k] = right[j];
+        weightedCount += w[src[j]] * leftWeights;
+        dst[k] = src[j];
         j++;
-        k++;
       }
+      k++;
     }
-    System.arraycopy(left, i, array, k, left.length - i);
-    System.arraycopy(right, j, array, k, right.length - j);
+    System.arraycopy(src, i, dst, k, mid - i);
+    System.arraycopy(src, j, dst, k, hi - j);
     return weightedCount;
   }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for the AdjacentSwapPermutationIterator. */
+public class AdjacentSwapPermutationIteratorTests {
+
+  @Test
+  public void testAllPermutationsByAdjacentSwaps() {
+    int fact = 1;
+    for (int n = 0; n <= 7; n++) {
+      if (n > 0) fact *= n;
+      AdjacentSwapPermutationIterator iter = new AdjacentSwapPermutationIterator(n);
+      Permutation p = iter.getPermutation();
+      assertEquals(new Permutation(n, 0), p);
+      assertAllVisited(iter, fact);
+      assertSame(p, iter.getPermutation());
+    }
+  }
+
+  @Test
+  public void testStartingPermutation() {
+    int fact = 1;
+    for (int n = 1; n <= 6; n++) {
+      fact *= n;
+      Permutation p = new Permutation(n);
+      Permutation first = new Permutation(p);
+      AdjacentSwapPermutationIterator iter = new AdjacentSwapPermutationIterator(p);
+      assertSame(p, iter.getPermutation());
+      assertEquals(first, p);
+      assertAllVisited(iter, fact);
+    }
+  }
+
+  @Test
+  public void testPlainChangesOrder() {
+    AdjacentSwapPermutationIterator iter = new AdjacentSwapPermutationIterator(3);
+    int[][] expected = {{0, 1, 2}, {0, 2, 1}, {2, 0, 1}, {2, 1, 0}, {1, 2, 0}, {1, 0, 2}};
+    assertArrayEquals(expected[0], iter.getPermutation().toArray());
+    for (int k = 1; k < expected.length; k++) {
+      iter.nextInt();
+      assertArrayEquals(expected[k], iter.getPermutation().toArray());
+    }
+    assertFalse(iter.hasNext());
+  }
+
+  @Test
+  public void testNoSuchElement() {
+    final AdjacentSwapPermutationIterator iter = new AdjacentSwapPermutationIterator(2);
+    assertTrue(iter.hasNext());
+    assertEquals(0, iter.nextInt());
+    assertFalse(iter.hasNext());
+    assertThrows(NoSuchElementException.class, () -> iter.nextInt());
+    assertThrows(NoSuchElementException.class, () -> iter.next());
+  }
+
+  private static void assertAllVisited(AdjacentSwapPermutationIterator iter, int fact) {
+    Permutation p = iter.getPermutation();
+    boolean[] found = new boolean[fact];
+    found[p.toInteger()] = true;
+    int count = 1;
+    while (iter.hasNext()) {
+      Permutation previous = new Permutation(p);
+      int i = iter.nextInt();
+      previous.swap(i, i + 1);
+      assertEquals(previous, p);
+      int permID = p.toInteger();
+      assertFalse(found[permID]);
+      found[permID] = true;
+      count++;
+    }
+    assertEquals(fact, count);
+  }
+}
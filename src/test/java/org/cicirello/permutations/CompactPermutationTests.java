@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for the CompactPermutation class. */
+public class CompactPermutationTests {
+
+  private static final int[] LENGTHS = {0, 1, 2, 5, 256, 257, 65536, 65537};
+
+  @Test
+  public void testWidthAndConversion() {
+    for (int n : LENGTHS) {
+      Permutation p = new Permutation(n);
+      CompactPermutation c = CompactPermutation.of(p);
+      assertEquals(n <= 256 ? 8 : n <= 65536 ? 16 : 32, c.bitsPerElement());
+      assertEquals(n, c.length());
+      for (int i = 0; i < n; i++) {
+        assertEquals(p.get(i), c.get(i));
+      }
+      assertEquals(p, c.toPermutation());
+      assertArrayEquals(p.toArray(), c.toArray());
+      assertEquals(p.hashCode(), c.hashCode());
+      assertEquals(c, CompactPermutation.of(p.toArray()));
+      if (n <= 5) {
+        assertEquals(p.toString(), c.toString());
+      }
+      int[] array = new int[n];
+      assertSame(array, c.toArray(array));
+      assertArrayEquals(p.toArray(), array);
+    }
+  }
+
+  @Test
+  public void testOperationsMatchPermutation() {
+    SplittableRandom r = new SplittableRandom(42);
+    for (int n : LENGTHS) {
+      if (n < 2) continue;
+      Permutation p = new Permutation(n, r);
+      CompactPermutation c = CompactPermutation.of(p);
+      for (int trial = 0; trial < 10; trial++) {
+        int i = r.nextInt(n);
+        int j = r.nextInt(n);
+        p.swap(i, j);
+        c.swap(i, j);
+        assertEquals(p, c.toPermutation());
+        p.reverse(i, j);
+        c.reverse(i, j);
+        assertEquals(p, c.toPermutation());
+        p.reverse();
+        c.reverse();
+        assertEquals(p, c.toPermutation());
+        int k = r.nextInt(-2 * n, 2 * n);
+        p.rotate(k);
+        c.rotate(k);
+        assertEquals(p, c.toPermutation());
+      }
+      c.apply(
+          raw -> {
+            int temp = raw[0];
+            raw[0] = raw[1];
+            raw[1] = temp;
+          });
+      p.swap(0, 1);
+      assertEquals(p, c.toPermutation());
+    }
+  }
+
+  @Test
+  public void testCallerBuffers() {
+    SplittableRandom r = new SplittableRandom(7);
+    for (int n : LENGTHS) {
+      if (n < 2) continue;
+      Permutation p = new Permutation(n, r);
+      CompactPermutation c = CompactPermutation.of(p);
+      Permutation target = new Permutation(n);
+      c.toPermutation(target);
+      assertEquals(p, target);
+      int[] buffer = new int[n];
+      for (int trial = 0; trial < 3; trial++) {
+        int[] used =
+            c.apply(
+                raw -> {
+                  int temp = raw[0];
+                  raw[0] = raw[raw.length - 1];
+                  raw[raw.length - 1] = temp;
+                },
+                buffer);
+        assertSame(buffer, used);
+        p.swap(0, n - 1);
+        c.toPermutation(target);
+        assertEquals(p, target);
+      }
+      int[] allocated = c.apply(raw -> {}, new int[n + 1]);
+      assertEquals(n, allocated.length);
+      assertEquals(p, c.toPermutation());
+      assertThrows(IllegalArgumentException.class, () -> c.toPermutation(new Permutation(n + 1)));
+    }
+  }
+
+  @Test
+  public void testCopyAndEquals() {
+    for (int n : LENGTHS) {
+      CompactPermutation c = CompactPermutation.of(new Permutation(n));
+      CompactPermutation copy = c.copy();
+      assertNotSame(c, copy);
+      assertEquals(c, copy);
+      assertEquals(c.hashCode(), copy.hashCode());
+      if (n > 1) {
+        copy.swap(0, n - 1);
+        assertNotEquals(c, copy);
+      }
+    }
+    assertNotEquals(CompactPermutation.of(new int[] {0, 1}), CompactPermutation.of(new int[] {0}));
+    assertNotEquals(CompactPermutation.of(new int[] {0}), new Permutation(1));
+  }
+
+  @Test
+  public void testExceptions() {
+    assertThrows(IllegalArgumentException.class, () -> CompactPermutation.of(new int[] {0, 2}));
+    assertThrows(IllegalArgumentException.class, () -> CompactPermutation.of(new int[] {-1, 0}));
+    assertThrows(IllegalArgumentException.class, () -> CompactPermutation.of(new int[] {1, 1}));
+    CompactPermutation c = CompactPermutation.of(new Permutation(5));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> c.get(5));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> c.swap(0, 5));
+  }
+}
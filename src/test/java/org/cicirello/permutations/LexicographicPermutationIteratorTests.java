@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for the LexicographicPermutationIterator. */
+public class LexicographicPermutationIteratorTests {
+
+  @Test
+  public void testAllPermutations() {
+    for (int n = 0; n <= 6; n++) {
+      List<Permutation> expected = PermutationSpace.stream(n).collect(Collectors.toList());
+      LexicographicPermutationIterator iter = new LexicographicPermutationIterator(n);
+      assertEquals(expected, collect(iter));
+      assertEquals(BigInteger.valueOf(expected.size()), iter.nextRank());
+    }
+  }
+
+  @Test
+  public void testRankRanges() {
+    final int n = 5;
+    List<Permutation> expected = PermutationSpace.stream(n).collect(Collectors.toList());
+    for (int start = 0; start <= 120; start += 7) {
+      for (int end = start; end <= 120; end += 11) {
+        LexicographicPermutationIterator iter = new LexicographicPermutationIterator(n, start, end);
+        assertEquals(BigInteger.valueOf(start), iter.nextRank());
+        assertEquals(expected.subList(start, end), collect(iter));
+      }
+    }
+  }
+
+  @Test
+  public void testLargeLength() {
+    final int n = 25;
+    BigInteger last = PermutationRanking.factorial(n);
+    LexicographicPermutationIterator iter =
+        new LexicographicPermutationIterator(n, last.subtract(BigInteger.valueOf(3)), last);
+    Permutation p = iter.next();
+    assertArrayEquals(
+        new int[] {
+          24, 23, 22, 21, 20, 19, 18, 17, 16, 15, 14, 13, 12, 11, 10, 9, 8, 7, 6, 5, 4, 3, 1, 2, 0
+        },
+        p.toArray());
+    iter.next();
+    iter.next();
+    for (int i = 0; i < n; i++) {
+      assertEquals(n - 1 - i, p.get(i));
+    }
+    assertFalse(iter.hasNext());
+    iter = new LexicographicPermutationIterator(n, BigInteger.ZERO, BigInteger.ONE);
+    assertEquals(new Permutation(n, 0), iter.next());
+  }
+
+  @Test
+  public void testCheckpointAndResume() throws IOException, ClassNotFoundException {
+    final int n = 6;
+    List<Permutation> expected = PermutationSpace.stream(n).collect(Collectors.toList());
+    LexicographicPermutationIterator iter = new LexicographicPermutationIterator(n, 100, 700);
+    ArrayList<Permutation> actual = new ArrayList<Permutation>();
+    for (int k = 0; k < 250; k++) {
+      actual.add(new Permutation(iter.next()));
+    }
+    LexicographicPermutationIterator.Checkpoint checkpoint = iter.checkpoint();
+    assertEquals(6, checkpoint.length());
+    assertEquals(BigInteger.valueOf(350), checkpoint.next());
+    assertEquals(BigInteger.valueOf(700), checkpoint.end());
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(checkpoint);
+    }
+    LexicographicPermutationIterator.Checkpoint restored;
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      restored = (LexicographicPermutationIterator.Checkpoint) in.readObject();
+    }
+    assertEquals(checkpoint, restored);
+    actual.addAll(collect(new LexicographicPermutationIterator(restored)));
+    assertEquals(expected.subList(100, 700), actual);
+    // the original iteration is unaffected
+    assertEquals(expected.get(350), iter.next());
+  }
+
+  @Test
+  public void testSharedPermutation() {
+    LexicographicPermutationIterator iter = new LexicographicPermutationIterator(4);
+    Permutation first = iter.next();
+    assertSame(first, iter.next());
+  }
+
+  @Test
+  public void testExceptions() {
+    assertThrows(IllegalArgumentException.class, () -> new LexicographicPermutationIterator(-1));
+    assertThrows(IllegalArgumentException.class, () -> new LexicographicPermutationIterator(21));
+    assertThrows(
+        IllegalArgumentException.class, () -> new LexicographicPermutationIterator(4, -1, 5));
+    assertThrows(
+        IllegalArgumentException.class, () -> new LexicographicPermutationIterator(4, 6, 5));
+    assertThrows(
+        IllegalArgumentException.class, () -> new LexicographicPermutationIterator(4, 0, 25));
+    assertThrows(
+        NullPointerException.class,
+        () -> new LexicographicPermutationIterator.Checkpoint(4, null, BigInteger.ONE));
+    final LexicographicPermutationIterator.Checkpoint invalid =
+        new LexicographicPermutationIterator.Checkpoint(4, BigInteger.TEN, BigInteger.ONE);
+    assertThrows(
+        IllegalArgumentException.class, () -> new LexicographicPermutationIterator(invalid));
+    final LexicographicPermutationIterator iter = new LexicographicPermutationIterator(4, 3, 3);
+    assertFalse(iter.hasNext());
+    assertThrows(NoSuchElementException.class, () -> iter.next());
+    assertNotNull(new LexicographicPermutationIterator(20, 0, 1).next());
+  }
+
+  private static List<Permutation> collect(LexicographicPermutationIterator iter) {
+    ArrayList<Permutation> list = new ArrayList<Permutation>();
+    while (iter.hasNext()) {
+      list.add(new Permutation(iter.next()));
+    }
+    return list;
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for the PackedPermutationMap class. */
+public class PackedPermutationMapTests {
+
+  @Test
+  public void testPutGet() {
+    PackedPermutationMap map = new PackedPermutationMap();
+    assertTrue(map.isEmpty());
+    HashMap<Long, Integer> expected = new HashMap<Long, Integer>();
+    SplittableRandom r = new SplittableRandom(42);
+    for (int i = 0; i < 5000; i++) {
+      long key = PackedPermutations.pack(new Permutation(10, r));
+      assertEquals(!expected.containsKey(key), map.put(key, i));
+      expected.put(key, i);
+      assertEquals(expected.size(), map.size());
+    }
+    for (long key : expected.keySet()) {
+      assertTrue(map.containsKey(key));
+      assertEquals(expected.get(key).intValue(), map.get(key, -1));
+      assertFalse(map.putIfAbsent(key, -5));
+      assertEquals(expected.get(key).intValue(), map.get(key, -1));
+    }
+    assertFalse(map.containsKey(0L));
+    assertEquals(-1, map.get(0L, -1));
+    assertTrue(map.putIfAbsent(0L, 7));
+    assertFalse(map.putIfAbsent(0L, 8));
+    assertEquals(7, map.get(0L, -1));
+    assertFalse(map.put(0L, 9));
+    assertEquals(9, map.get(0L, -1));
+    assertEquals(expected.size() + 1, map.size());
+    long absent = PackedPermutations.pack(new Permutation(12, r));
+    assertEquals(-1, map.get(absent, -1));
+    assertTrue(map.putIfAbsent(absent, 3));
+    assertEquals(3, map.get(absent, -1));
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertFalse(map.containsKey(0L));
+    assertFalse(map.containsKey(absent));
+    assertThrows(IllegalArgumentException.class, () -> new PackedPermutationMap(-1));
+  }
+}
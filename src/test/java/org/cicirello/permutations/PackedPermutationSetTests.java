@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for the PackedPermutationSet class. */
+public class PackedPermutationSetTests {
+
+  @Test
+  public void testAddContains() {
+    PackedPermutationSet set = new PackedPermutationSet();
+    assertTrue(set.isEmpty());
+    HashSet<Long> expected = new HashSet<Long>();
+    SplittableRandom r = new SplittableRandom(42);
+    for (int i = 0; i < 5000; i++) {
+      long key = PackedPermutations.pack(new Permutation(10, r));
+      assertEquals(expected.add(key), set.add(key));
+      assertEquals(expected.size(), set.size());
+    }
+    for (long key : expected) {
+      assertTrue(set.contains(key));
+      assertFalse(set.add(key));
+    }
+    assertFalse(set.contains(0L));
+    assertTrue(set.add(0L));
+    assertFalse(set.add(0L));
+    assertTrue(set.contains(0L));
+    assertEquals(expected.size() + 1, set.size());
+    assertFalse(set.contains(PackedPermutations.pack(new Permutation(12, r))));
+    set.clear();
+    assertTrue(set.isEmpty());
+    assertFalse(set.contains(0L));
+    for (long key : expected) {
+      assertFalse(set.contains(key));
+    }
+  }
+
+  @Test
+  public void testAllPermutations() {
+    PackedPermutationSet set = new PackedPermutationSet(100);
+    for (Permutation p : new Permutation(7)) {
+      assertTrue(set.add(PackedPermutations.pack(p)));
+    }
+    assertEquals(5040, set.size());
+    assertThrows(IllegalArgumentException.class, () -> new PackedPermutationSet(-1));
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for the PackedPermutations class. */
+public class PackedPermutationsTests {
+
+  @Test
+  public void testPackUnpack() {
+    for (int n = 0; n <= 16; n++) {
+      Permutation p = new Permutation(n);
+      long packed = PackedPermutations.pack(p);
+      assertEquals(packed, PackedPermutations.pack(p.toArray()));
+      assertEquals(p, PackedPermutations.unpack(packed, n));
+      assertArrayEquals(p.toArray(), PackedPermutations.unpack(packed, new int[n]));
+      for (int i = 0; i < n; i++) {
+        assertEquals(p.get(i), PackedPermutations.get(packed, i));
+      }
+      assertEquals(
+          new Permutation(n, 0), PackedPermutations.unpack(PackedPermutations.identity(n), n));
+    }
+    assertThrows(
+        IllegalArgumentException.class, () -> PackedPermutations.pack(new Permutation(17)));
+    assertThrows(IllegalArgumentException.class, () -> PackedPermutations.pack(new int[17]));
+    assertThrows(IllegalArgumentException.class, () -> PackedPermutations.identity(17));
+    assertThrows(IllegalArgumentException.class, () -> PackedPermutations.unpack(0L, 17));
+    assertThrows(IllegalArgumentException.class, () -> PackedPermutations.unpack(0L, 2));
+  }
+
+  @Test
+  public void testSwapReverseRemoveAndInsert() {
+    SplittableRandom r = new SplittableRandom(42);
+    for (int n = 1; n <= 16; n++) {
+      Permutation p = new Permutation(n, r);
+      long packed = PackedPermutations.pack(p);
+      for (int i = 0; i < n; i++) {
+        for (int j = 0; j < n; j++) {
+          Permutation q = new Permutation(p);
+          q.swap(i, j);
+          assertEquals(q, PackedPermutations.unpack(PackedPermutations.swap(packed, i, j), n));
+          q = new Permutation(p);
+          q.reverse(i, j);
+          assertEquals(q, PackedPermutations.unpack(PackedPermutations.reverse(packed, i, j), n));
+          q = new Permutation(p);
+          q.removeAndInsert(i, j);
+          assertEquals(
+              q, PackedPermutations.unpack(PackedPermutations.removeAndInsert(packed, i, j), n));
+        }
+      }
+      Permutation q = new Permutation(p);
+      q.reverse();
+      assertEquals(q, PackedPermutations.unpack(PackedPermutations.reverse(packed, n), n));
+    }
+    assertEquals(0L, PackedPermutations.reverse(0L, 0));
+  }
+
+  @Test
+  public void testRotate() {
+    SplittableRandom r = new SplittableRandom(42);
+    for (int n = 0; n <= 16; n++) {
+      Permutation p = new Permutation(n, r);
+      long packed = PackedPermutations.pack(p);
+      for (int k = -n - 1; k <= n + 1; k++) {
+        Permutation q = new Permutation(p);
+        if (n > 0) q.rotate(k);
+        assertEquals(q, PackedPermutations.unpack(PackedPermutations.rotate(packed, n, k), n));
+      }
+    }
+  }
+
+  @Test
+  public void testComposeAndInvert() {
+    SplittableRandom r = new SplittableRandom(42);
+    for (int n = 0; n <= 16; n++) {
+      Permutation p1 = new Permutation(n, r);
+      Permutation p2 = new Permutation(n, r);
+      long a = PackedPermutations.pack(p1);
+      long b = PackedPermutations.pack(p2);
+      long c = PackedPermutations.compose(a, b, n);
+      for (int i = 0; i < n; i++) {
+        assertEquals(p1.get(p2.get(i)), PackedPermutations.get(c, i));
+      }
+      assertEquals(
+          p1.getInversePermutation(),
+          PackedPermutations.unpack(PackedPermutations.invert(a, n), n));
+      assertEquals(
+          PackedPermutations.identity(n),
+          PackedPermutations.compose(a, PackedPermutations.invert(a, n), n));
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for the PermutationBitSet class. */
+public class PermutationBitSetTests {
+
+  @Test
+  public void testHeap() {
+    for (int n = 0; n <= 7; n++) {
+      validate(new PermutationBitSet(n), n);
+    }
+    assertThrows(IllegalArgumentException.class, () -> new PermutationBitSet(-1));
+    assertThrows(IllegalArgumentException.class, () -> new PermutationBitSet(15));
+  }
+
+  @Test
+  public void testMapped() throws IOException {
+    Path dir = Files.createTempDirectory("jpt");
+    Path file = dir.resolve("bits7.bin");
+    try {
+      PermutationBitSet set = new PermutationBitSet(7, file);
+      validate(set, 7);
+      set.set(100);
+      set.force();
+      long cardinality = set.cardinality();
+      assertEquals(8 * ((5040 + 63) / 64), Files.size(file));
+      PermutationBitSet reopened = new PermutationBitSet(7, file);
+      assertEquals(cardinality, reopened.cardinality());
+      assertTrue(reopened.get(100));
+      assertThrows(IOException.class, () -> new PermutationBitSet(8, file));
+    } finally {
+      Files.deleteIfExists(file);
+      Files.deleteIfExists(dir);
+    }
+  }
+
+  @Test
+  public void testConcurrentTestAndSet() throws InterruptedException {
+    PermutationBitSet set = new PermutationBitSet(8);
+    AtomicLong added = new AtomicLong();
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      threads[t] =
+          new Thread(
+              () -> {
+                for (long r = 0; r < set.capacity(); r++) {
+                  if (!set.testAndSet(r)) {
+                    added.incrementAndGet();
+                  }
+                }
+              });
+      threads[t].start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+    assertEquals(40320, added.get());
+    assertEquals(40320, set.cardinality());
+  }
+
+  private void validate(PermutationBitSet set, int n) {
+    final long fact = PermutationBitSet.factorial(n);
+    assertEquals(n, set.length());
+    assertEquals(fact, set.capacity());
+    assertEquals(0, set.cardinality());
+    int count = 0;
+    for (long r = 0; r < fact; r++) {
+      Permutation p = new Permutation(n, r);
+      assertFalse(set.get(p));
+      if (count % 3 == 0) {
+        assertFalse(set.testAndSet(p));
+        assertTrue(set.testAndSet(p));
+      } else if (count % 3 == 1) {
+        set.set(p);
+      }
+      count++;
+    }
+    count = 0;
+    long expected = 0;
+    for (long r = 0; r < fact; r++) {
+      Permutation p = new Permutation(n, r);
+      assertEquals(count % 3 != 2, set.get(p));
+      assertEquals(count % 3 != 2, set.get(p.toLong()));
+      if (count % 3 != 2) expected++;
+      count++;
+    }
+    assertEquals(expected, set.cardinality());
+    assertTrue(set.testAndClear(0));
+    assertFalse(set.testAndClear(0));
+    set.clear(0);
+    assertFalse(set.get(0));
+    assertThrows(IndexOutOfBoundsException.class, () -> set.get(fact));
+    assertThrows(IndexOutOfBoundsException.class, () -> set.set(-1));
+    assertThrows(IllegalArgumentException.class, () -> set.get(new Permutation(n + 1)));
+  }
+}
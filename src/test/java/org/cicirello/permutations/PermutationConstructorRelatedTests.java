@@ -1,6 +1,6 @@
 /*
  * JavaPermutationTools: A Java library for computation on permutations and sequences
- * Copyright 2005-2023 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -141,6 +141,77 @@ public class PermutationConstructorRelatedTests extends SharedTestHelpersPermuta
     }
   }
 
+  @Test
+  public void testBigIntegerLongPermutations() {
+    SplittableRandom r = new SplittableRandom(42);
+    for (int n : new int[] {13, 20, 63, 64, 65, 100, 257, 1000}) {
+      BigInteger f = BigInteger.ONE;
+      for (int i = 2; i <= n; i++) {
+        f = f.multiply(BigInteger.valueOf(i));
+      }
+      for (int i = 0; i < 10; i++) {
+        Permutation p = new Permutation(n, r);
+        BigInteger rank = p.toBigInteger();
+        assertEquals(naiveRank(p), rank);
+        assertTrue(rank.signum() >= 0 && rank.compareTo(f) < 0);
+        assertEquals(p, new Permutation(n, rank));
+        assertEquals(p, new Permutation(n, rank.add(f)));
+        assertEquals(p, new Permutation(n, rank.subtract(f)));
+      }
+      assertEquals(BigInteger.ZERO, new Permutation(n, BigInteger.ZERO).toBigInteger());
+      BigInteger last = f.subtract(BigInteger.ONE);
+      assertEquals(last, new Permutation(n, last).toBigInteger());
+      assertEquals(BigInteger.valueOf(12345), new Permutation(n, 12345).toBigInteger());
+    }
+  }
+
+  @Test
+  public void testLongRank() {
+    SplittableRandom r = new SplittableRandom(42);
+    long fact = 1;
+    for (int n = 0; n <= 20; n++) {
+      if (n > 1) fact *= n;
+      int[] buffer = new int[n];
+      for (int i = 0; i < 20; i++) {
+        long which = i < 2 ? i * (fact - 1) : r.nextLong(fact);
+        Permutation p = new Permutation(n, which);
+        validatePermutation(p, n);
+        assertEquals(which, p.toLong());
+        assertEquals(BigInteger.valueOf(which), p.toBigInteger());
+        assertEquals(BigInteger.valueOf(which), naiveRank(p));
+        assertEquals(p, new Permutation(n, BigInteger.valueOf(which)));
+        assertEquals(p, new Permutation(n, which + fact));
+        Permutation.unrank(which, buffer);
+        assertArrayEquals(p.toArray(), buffer);
+        assertEquals(which, Permutation.rank(buffer));
+        if (n <= 12) {
+          assertEquals(which, p.toInteger());
+          assertEquals(p, new Permutation(n, (int) which));
+        }
+      }
+    }
+    int[] p100 = new int[100];
+    Permutation.unrank(123456789L, p100);
+    assertEquals(new Permutation(100, 123456789), new Permutation(p100));
+    assertThrows(UnsupportedOperationException.class, () -> new Permutation(21).toLong());
+    assertThrows(UnsupportedOperationException.class, () -> Permutation.rank(new int[21]));
+  }
+
+  private BigInteger naiveRank(Permutation p) {
+    int n = p.length();
+    BigInteger result = BigInteger.ZERO;
+    BigInteger multiplier = BigInteger.ONE;
+    for (int i = 0; i < n; i++) {
+      int digit = 0;
+      for (int j = i + 1; j < n; j++) {
+        if (p.get(j) < p.get(i)) digit++;
+      }
+      result = result.add(multiplier.multiply(BigInteger.valueOf(digit)));
+      multiplier = multiplier.multiply(BigInteger.valueOf(n - i));
+    }
+    return result;
+  }
+
   @Test
   public void testToIntegerExceptions() {
     UnsupportedOperationException thrown =
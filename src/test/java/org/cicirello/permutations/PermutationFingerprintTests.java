@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for the fingerprint64() method and its incremental maintenance by the mutators. */
+public class PermutationFingerprintTests {
+
+  @Test
+  public void testDistinctForAllPermutations() {
+    HashSet<Long> fingerprints = new HashSet<Long>();
+    for (Permutation p : new Permutation(8)) {
+      assertTrue(fingerprints.add(p.fingerprint64()));
+    }
+    assertEquals(40320, fingerprints.size());
+    assertEquals(0L, new Permutation(0).fingerprint64());
+  }
+
+  @Test
+  public void testEqualPermutations() {
+    SplittableRandom r = new SplittableRandom(42);
+    for (int n = 1; n <= 20; n++) {
+      Permutation p = new Permutation(n, r);
+      Permutation q = new Permutation(p.toArray());
+      assertEquals(q.fingerprint64(), p.fingerprint64());
+      assertEquals(p.fingerprint64(), p.fingerprint64());
+      assertEquals(p.fingerprint64(), new Permutation(p).fingerprint64());
+      assertEquals(p.fingerprint64(), p.copy().fingerprint64());
+    }
+  }
+
+  @Test
+  public void testIncrementalUpdates() {
+    SplittableRandom r = new SplittableRandom(73);
+    final int n = 12;
+    Permutation p = new Permutation(n, r);
+    p.fingerprint64();
+    for (int trial = 0; trial < 2000; trial++) {
+      int i = r.nextInt(n);
+      int j = r.nextInt(n);
+      switch (trial % 14) {
+        case 0 -> p.swap(i, j);
+        case 1 -> p.reverse(i, j);
+        case 2 -> p.reverse();
+        case 3 -> p.removeAndInsert(i, j);
+        case 4 -> {
+          int size = 1 + r.nextInt(n - Math.max(i, j));
+          p.removeAndInsert(i, size, j);
+        }
+        case 5 -> p.rotate(i - j);
+        case 6 -> p.cycle(new int[] {i, j, r.nextInt(n), r.nextInt(n)});
+        case 7 -> {
+          int a = r.nextInt(n - 3);
+          int b = a + r.nextInt(n - 3 - a);
+          int c = b + 1 + r.nextInt(n - 2 - b);
+          int d = c + r.nextInt(n - c);
+          p.swapBlocks(a, b, c, d);
+        }
+        case 8 -> p.scramble(i, j, r);
+        case 9 -> p.scramble(new int[] {i, j, r.nextInt(n)}, r);
+        case 10 -> p.invert();
+        case 11 -> p.scramble(r, true);
+        case 12 -> p.apply(a -> a[0] = a[0]);
+        default -> p.set(new Permutation(n, r).toArray());
+      }
+      assertEquals(new Permutation(p.toArray()).fingerprint64(), p.fingerprint64());
+    }
+  }
+
+  @Test
+  public void testBinaryApplyInvalidatesBoth() {
+    SplittableRandom r = new SplittableRandom(11);
+    Permutation p1 = new Permutation(10, r);
+    Permutation p2 = new Permutation(10, r);
+    p1.fingerprint64();
+    p2.fingerprint64();
+    p1.apply(
+        (a, b) -> {
+          int temp = a[0];
+          a[0] = a[1];
+          a[1] = temp;
+          temp = b[2];
+          b[2] = b[3];
+          b[3] = temp;
+        },
+        p2);
+    assertEquals(new Permutation(p1.toArray()).fingerprint64(), p1.fingerprint64());
+    assertEquals(new Permutation(p2.toArray()).fingerprint64(), p2.fingerprint64());
+  }
+
+  @Test
+  public void testIterator() {
+    Permutation start = new Permutation(6, new SplittableRandom(5));
+    start.fingerprint64();
+    start.hashCode();
+    for (Permutation p : start) {
+      Permutation fresh = new Permutation(p.toArray());
+      assertEquals(fresh.fingerprint64(), p.fingerprint64());
+      assertEquals(fresh.hashCode(), p.hashCode());
+    }
+  }
+}
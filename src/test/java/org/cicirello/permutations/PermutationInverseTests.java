@@ -1,6 +1,6 @@
 /*
  * JavaPermutationTools: A Java library for computation on permutations and sequences
- * Copyright 2005-2023 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -23,6 +23,8 @@ package org.cicirello.permutations;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.SplittableRandom;
+import java.util.function.IntUnaryOperator;
 import org.junit.jupiter.api.*;
 
 /** JUnit tests for inverting a Permutation. */
@@ -83,4 +85,98 @@ public class PermutationInverseTests {
     assertEquals(pExpected, p);
     assertEquals(pExpected.hashCode(), p.hashCode());
   }
+
+  @Test
+  public void testInverseView() {
+    Permutation p = new Permutation(new int[] {4, 2, 5, 0, 3, 1});
+    int[] expected = {3, 5, 1, 4, 0, 2};
+    IntUnaryOperator view = p.inverseView();
+    for (int e = 0; e < expected.length; e++) {
+      assertEquals(expected[e], view.applyAsInt(e));
+    }
+    int[] inv = p.getInverse();
+    assertArrayEquals(expected, inv);
+    inv[0] = 0;
+    assertEquals(3, view.applyAsInt(0));
+    assertArrayEquals(expected, p.getInverse());
+    Permutation copy = new Permutation(p);
+    copy.swap(0, 1);
+    assertEquals(3, view.applyAsInt(0));
+    p.invert();
+    assertArrayEquals(expected, p.toArray());
+    for (int e = 0; e < expected.length; e++) {
+      assertEquals(e, expected[view.applyAsInt(e)]);
+    }
+    assertNotNull(new Permutation(0).inverseView());
+  }
+
+  @Test
+  public void testInverseViewIncrementalUpdates() {
+    SplittableRandom r = new SplittableRandom(42);
+    final int n = 12;
+    Permutation p = new Permutation(n, r);
+    IntUnaryOperator view = p.inverseView();
+    for (int trial = 0; trial < 2000; trial++) {
+      int i = r.nextInt(n);
+      int j = r.nextInt(n);
+      switch (trial % 13) {
+        case 0 -> p.swap(i, j);
+        case 1 -> p.reverse(i, j);
+        case 2 -> p.reverse();
+        case 3 -> p.removeAndInsert(i, j);
+        case 4 -> p.removeAndInsert(i, 1 + r.nextInt(n - Math.max(i, j)), j);
+        case 5 -> p.rotate(i - j);
+        case 6 -> p.cycle(new int[] {i, j, r.nextInt(n), r.nextInt(n)});
+        case 7 -> {
+          int a = r.nextInt(n - 3);
+          int b = a + r.nextInt(n - 3 - a);
+          int c = b + 1 + r.nextInt(n - 2 - b);
+          p.swapBlocks(a, b, c, c + r.nextInt(n - c));
+        }
+        case 8 -> p.scramble(i, j, r);
+        case 9 -> p.scramble(new int[] {i, j, r.nextInt(n)}, r);
+        case 10 -> p.invert();
+        case 11 -> p.scramble(r);
+        default -> p.apply(a -> {});
+      }
+      // only look up on some trials, so that updates are also applied to an invalid cache
+      if (trial % 3 != 0) {
+        for (int k = 0; k < n; k++) {
+          assertEquals(k, p.get(view.applyAsInt(k)));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testInvertLonger() {
+    SplittableRandom r = new SplittableRandom(7);
+    for (int n = 0; n <= 300; n += 13) {
+      Permutation p = new Permutation(n, r);
+      int[] expected = p.getInverse();
+      p.invert();
+      assertArrayEquals(expected, p.toArray());
+    }
+  }
+
+  @Test
+  public void testMutatorsBeyondScratchLimit() {
+    SplittableRandom r = new SplittableRandom(11);
+    int n = Permutation.SCRATCH_LIMIT * 2 + 5;
+    Permutation p = new Permutation(n, r);
+    int[] original = p.toArray();
+    p.invert();
+    for (int i = 0; i < n; i++) {
+      assertEquals(i, p.get(original[i]));
+    }
+    p.invert();
+    assertArrayEquals(original, p.toArray());
+    int k = n / 2 - 3;
+    p.rotate(k);
+    for (int i = 0; i < n; i++) {
+      assertEquals(original[(i + k) % n], p.get(i));
+    }
+    p.rotate(n - k);
+    assertArrayEquals(original, p.toArray());
+  }
 }
@@ -1,6 +1,6 @@
 /*
  * JavaPermutationTools: A Java library for computation on permutations and sequences
- * Copyright 2005-2023 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -64,4 +64,54 @@ public class PermutationIteratorTests {
     assertEquals(fact, count);
     NoSuchElementException thrown = assertThrows(NoSuchElementException.class, () -> iter.next());
   }
+
+  @Test
+  public void testForEachPermutation() {
+    int fact = 1;
+    for (int n = 0; n <= 6; n++) {
+      if (n > 0) fact *= n;
+      final boolean[] found = new boolean[fact];
+      final int[] count = {0};
+      final Permutation[] first = {null};
+      final PermutationIterator iter = new PermutationIterator(new Permutation(n, 0));
+      assertTrue(
+          Permutation.forEachPermutation(
+              n,
+              p -> {
+                if (first[0] == null) first[0] = p;
+                assertSame(first[0], p);
+                assertEquals(iter.next(), p);
+                int permID = p.toInteger();
+                assertFalse(found[permID]);
+                found[permID] = true;
+                count[0]++;
+                return true;
+              }));
+      assertEquals(fact, count[0]);
+      assertFalse(iter.hasNext());
+      assertEquals(new Permutation(n, 0), first[0]);
+    }
+  }
+
+  @Test
+  public void testForEachPermutationEarlyTermination() {
+    final int[] count = {0};
+    assertFalse(
+        Permutation.forEachPermutation(
+            5,
+            p -> {
+              count[0]++;
+              return count[0] < 17;
+            }));
+    assertEquals(17, count[0]);
+    count[0] = 0;
+    assertFalse(
+        Permutation.forEachPermutation(
+            0,
+            p -> {
+              count[0]++;
+              return false;
+            }));
+    assertEquals(1, count[0]);
+  }
 }
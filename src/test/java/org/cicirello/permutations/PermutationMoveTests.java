@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.function.Consumer;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for the PermutationMove descriptors. */
+public class PermutationMoveTests {
+
+  @Test
+  public void testApplyMatchesMutators() {
+    for (int n = 1; n <= 7; n++) {
+      Permutation original = new Permutation(n);
+      for (int i = 0; i < n; i++) {
+        for (int j = 0; j < n; j++) {
+          final int i1 = i;
+          final int j1 = j;
+          assertApply(original, new PermutationMove.Swap(i, j), p -> p.swap(i1, j1));
+          assertApply(original, new PermutationMove.Reversal(i, j), p -> p.reverse(i1, j1));
+          assertApply(
+              original, new PermutationMove.Insertion(i, j), p -> p.removeAndInsert(i1, j1));
+        }
+      }
+      for (int size = 1; size <= n; size++) {
+        for (int i = 0; i + size <= n; i++) {
+          for (int j = 0; j + size <= n; j++) {
+            final int i1 = i;
+            final int j1 = j;
+            final int s = size;
+            assertApply(
+                original,
+                new PermutationMove.BlockInsertion(i, size, j),
+                p -> p.removeAndInsert(i1, s, j1));
+          }
+        }
+      }
+      for (int a = 0; a < n; a++) {
+        for (int b = a; b < n; b++) {
+          for (int i = b + 1; i < n; i++) {
+            for (int j = i; j < n; j++) {
+              final int a1 = a;
+              final int b1 = b;
+              final int i1 = i;
+              final int j1 = j;
+              assertApply(
+                  original,
+                  new PermutationMove.BlockSwap(a, b, i, j),
+                  p -> p.swapBlocks(a1, b1, i1, j1));
+            }
+          }
+        }
+      }
+      for (int r = -n; r <= n; r++) {
+        final int r1 = r;
+        assertApply(original, new PermutationMove.Rotation(r), p -> p.rotate(r1));
+      }
+    }
+  }
+
+  @Test
+  public void testBlockSwapValidation() {
+    assertThrows(IllegalArgumentException.class, () -> new PermutationMove.BlockSwap(-1, 0, 1, 2));
+    assertThrows(IllegalArgumentException.class, () -> new PermutationMove.BlockSwap(1, 0, 2, 3));
+    assertThrows(IllegalArgumentException.class, () -> new PermutationMove.BlockSwap(0, 1, 1, 2));
+    assertThrows(IllegalArgumentException.class, () -> new PermutationMove.BlockSwap(0, 1, 3, 2));
+  }
+
+  @Test
+  public void testValidation() {
+    PermutationMove[] invalid = {
+      new PermutationMove.Swap(9, 9),
+      new PermutationMove.Swap(0, 5),
+      new PermutationMove.Reversal(7, 7),
+      new PermutationMove.Reversal(-1, 3),
+      new PermutationMove.Insertion(-1, -1),
+      new PermutationMove.BlockInsertion(9, 0, 12),
+      new PermutationMove.BlockInsertion(1, -1, 2),
+      new PermutationMove.BlockInsertion(2, 2, 4)
+    };
+    for (PermutationMove move : invalid) {
+      assertFalse(move.isValidFor(5), move.toString());
+      assertThrows(ArrayIndexOutOfBoundsException.class, () -> move.apply(new Permutation(5)));
+    }
+    PermutationMove blockSwap = new PermutationMove.BlockSwap(0, 1, 3, 5);
+    assertFalse(blockSwap.isValidFor(5));
+    assertThrows(IllegalArgumentException.class, () -> blockSwap.apply(new Permutation(5)));
+    PermutationMove[] valid = {
+      new PermutationMove.Swap(4, 4),
+      new PermutationMove.Reversal(0, 4),
+      new PermutationMove.Insertion(4, 0),
+      new PermutationMove.BlockInsertion(4, 0, 0),
+      new PermutationMove.BlockInsertion(3, 2, 0),
+      new PermutationMove.BlockSwap(0, 1, 3, 4),
+      new PermutationMove.Rotation(10),
+      new PermutationMove.Rotation(-7)
+    };
+    for (PermutationMove move : valid) {
+      assertTrue(move.isValidFor(5), move.toString());
+    }
+    assertTrue(new PermutationMove.Rotation(3).isValidFor(0));
+    assertFalse(new PermutationMove.Swap(0, 0).isValidFor(0));
+  }
+
+  @Test
+  public void testEqualsAndHashCode() {
+    assertEquals(new PermutationMove.Swap(1, 2), new PermutationMove.Swap(1, 2));
+    assertEquals(
+        new PermutationMove.Swap(1, 2).hashCode(), new PermutationMove.Swap(1, 2).hashCode());
+    assertNotEquals(new PermutationMove.Swap(1, 2), new PermutationMove.Reversal(1, 2));
+  }
+
+  private static void assertApply(
+      Permutation original,
+      PermutationMove move,
+      Consumer<Permutation> expected) {
+    Permutation p1 = new Permutation(original);
+    Permutation p2 = new Permutation(original);
+    move.apply(p1);
+    expected.accept(p2);
+    assertEquals(p2, p1, move.toString());
+  }
+}
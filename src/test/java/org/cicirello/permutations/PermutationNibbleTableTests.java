@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for the PermutationNibbleTable class. */
+public class PermutationNibbleTableTests {
+
+  @Test
+  public void testHeap() {
+    for (int n = 0; n <= 7; n++) {
+      validate(new PermutationNibbleTable(n), n);
+    }
+    assertThrows(IllegalArgumentException.class, () -> new PermutationNibbleTable(-1));
+    assertThrows(IllegalArgumentException.class, () -> new PermutationNibbleTable(14));
+  }
+
+  @Test
+  public void testMapped() throws IOException {
+    Path dir = Files.createTempDirectory("jpt");
+    Path file = dir.resolve("nibbles7.bin");
+    try {
+      PermutationNibbleTable table = new PermutationNibbleTable(7, file);
+      validate(table, 7);
+      table.set(100, 9);
+      table.force();
+      assertEquals(5040 / 2, Files.size(file));
+      PermutationNibbleTable reopened = new PermutationNibbleTable(7, file);
+      assertEquals(9, reopened.get(100));
+      assertThrows(IOException.class, () -> new PermutationNibbleTable(8, file));
+    } finally {
+      Files.deleteIfExists(file);
+      Files.deleteIfExists(dir);
+    }
+  }
+
+  @Test
+  public void testConcurrentCompareAndSet() throws InterruptedException {
+    PermutationNibbleTable table = new PermutationNibbleTable(8);
+    table.fill(15);
+    AtomicLong claimed = new AtomicLong();
+    Thread[] threads = new Thread[4];
+    for (int t = 0; t < threads.length; t++) {
+      final int value = t + 1;
+      threads[t] =
+          new Thread(
+              () -> {
+                for (long r = 0; r < table.capacity(); r++) {
+                  if (table.compareAndSet(r, 15, value)) {
+                    claimed.incrementAndGet();
+                  }
+                }
+              });
+      threads[t].start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+    assertEquals(40320, claimed.get());
+    for (long r = 0; r < table.capacity(); r++) {
+      assertTrue(table.get(r) >= 1 && table.get(r) <= 4);
+    }
+  }
+
+  private void validate(PermutationNibbleTable table, int n) {
+    final long fact = PermutationBitSet.factorial(n);
+    assertEquals(n, table.length());
+    assertEquals(fact, table.capacity());
+    for (long r = 0; r < fact; r++) {
+      assertEquals(0, table.get(r));
+    }
+    for (long r = 0; r < fact; r++) {
+      Permutation p = new Permutation(n, r);
+      table.set(p, (int) (p.toLong() % 16));
+    }
+    for (long r = 0; r < fact; r++) {
+      Permutation p = new Permutation(n, r);
+      assertEquals(p.toLong() % 16, table.get(p));
+      assertEquals(p.toLong() % 16, table.get(p.toLong()));
+    }
+    assertTrue(table.compareAndSet(0, 0, 12));
+    assertFalse(table.compareAndSet(0, 0, 13));
+    assertEquals(12, table.get(0));
+    table.fill(7);
+    for (long r = 0; r < fact; r++) {
+      assertEquals(7, table.get(r));
+    }
+    table.fill(0);
+    assertThrows(IndexOutOfBoundsException.class, () -> table.get(fact));
+    assertThrows(IndexOutOfBoundsException.class, () -> table.set(-1, 0));
+    assertThrows(IllegalArgumentException.class, () -> table.set(0, 16));
+    assertThrows(IllegalArgumentException.class, () -> table.fill(-1));
+    assertThrows(IllegalArgumentException.class, () -> table.get(new Permutation(n + 1)));
+  }
+}
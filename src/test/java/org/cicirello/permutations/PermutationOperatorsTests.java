@@ -1,6 +1,6 @@
 /*
  * JavaPermutationTools: A Java library for computation on permutations and sequences
- * Copyright 2005-2023 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -351,4 +351,161 @@ public class PermutationOperatorsTests {
                     p2));
     assertTrue(thrown.getCause() instanceof IllegalArgumentException);
   }
+
+  @Test
+  public void testValidatedRangeUnaryOperator() {
+    Permutation p = new Permutation(10, new SplittableRandom(42));
+    p.fingerprint64();
+    p.inverseView();
+    Permutation expected = new Permutation(p);
+    expected.reverse(2, 6);
+    p.applyThenValidate(
+        perm -> {
+          for (int i = 2, j = 6; i < j; i++, j--) {
+            int temp = perm[i];
+            perm[i] = perm[j];
+            perm[j] = temp;
+          }
+        },
+        2,
+        6);
+    assertEquals(expected, p);
+    assertEquals(expected.hashCode(), p.hashCode());
+    assertEquals(new Permutation(p).fingerprint64(), p.fingerprint64());
+    assertArrayEquals(expected.getInverse(), p.getInverse());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(expected.getInverse()[i], p.inverseView().applyAsInt(i));
+    }
+    // Element within range but from outside of the declared range.
+    final int outside = p.get(0);
+    IllegalPermutationStateException thrown =
+        assertThrows(
+            IllegalPermutationStateException.class,
+            () -> p.applyThenValidate(perm -> perm[3] = outside, 2, 6));
+    assertTrue(thrown.getCause() instanceof IllegalArgumentException);
+    // Duplicate within range.
+    Permutation p2 = new Permutation(expected);
+    thrown =
+        assertThrows(
+            IllegalPermutationStateException.class,
+            () -> p2.applyThenValidate(perm -> perm[3] = perm[4], 2, 6));
+    assertTrue(thrown.getCause() instanceof IllegalArgumentException);
+    // Out of bounds element.
+    Permutation p3 = new Permutation(expected);
+    thrown =
+        assertThrows(
+            IllegalPermutationStateException.class,
+            () -> p3.applyThenValidate(perm -> perm[5] = 10, 2, 6));
+    assertTrue(thrown.getCause() instanceof IllegalArgumentException);
+    thrown =
+        assertThrows(
+            IllegalPermutationStateException.class,
+            () -> p3.applyThenValidate(perm -> perm[5] = -1, 5, 5));
+    assertTrue(thrown.getCause() instanceof IllegalArgumentException);
+    // Caches are not used after a failed validation.
+    p3.apply(perm -> perm[5] = expected.get(5));
+    assertEquals(expected, p3);
+    assertEquals(new Permutation(p3).fingerprint64(), p3.fingerprint64());
+    assertArrayEquals(expected.getInverse(), p3.getInverse());
+    // Invalid ranges.
+    assertThrows(IllegalArgumentException.class, () -> p.applyThenValidate(perm -> {}, 5, 4));
+    assertThrows(IndexOutOfBoundsException.class, () -> p.applyThenValidate(perm -> {}, -1, 4));
+    assertThrows(IndexOutOfBoundsException.class, () -> p.applyThenValidate(perm -> {}, 5, 10));
+  }
+
+  @Test
+  public void testValidatedRangeFullUnaryOperator() {
+    Permutation p = new Permutation(10, new SplittableRandom(42));
+    p.fingerprint64();
+    p.inverseView();
+    Permutation expected = new Permutation(p);
+    expected.swap(3, 8);
+    expected.reverse(4, 7);
+    p.applyThenValidate(
+        (perm, original) -> {
+          original.swap(3, 8);
+          for (int i = 4, j = 7; i < j; i++, j--) {
+            int temp = perm[i];
+            perm[i] = perm[j];
+            perm[j] = temp;
+          }
+        },
+        3,
+        8);
+    assertEquals(expected, p);
+    assertEquals(expected.hashCode(), p.hashCode());
+    assertEquals(new Permutation(p).fingerprint64(), p.fingerprint64());
+    assertArrayEquals(expected.getInverse(), p.getInverse());
+    // An operator that itself validates another permutation.
+    Permutation other = new Permutation(10);
+    int[] array = other.toArray();
+    p.applyThenValidate(
+        (perm, original) -> {
+          other.set(array);
+          int temp = perm[0];
+          perm[0] = perm[1];
+          perm[1] = temp;
+        },
+        0,
+        1);
+    expected.swap(0, 1);
+    assertEquals(expected, p);
+    IllegalPermutationStateException thrown =
+        assertThrows(
+            IllegalPermutationStateException.class,
+            () -> p.applyThenValidate((perm, original) -> perm[2] = perm[9], 0, 2));
+    assertTrue(thrown.getCause() instanceof IllegalArgumentException);
+    assertThrows(
+        IllegalArgumentException.class, () -> p.applyThenValidate((perm, original) -> {}, 5, 4));
+    assertThrows(
+        IndexOutOfBoundsException.class,
+        () -> p.applyThenValidate((perm, original) -> {}, 0, 10));
+  }
+
+  @Test
+  public void testRepeatedValidation() {
+    for (int n = 2; n <= 40; n++) {
+      Permutation p = new Permutation(n, new SplittableRandom(n));
+      int[] original = p.toArray();
+      final int last = n - 1;
+      for (int trial = 0; trial < 100; trial++) {
+        p.applyThenValidate(perm -> {});
+        p.applyThenValidate(perm -> {}, 0, last);
+        assertThrows(
+            IllegalPermutationStateException.class,
+            () -> p.applyThenValidate(perm -> perm[0] = perm[last]));
+        p.apply(perm -> System.arraycopy(original, 0, perm, 0, perm.length));
+        assertArrayEquals(original, p.toArray());
+      }
+    }
+  }
+
+  @Test
+  public void testValidationBeyondScratchLimit() {
+    final int n = Permutation.SCRATCH_LIMIT + 3;
+    Permutation p = new Permutation(n, new SplittableRandom(7));
+    int[] original = p.toArray();
+    p.applyThenValidate(perm -> {});
+    p.applyThenValidate(perm -> {}, n - 5, n - 1);
+    assertEquals(p, new Permutation(original));
+    IllegalPermutationStateException thrown =
+        assertThrows(
+            IllegalPermutationStateException.class,
+            () -> p.applyThenValidate(perm -> perm[n - 1] = perm[0]));
+    assertTrue(thrown.getCause() instanceof IllegalArgumentException);
+    Permutation p2 = new Permutation(original);
+    thrown =
+        assertThrows(
+            IllegalPermutationStateException.class,
+            () -> p2.applyThenValidate(perm -> perm[n - 2] = perm[n - 1], n - 2, n - 1));
+    assertTrue(thrown.getCause() instanceof IllegalArgumentException);
+    original[0] = original[n - 1];
+    assertThrows(IllegalArgumentException.class, () -> new Permutation(original));
+    // Shorter permutations validate correctly after the longer ones.
+    Permutation small = new Permutation(10, new SplittableRandom(7));
+    small.applyThenValidate(perm -> {});
+    assertThrows(
+        IllegalPermutationStateException.class,
+        () -> small.applyThenValidate(perm -> perm[0] = perm[9]));
+  }
 }
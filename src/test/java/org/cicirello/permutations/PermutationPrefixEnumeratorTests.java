@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for the PermutationPrefixEnumerator. */
+public class PermutationPrefixEnumeratorTests {
+
+  @Test
+  public void testWithoutRestrictions() {
+    for (int n = 0; n <= 6; n++) {
+      PermutationPrefixEnumerator e = new PermutationPrefixEnumerator(n);
+      assertEquals(n, e.length());
+      Set<Permutation> expected = PermutationSpace.stream(n).collect(Collectors.toSet());
+      assertEquals(expected, sequential(e, (p, length) -> true));
+      for (int depth = 0; depth <= n + 1; depth++) {
+        assertEquals(expected, parallel(e, (p, length) -> true, depth));
+      }
+    }
+  }
+
+  @Test
+  public void testRestrictionsAndPruning() {
+    SplittableRandom r = new SplittableRandom(42);
+    for (int n = 1; n <= 6; n++) {
+      for (int trial = 0; trial < 10; trial++) {
+        PermutationPrefixEnumerator e = new PermutationPrefixEnumerator(n);
+        final boolean[][] forbidden = new boolean[n][n];
+        for (int k = 0; k < n; k++) {
+          int i = r.nextInt(n);
+          int el = r.nextInt(n);
+          e.forbid(i, el);
+          forbidden[i][el] = true;
+        }
+        final int fixedIndex = r.nextInt(n);
+        final int fixedElement = r.nextInt(n);
+        boolean fixedConflicts = forbidden[fixedIndex][fixedElement];
+        if (trial % 2 == 0) e.fix(fixedIndex, fixedElement);
+        final boolean fixed = trial % 2 == 0;
+        // precedence constraint: element a must precede element b
+        final int a = r.nextInt(n);
+        final int b = n > 1 ? (a + 1 + r.nextInt(n - 1)) % n : a;
+        PermutationPrefixPredicate precedence =
+            (p, length) -> a == b || p.get(length - 1) != b || contains(p, length - 1, a);
+        Set<Permutation> expected =
+            PermutationSpace.stream(n)
+                .filter(
+                    p -> {
+                      for (int i = 0; i < p.length(); i++) {
+                        if (forbidden[i][p.get(i)]) return false;
+                      }
+                      if (fixed && p.get(fixedIndex) != fixedElement) return false;
+                      return a == b || indexOf(p, a) < indexOf(p, b);
+                    })
+                .collect(Collectors.toSet());
+        if (fixed && fixedConflicts) assertTrue(expected.isEmpty());
+        assertEquals(expected, sequential(e, precedence));
+        assertEquals(expected, parallel(e, precedence, 2));
+      }
+    }
+  }
+
+  @Test
+  public void testPrefixLengths() {
+    final int n = 5;
+    final AtomicInteger[] calls = new AtomicInteger[n + 1];
+    for (int k = 0; k <= n; k++) calls[k] = new AtomicInteger();
+    PermutationPrefixEnumerator e = new PermutationPrefixEnumerator(n);
+    // prune every prefix whose first element is not 0
+    Set<Permutation> actual =
+        sequential(
+            e,
+            (p, length) -> {
+              calls[length].incrementAndGet();
+              return p.get(0) == 0;
+            });
+    assertEquals(24, actual.size());
+    assertEquals(0, calls[0].get());
+    assertEquals(5, calls[1].get());
+    assertEquals(4, calls[2].get());
+    assertEquals(24, calls[5].get());
+  }
+
+  @Test
+  public void testEarlyTermination() {
+    PermutationPrefixEnumerator e = new PermutationPrefixEnumerator(6);
+    final int[] count = {0};
+    assertFalse(
+        e.forEach(
+            (p, length) -> true,
+            p -> {
+              count[0]++;
+              return count[0] < 10;
+            }));
+    assertEquals(10, count[0]);
+    final AtomicInteger parallelCount = new AtomicInteger();
+    assertFalse(
+        e.forEachParallel((p, length) -> true, p -> parallelCount.incrementAndGet() < 10, 2));
+    assertTrue(parallelCount.get() >= 10);
+    assertTrue(parallelCount.get() < 720);
+    assertTrue(e.forEach((p, length) -> true, p -> true));
+    assertTrue(e.forEachParallel((p, length) -> true, p -> true, 3));
+  }
+
+  @Test
+  public void testExceptions() {
+    PermutationPrefixEnumerator e = new PermutationPrefixEnumerator(4);
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> e.fix(4, 0));
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> e.forbid(0, -1));
+    assertThrows(
+        IllegalArgumentException.class, () -> e.forEachParallel((p, k) -> true, p -> true, -1));
+  }
+
+  private static Set<Permutation> sequential(
+      PermutationPrefixEnumerator e, PermutationPrefixPredicate predicate) {
+    HashSet<Permutation> found = new HashSet<Permutation>();
+    assertTrue(
+        e.forEach(
+            predicate,
+            p -> {
+              assertTrue(found.add(new Permutation(p)));
+              return true;
+            }));
+    return found;
+  }
+
+  private static Set<Permutation> parallel(
+      PermutationPrefixEnumerator e, PermutationPrefixPredicate predicate, int depth) {
+    Set<Permutation> found = ConcurrentHashMap.newKeySet();
+    assertTrue(e.forEachParallel(predicate, p -> found.add(new Permutation(p)), depth));
+    return found;
+  }
+
+  private static boolean contains(Permutation p, int length, int element) {
+    for (int i = 0; i < length; i++) {
+      if (p.get(i) == element) return true;
+    }
+    return false;
+  }
+
+  private static int indexOf(Permutation p, int element) {
+    return p.getInverse()[element];
+  }
+}
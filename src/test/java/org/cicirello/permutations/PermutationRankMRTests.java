@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigInteger;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for the Myrvold-Ruskey ranking of permutations. */
+public class PermutationRankMRTests {
+
+  @Test
+  public void testBijection() {
+    int fact = 1;
+    for (int n = 0; n <= 8; n++) {
+      if (n > 1) fact *= n;
+      boolean[] seen = new boolean[fact];
+      for (Permutation p : new Permutation(n)) {
+        int rank = p.toRankMR();
+        assertTrue(rank >= 0 && rank < fact);
+        assertFalse(seen[rank]);
+        seen[rank] = true;
+        assertEquals(rank, p.toLongRankMR());
+        assertEquals(BigInteger.valueOf(rank), p.toBigIntegerRankMR());
+        assertEquals(p, Permutation.fromRankMR(n, rank));
+        assertEquals(p, Permutation.fromRankMR(n, (long) rank));
+        assertEquals(p, Permutation.fromRankMR(n, BigInteger.valueOf(rank)));
+      }
+    }
+  }
+
+  @Test
+  public void testLong() {
+    SplittableRandom r = new SplittableRandom(42);
+    long fact = 1;
+    for (int n = 0; n <= 20; n++) {
+      if (n > 1) fact *= n;
+      for (int i = 0; i < 20; i++) {
+        long rank = i < 2 ? i * (fact - 1) : r.nextLong(fact);
+        Permutation p = Permutation.fromRankMR(n, rank);
+        assertEquals(rank, p.toLongRankMR());
+        assertEquals(BigInteger.valueOf(rank), p.toBigIntegerRankMR());
+        assertEquals(p, Permutation.fromRankMR(n, rank + fact));
+        assertEquals(p, Permutation.fromRankMR(n, BigInteger.valueOf(rank)));
+        Permutation q = new Permutation(n, r);
+        assertEquals(q, Permutation.fromRankMR(n, q.toLongRankMR()));
+      }
+    }
+  }
+
+  @Test
+  public void testBigInteger() {
+    SplittableRandom r = new SplittableRandom(42);
+    for (int n : new int[] {21, 64, 65, 100, 1000}) {
+      BigInteger f = BigInteger.ONE;
+      for (int i = 2; i <= n; i++) {
+        f = f.multiply(BigInteger.valueOf(i));
+      }
+      for (int i = 0; i < 10; i++) {
+        Permutation p = new Permutation(n, r);
+        BigInteger rank = p.toBigIntegerRankMR();
+        assertTrue(rank.signum() >= 0 && rank.compareTo(f) < 0);
+        assertEquals(p, Permutation.fromRankMR(n, rank));
+        assertEquals(p, Permutation.fromRankMR(n, rank.add(f)));
+      }
+      assertEquals(
+          f.subtract(BigInteger.ONE),
+          Permutation.fromRankMR(n, f.subtract(BigInteger.ONE)).toBigIntegerRankMR());
+    }
+  }
+
+  @Test
+  public void testExceptions() {
+    assertThrows(UnsupportedOperationException.class, () -> new Permutation(13).toRankMR());
+    assertThrows(UnsupportedOperationException.class, () -> new Permutation(21).toLongRankMR());
+  }
+}
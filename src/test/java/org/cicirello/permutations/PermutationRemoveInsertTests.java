@@ -1,6 +1,6 @@
 /*
  * JavaPermutationTools: A Java library for computation on permutations and sequences
- * Copyright 2005-2023 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -23,6 +23,7 @@ package org.cicirello.permutations;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.SplittableRandom;
 import org.junit.jupiter.api.*;
 
@@ -114,4 +115,28 @@ public class PermutationRemoveInsertTests {
     mutant.removeAndInsert(1, 3, 1);
     assertEquals(p, mutant);
   }
+
+  @Test
+  public void testRemoveAndInsertLongerBlocks() {
+    final int n = 60;
+    Permutation original = new Permutation(n, new SplittableRandom(42));
+    for (int size = 2; size <= n; size += 7) {
+      for (int i = 0; i + size <= n; i += 3) {
+        for (int j = 0; j + size <= n; j += 5) {
+          Permutation p = new Permutation(original);
+          p.removeAndInsert(i, size, j);
+          ArrayList<Integer> expected = new ArrayList<Integer>();
+          for (int k = 0; k < n; k++) {
+            if (k < i || k >= i + size) expected.add(original.get(k));
+          }
+          for (int k = 0; k < size; k++) {
+            expected.add(j + k, original.get(i + k));
+          }
+          for (int k = 0; k < n; k++) {
+            assertEquals(expected.get(k).intValue(), p.get(k));
+          }
+        }
+      }
+    }
+  }
 }
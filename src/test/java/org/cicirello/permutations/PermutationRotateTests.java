@@ -1,6 +1,6 @@
 /*
  * JavaPermutationTools: A Java library for computation on permutations and sequences
- * Copyright 2005-2023 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -58,4 +58,33 @@ public class PermutationRotateTests {
     }
     assertEquals(p.get(p.length() - 1), copy.get(0), "elements should be RIGHT rotated 1 place");
   }
+
+  @Test
+  public void testRotateLonger() {
+    final int n = 100;
+    Permutation original = new Permutation(n, new SplittableRandom(42));
+    for (int k = -n; k <= 2 * n; k++) {
+      Permutation p = new Permutation(original);
+      p.rotate(k);
+      for (int i = 0; i < n; i++) {
+        assertEquals(original.get(Math.floorMod(i + k, n)), p.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void testRotateBeyondScratchLimit() {
+    final int limit = Permutation.SCRATCH_LIMIT;
+    for (int n : new int[] {2 * limit + 2, 3 * limit + 7}) {
+      Permutation original = new Permutation(n, new SplittableRandom(n));
+      for (int k : new int[] {limit + 1, n / 2, n - limit - 3, limit - 1, n - 5}) {
+        Permutation p = new Permutation(original);
+        p.rotate(k);
+        for (int i = 0; i < n; i++) {
+          assertEquals(original.get((i + k) % n), p.get(i));
+        }
+        assertEquals(new Permutation(p.toArray()).hashCode(), p.hashCode());
+      }
+    }
+  }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for the PermutationSpace class. */
+public class PermutationSpaceTests {
+
+  @Test
+  public void testStreamLexicographicOrder() {
+    for (int n = 0; n <= 6; n++) {
+      List<Permutation> all = PermutationSpace.stream(n).collect(Collectors.toList());
+      assertEquals(PermutationBitSet.factorial(n), all.size());
+      for (int k = 1; k < all.size(); k++) {
+        assertTrue(compare(all.get(k - 1), all.get(k)) < 0);
+      }
+      if (n > 0) {
+        assertEquals(new Permutation(n, 0), all.get(0));
+      }
+    }
+  }
+
+  @Test
+  public void testParallelStream() {
+    for (int n = 1; n <= 7; n++) {
+      List<Permutation> sequential = PermutationSpace.stream(n).collect(Collectors.toList());
+      List<Permutation> parallel =
+          PermutationSpace.stream(n).parallel().collect(Collectors.toList());
+      assertEquals(sequential, parallel);
+      assertEquals(sequential.size(), PermutationSpace.stream(n).parallel().distinct().count());
+    }
+  }
+
+  @Test
+  public void testSpliteratorSplits() {
+    final int n = 5;
+    List<Permutation> expected = PermutationSpace.stream(n).collect(Collectors.toList());
+    Spliterator<Permutation> s = PermutationSpace.spliterator(n);
+    assertEquals(120, s.estimateSize());
+    assertEquals(120, s.getExactSizeIfKnown());
+    assertTrue(s.hasCharacteristics(Spliterator.SIZED));
+    assertTrue(s.hasCharacteristics(Spliterator.SUBSIZED));
+    assertTrue(s.hasCharacteristics(Spliterator.ORDERED));
+    ArrayList<Permutation> actual = new ArrayList<Permutation>();
+    assertTrue(s.tryAdvance(actual::add));
+    assertTrue(s.tryAdvance(actual::add));
+    Spliterator<Permutation> prefix = s.trySplit();
+    assertEquals(59, prefix.estimateSize());
+    assertEquals(59, s.estimateSize());
+    Spliterator<Permutation> prefix2 = prefix.trySplit();
+    prefix2.forEachRemaining(actual::add);
+    prefix.forEachRemaining(actual::add);
+    assertTrue(s.tryAdvance(actual::add));
+    s.forEachRemaining(actual::add);
+    assertFalse(s.tryAdvance(actual::add));
+    assertEquals(0, s.estimateSize());
+    assertEquals(expected, actual);
+    Spliterator<Permutation> one = PermutationSpace.spliterator(1);
+    assertNull(one.trySplit());
+  }
+
+  @Test
+  public void testAdvanceLexicographic() {
+    Permutation p = new Permutation(new int[] {2, 1, 0});
+    Permutation copy = new Permutation(p);
+    assertFalse(PermutationSpace.advanceLexicographic(p));
+    assertEquals(copy, p);
+    p = new Permutation(new int[] {1, 2, 0});
+    assertTrue(PermutationSpace.advanceLexicographic(p));
+    assertArrayEquals(new int[] {2, 0, 1}, p.toArray());
+  }
+
+  @Test
+  public void testExceptions() {
+    assertThrows(IllegalArgumentException.class, () -> PermutationSpace.stream(-1));
+    assertThrows(IllegalArgumentException.class, () -> PermutationSpace.stream(21));
+    assertEquals(2432902008176640000L, PermutationSpace.spliterator(20).estimateSize());
+  }
+
+  private static int compare(Permutation p1, Permutation p2) {
+    for (int i = 0; i < p1.length(); i++) {
+      if (p1.get(i) != p2.get(i)) return Integer.compare(p1.get(i), p2.get(i));
+    }
+    return 0;
+  }
+}
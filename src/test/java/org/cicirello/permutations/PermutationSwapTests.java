@@ -1,6 +1,6 @@
 /*
  * JavaPermutationTools: A Java library for computation on permutations and sequences
- * Copyright 2005-2023 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2005-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -23,6 +23,7 @@ package org.cicirello.permutations;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.SplittableRandom;
 import org.junit.jupiter.api.*;
 
 /** JUnit tests for swap and swapBlocks methods. */
@@ -148,4 +149,54 @@ public class PermutationSwapTests {
         assertThrows(
             IllegalArgumentException.class, () -> (new Permutation(10)).swapBlocks(1, 3, 5, 10));
   }
+
+  @Test
+  public void testSwapBlocksLonger() {
+    final int n = 40;
+    Permutation original = new Permutation(n, new SplittableRandom(42));
+    int[] o = original.toArray();
+    for (int a = 0; a < n; a += 3) {
+      for (int b = a; b < n; b += 4) {
+        for (int i = b + 1; i < n; i += 5) {
+          for (int j = i; j < n; j += 6) {
+            Permutation p = new Permutation(original);
+            p.swapBlocks(a, b, i, j);
+            int[] expected = new int[n];
+            int k = 0;
+            for (int x = 0; x < a; x++) expected[k++] = o[x];
+            for (int x = i; x <= j; x++) expected[k++] = o[x];
+            for (int x = b + 1; x < i; x++) expected[k++] = o[x];
+            for (int x = a; x <= b; x++) expected[k++] = o[x];
+            for (int x = j + 1; x < n; x++) expected[k++] = o[x];
+            assertArrayEquals(expected, p.toArray());
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testSwapBlocksBeyondScratchLimit() {
+    final int limit = Permutation.SCRATCH_LIMIT;
+    final int n = 3 * limit;
+    Permutation original = new Permutation(n, new SplittableRandom(42));
+    int[] o = original.toArray();
+    int[][] blocks = {{0, limit, limit + 5, n - 1}, {3, limit + 3, n - limit - 1, n - 1}};
+    for (int[] block : blocks) {
+      int a = block[0];
+      int b = block[1];
+      int i = block[2];
+      int j = block[3];
+      Permutation p = new Permutation(original);
+      p.swapBlocks(a, b, i, j);
+      int[] expected = new int[n];
+      int k = 0;
+      for (int x = 0; x < a; x++) expected[k++] = o[x];
+      for (int x = i; x <= j; x++) expected[k++] = o[x];
+      for (int x = b + 1; x < i; x++) expected[k++] = o[x];
+      for (int x = a; x <= b; x++) expected[k++] = o[x];
+      for (int x = j + 1; x < n; x++) expected[k++] = o[x];
+      assertArrayEquals(expected, p.toArray());
+    }
+  }
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import java.util.function.IntUnaryOperator;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for the begin, commit, and rollback methods of the Permutation class. */
+public class PermutationTransactionTests {
+
+  @Test
+  public void testStateErrors() {
+    Permutation p = new Permutation(5);
+    assertFalse(p.inTransaction());
+    assertThrows(IllegalStateException.class, () -> p.commit());
+    assertThrows(IllegalStateException.class, () -> p.rollback());
+    p.begin();
+    assertTrue(p.inTransaction());
+    assertThrows(IllegalStateException.class, () -> p.begin());
+    p.commit();
+    assertFalse(p.inTransaction());
+    p.begin();
+    p.rollback();
+    assertFalse(p.inTransaction());
+    assertFalse(new Permutation(p).inTransaction());
+  }
+
+  @Test
+  public void testCommit() {
+    Permutation p = new Permutation(10, new SplittableRandom(42));
+    Permutation expected = new Permutation(p);
+    p.begin();
+    p.swap(1, 5);
+    p.reverse(2, 8);
+    p.commit();
+    expected.swap(1, 5);
+    expected.reverse(2, 8);
+    assertEquals(expected, p);
+    p.begin();
+    p.rotate(3);
+    p.rollback();
+    assertEquals(expected, p);
+  }
+
+  @Test
+  public void testEmptyAndSingleton() {
+    for (int n = 0; n <= 1; n++) {
+      Permutation p = new Permutation(n);
+      Permutation expected = new Permutation(p);
+      p.begin();
+      p.reverse();
+      if (n > 0) p.rotate(1);
+      p.invert();
+      p.scramble();
+      p.scramble(true);
+      p.rollback();
+      assertEquals(expected, p);
+    }
+  }
+
+  @Test
+  public void testRollbackEachMutator() {
+    SplittableRandom r = new SplittableRandom(73);
+    final int n = 12;
+    for (int op = 0; op < 17; op++) {
+      for (int trial = 0; trial < 40; trial++) {
+        Permutation p = new Permutation(n, r);
+        Permutation original = new Permutation(p);
+        p.begin();
+        mutate(p, op, r);
+        p.rollback();
+        assertEquals(original, p);
+      }
+    }
+  }
+
+  @Test
+  public void testRollbackSequencesWithCaches() {
+    SplittableRandom r = new SplittableRandom(11);
+    final int n = 15;
+    Permutation p = new Permutation(n, r);
+    IntUnaryOperator inverse = p.inverseView();
+    for (int trial = 0; trial < 300; trial++) {
+      Permutation original = new Permutation(p);
+      long fingerprint = p.fingerprint64();
+      p.hashCode();
+      inverse.applyAsInt(0);
+      p.begin();
+      int moves = 1 + r.nextInt(8);
+      for (int m = 0; m < moves; m++) {
+        mutate(p, r.nextInt(17), r);
+      }
+      if (r.nextBoolean()) {
+        p.rollback();
+        assertEquals(original, p);
+        assertEquals(fingerprint, p.fingerprint64());
+      } else {
+        p.commit();
+        assertEquals(new Permutation(p.toArray()).fingerprint64(), p.fingerprint64());
+      }
+      assertEquals(new Permutation(p.toArray()).hashCode(), p.hashCode());
+      for (int e = 0; e < n; e++) {
+        assertEquals(e, p.get(inverse.applyAsInt(e)));
+      }
+    }
+  }
+
+  @Test
+  public void testBinaryApply() {
+    SplittableRandom r = new SplittableRandom(5);
+    Permutation p1 = new Permutation(8, r);
+    Permutation p2 = new Permutation(8, r);
+    Permutation original1 = new Permutation(p1);
+    Permutation original2 = new Permutation(p2);
+    p1.begin();
+    p2.begin();
+    p1.apply(
+        (a, b) -> {
+          for (int i = 0; i < a.length; i++) {
+            int temp = a[i];
+            a[i] = b[i];
+            b[i] = temp;
+          }
+        },
+        p2);
+    assertEquals(original2, p1);
+    assertEquals(original1, p2);
+    p1.rollback();
+    p2.rollback();
+    assertEquals(original1, p1);
+    assertEquals(original2, p2);
+  }
+
+  private void mutate(Permutation p, int op, SplittableRandom r) {
+    final int n = p.length();
+    int i = r.nextInt(n);
+    int j = r.nextInt(n);
+    switch (op) {
+      case 0 -> p.swap(i, j);
+      case 1 -> p.reverse(i, j);
+      case 2 -> p.reverse();
+      case 3 -> p.removeAndInsert(i, j);
+      case 4 -> p.removeAndInsert(i, 1 + r.nextInt(n - Math.max(i, j)), j);
+      case 5 -> p.rotate(i - j);
+      case 6 -> p.cycle(new int[] {i, j, r.nextInt(n), r.nextInt(n)});
+      case 7 -> {
+        int a = r.nextInt(n - 3);
+        int b = a + r.nextInt(n - 3 - a);
+        int c = b + 1 + r.nextInt(n - 2 - b);
+        p.swapBlocks(a, b, c, c + r.nextInt(n - c));
+      }
+      case 8 -> p.scramble(i, j, r);
+      case 9 -> p.scramble(new int[] {i, j, r.nextInt(n)}, r);
+      case 10 -> p.invert();
+      case 11 -> p.scramble(r);
+      case 12 -> p.scramble(r, true);
+      case 13 -> p.set(new Permutation(n, r).toArray());
+      case 14 -> p.apply(a -> a[0] = a[0]);
+      case 15 ->
+          p.apply(
+              (a, q) -> {
+                int temp = a[i];
+                a[i] = a[j];
+                a[j] = temp;
+              });
+      default -> p.applyThenValidate(a -> {});
+    }
+  }
+}
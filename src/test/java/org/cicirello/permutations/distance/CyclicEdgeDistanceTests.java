@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2022 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2018-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -47,6 +47,12 @@ public class CyclicEdgeDistanceTests extends SharedTestForPermutationDistance {
     }
   }
 
+  @Test
+  public void testPrepared() {
+    CyclicEdgeDistance d = new CyclicEdgeDistance();
+    preparedDistance(d);
+  }
+
   @Test
   public void testIdenticalPermutations() {
     CyclicEdgeDistance d = new CyclicEdgeDistance();
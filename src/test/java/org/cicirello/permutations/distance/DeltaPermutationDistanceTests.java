@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations.distance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import org.cicirello.permutations.Permutation;
+import org.cicirello.permutations.PermutationMove;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for the implementations of DeltaPermutationDistanceMeasurer. */
+public class DeltaPermutationDistanceTests {
+
+  private static final DeltaPermutationDistanceMeasurer[] MEASURERS = {
+    new ExactMatchDistance(),
+    new DeviationDistance(),
+    new SquaredDeviationDistance(),
+    new LeeDistance(),
+    new AcyclicEdgeDistance(),
+    new CyclicEdgeDistance(),
+    new RTypeDistance(),
+    new CyclicRTypeDistance(),
+    new KendallTauDistance()
+  };
+
+  @Test
+  public void testDeltaMatchesRecomputedDistance() {
+    for (int n = 1; n <= 7; n++) {
+      ArrayList<PermutationMove> moves = allMoves(n);
+      for (int trial = 0; trial < 3; trial++) {
+        Permutation current = new Permutation(n);
+        Permutation reference = new Permutation(n);
+        for (DeltaPermutationDistanceMeasurer d : MEASURERS) {
+          PreparedDeltaDistance prepared = d.prepareDelta(reference);
+          double before = d.distancef(current, reference);
+          for (PermutationMove move : moves) {
+            Permutation after = new Permutation(current);
+            move.apply(after);
+            assertEquals(
+                d.distancef(after, reference) - before,
+                prepared.deltaDistance(current, move),
+                d.getClass().getSimpleName() + " " + current + " " + reference + " " + move);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testPreparedIsIndependentOfReference() {
+    Permutation current = new Permutation(8);
+    Permutation reference = new Permutation(8);
+    Permutation original = new Permutation(reference);
+    ArrayList<PermutationMove> moves = allMoves(8);
+    for (DeltaPermutationDistanceMeasurer d : MEASURERS) {
+      PreparedDeltaDistance prepared = d.prepareDelta(reference);
+      reference.reverse();
+      double before = d.distancef(current, original);
+      for (PermutationMove move : moves) {
+        Permutation after = new Permutation(current);
+        move.apply(after);
+        assertEquals(d.distancef(after, original) - before, prepared.deltaDistance(current, move));
+      }
+      reference.reverse();
+    }
+  }
+
+  @Test
+  public void testDeltaDoesNotChangePermutations() {
+    Permutation current = new Permutation(10);
+    Permutation reference = new Permutation(10);
+    Permutation currentCopy = new Permutation(current);
+    Permutation referenceCopy = new Permutation(reference);
+    for (DeltaPermutationDistanceMeasurer d : MEASURERS) {
+      PreparedDeltaDistance prepared = d.prepareDelta(reference);
+      for (PermutationMove move : allMoves(10)) {
+        prepared.deltaDistance(current, move);
+      }
+    }
+    assertEquals(currentCopy, current);
+    assertEquals(referenceCopy, reference);
+  }
+
+  @Test
+  public void testExceptions() {
+    Permutation p5 = new Permutation(5);
+    Permutation p6 = new Permutation(6);
+    for (DeltaPermutationDistanceMeasurer d : MEASURERS) {
+      final PreparedDeltaDistance prepared = d.prepareDelta(new Permutation(5));
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> prepared.deltaDistance(p6, new PermutationMove.Swap(0, 1)));
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> prepared.deltaDistance(p5, new PermutationMove.Swap(0, 5)));
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> prepared.deltaDistance(p5, new PermutationMove.Reversal(-1, 3)));
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> prepared.deltaDistance(p5, new PermutationMove.BlockInsertion(2, 2, 4)));
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> prepared.deltaDistance(p5, new PermutationMove.BlockSwap(0, 1, 3, 5)));
+      // moves that would not change a permutation are still validated
+      PermutationMove[] unchanged = {
+        new PermutationMove.Swap(9, 9),
+        new PermutationMove.Swap(-1, -1),
+        new PermutationMove.Reversal(7, 7),
+        new PermutationMove.Insertion(5, 5),
+        new PermutationMove.BlockInsertion(9, 0, 12),
+        new PermutationMove.BlockInsertion(1, -1, 2),
+        new PermutationMove.BlockInsertion(3, 3, 3)
+      };
+      for (PermutationMove move : unchanged) {
+        assertThrows(IllegalArgumentException.class, () -> prepared.deltaDistance(p5, move));
+      }
+      assertEquals(0, prepared.deltaDistance(p5, new PermutationMove.Rotation(10)));
+      assertEquals(0, prepared.deltaDistance(p5, new PermutationMove.Rotation(-5)));
+      assertEquals(0, prepared.deltaDistance(p5, new PermutationMove.Swap(4, 4)));
+      assertEquals(0, prepared.deltaDistance(p5, new PermutationMove.BlockInsertion(4, 0, 0)));
+    }
+  }
+
+  @Test
+  public void testDeltaOnLongerPermutations() {
+    final int n = 100;
+    SplittableRandom r = new SplittableRandom(42);
+    ArrayList<PermutationMove> moves = new ArrayList<PermutationMove>();
+    for (int trial = 0; trial < 100; trial++) {
+      int i = r.nextInt(n);
+      int j = r.nextInt(n);
+      moves.add(new PermutationMove.Swap(i, j));
+      moves.add(new PermutationMove.Reversal(i, j));
+      moves.add(new PermutationMove.Insertion(i, j));
+      int size = 1 + r.nextInt(n / 2);
+      moves.add(
+          new PermutationMove.BlockInsertion(
+              r.nextInt(n - size + 1), size, r.nextInt(n - size + 1)));
+      int a = r.nextInt(n / 3);
+      int b = a + r.nextInt(n / 3);
+      int c = b + 1 + r.nextInt(n / 3);
+      moves.add(new PermutationMove.BlockSwap(a, b, c, c + r.nextInt(n - c)));
+      moves.add(new PermutationMove.Rotation(r.nextInt(-n, n)));
+    }
+    Permutation current = new Permutation(n, r);
+    Permutation reference = new Permutation(n, r);
+    for (DeltaPermutationDistanceMeasurer d : MEASURERS) {
+      PreparedDeltaDistance prepared = d.prepareDelta(reference);
+      double before = d.distancef(current, reference);
+      for (PermutationMove move : moves) {
+        Permutation after = new Permutation(current);
+        move.apply(after);
+        assertEquals(
+            d.distancef(after, reference) - before,
+            prepared.deltaDistance(current, move),
+            d.getClass().getSimpleName() + " " + move);
+      }
+    }
+  }
+
+  private static ArrayList<PermutationMove> allMoves(int n) {
+    ArrayList<PermutationMove> moves = new ArrayList<PermutationMove>();
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < n; j++) {
+        moves.add(new PermutationMove.Swap(i, j));
+        moves.add(new PermutationMove.Reversal(i, j));
+        moves.add(new PermutationMove.Insertion(i, j));
+      }
+    }
+    for (int size = 1; size <= n; size++) {
+      for (int i = 0; i + size <= n; i++) {
+        for (int j = 0; j + size <= n; j++) {
+          moves.add(new PermutationMove.BlockInsertion(i, size, j));
+        }
+      }
+    }
+    for (int a = 0; a < n; a++) {
+      for (int b = a; b < n; b++) {
+        for (int i = b + 1; i < n; i++) {
+          for (int j = i; j < n; j++) {
+            moves.add(new PermutationMove.BlockSwap(a, b, i, j));
+          }
+        }
+      }
+    }
+    for (int r = -n; r <= n; r++) {
+      moves.add(new PermutationMove.Rotation(r));
+    }
+    return moves;
+  }
+}
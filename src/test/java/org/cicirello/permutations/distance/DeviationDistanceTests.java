@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2022 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2018-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -47,12 +47,43 @@ public class DeviationDistanceTests extends SharedTestForPermutationDistance {
     }
   }
 
+  @Test
+  public void testPrepared() {
+    DeviationDistance d = new DeviationDistance();
+    preparedDistance(d);
+  }
+
   @Test
   public void testIdenticalPermutations() {
     DeviationDistance d = new DeviationDistance();
     identicalPermutations(d);
   }
 
+  @Test
+  public void testLongDistance() {
+    DeviationDistance d = new DeviationDistance();
+    for (int n = 0; n <= 7; n++) {
+      assertEquals(d.max(n), d.maxl(n));
+    }
+    Permutation p = new Permutation(6);
+    for (Permutation q : p) {
+      assertEquals(d.distance(p, q), d.distancel(p, q));
+    }
+    // large enough that both the max and the distance overflow an int
+    final int n = 70001;
+    final long expected = (70001L * 70001L - 1) / 2;
+    assertEquals(expected, d.maxl(n));
+    assertEquals(1.0 * expected, d.maxf(n));
+    assertThrows(ArithmeticException.class, () -> d.max(n));
+    Permutation p1 = new Permutation(n);
+    Permutation p2 = new Permutation(p1);
+    p2.reverse();
+    assertEquals(expected, d.distancel(p1, p2));
+    assertEquals(1.0 * expected, d.distancef(p1, p2));
+    assertEquals(1.0, d.normalizedDistance(p1, p2));
+    assertThrows(ArithmeticException.class, () -> d.distance(p1, p2));
+  }
+
   @Test
   public void testExceptions() {
     DeviationDistance d = new DeviationDistance();
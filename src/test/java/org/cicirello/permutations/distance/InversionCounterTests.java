@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations.distance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import org.cicirello.permutations.Permutation;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for InversionCounter. */
+public class InversionCounterTests {
+
+  @Test
+  public void testCountInversionsPermutations() {
+    InversionCounter counter = new InversionCounter();
+    for (int n = 0; n <= 70; n++) {
+      Permutation p = new Permutation(n);
+      int[] array = p.toArray();
+      long expected = naiveCount(array);
+      assertEquals(expected, counter.countInversions(array), "length: " + n);
+      for (int i = 0; i < n; i++) {
+        assertEquals(i, array[i]);
+      }
+    }
+    // reused for a shorter array after having grown
+    int[] array = {4, 3, 2, 1, 0};
+    assertEquals(10, counter.countInversions(array));
+    assertArrayEquals(new int[] {0, 1, 2, 3, 4}, array);
+  }
+
+  @Test
+  public void testCountInversionsDuplicates() {
+    InversionCounter counter = new InversionCounter(10);
+    SplittableRandom r = new SplittableRandom(42);
+    for (int n = 0; n <= 100; n++) {
+      int[] array = new int[n];
+      for (int i = 0; i < n; i++) {
+        array[i] = r.nextInt(5);
+      }
+      long expected = naiveCount(array);
+      assertEquals(expected, counter.countInversions(array), "length: " + n);
+      for (int i = 1; i < n; i++) {
+        assertTrue(array[i - 1] <= array[i]);
+      }
+    }
+  }
+
+  @Test
+  public void testKendallTauWithWorkspace() {
+    KendallTauDistance d = new KendallTauDistance();
+    InversionCounter workspace = new InversionCounter();
+    for (int n = 0; n <= 40; n++) {
+      Permutation p1 = new Permutation(n);
+      Permutation p2 = new Permutation(n);
+      assertEquals(naiveKendallTau(p1, p2), d.distancel(p1, p2, workspace));
+      assertEquals(naiveKendallTau(p1, p2), d.distancel(p1, p2));
+    }
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> d.distancel(new Permutation(1), new Permutation(2), workspace));
+  }
+
+  private long naiveCount(int[] array) {
+    long count = 0;
+    for (int i = 0; i < array.length; i++) {
+      for (int j = i + 1; j < array.length; j++) {
+        if (array[i] > array[j]) count++;
+      }
+    }
+    return count;
+  }
+
+  private long naiveKendallTau(Permutation p1, Permutation p2) {
+    int[] invP1 = p1.getInverse();
+    int[] relabeled = new int[p2.length()];
+    for (int i = 0; i < relabeled.length; i++) {
+      relabeled[i] = invP1[p2.get(i)];
+    }
+    return naiveCount(relabeled);
+  }
+}
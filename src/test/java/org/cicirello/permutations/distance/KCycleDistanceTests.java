@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2022 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2018-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -29,6 +29,13 @@ import org.junit.jupiter.api.*;
 /** JUnit tests for KCycleDistance. */
 public class KCycleDistanceTests extends SharedTestForPermutationDistance {
 
+  @Test
+  public void testPrepared() {
+    for (int k = 2; k <= 5; k++) {
+      preparedDistance(new KCycleDistance(k));
+    }
+  }
+
   @Test
   public void testNormalized() {
     for (int k = 2; k <= 5; k++) {
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations.distance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ForkJoinPool;
+import org.cicirello.permutations.Permutation;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for ParallelKendallTauDistance. */
+public class ParallelKendallTauDistanceTests extends SharedTestForPermutationDistance {
+
+  @Test
+  public void testNormalized() {
+    ParallelKendallTauDistance d = new ParallelKendallTauDistance(2);
+    for (int n = 0; n <= 7; n++) {
+      assertEquals(n <= 1 ? 0.0 : 1.0, validateNormalizedDistance(d, n), "Failed on length: " + n);
+    }
+  }
+
+  @Test
+  public void testMax() {
+    ParallelKendallTauDistance d = new ParallelKendallTauDistance(2);
+    for (int n = 0; n <= 7; n++) {
+      int expected = bruteForceComputeMax(d, n);
+      assertEquals(expected, d.max(n), "Failed on length: " + n);
+      assertEquals(expected, d.maxl(n), "Failed on length: " + n);
+      assertEquals(1.0 * expected, d.maxf(n), "Failed on length: " + n);
+    }
+  }
+
+  @Test
+  public void testIdenticalPermutations() {
+    identicalPermutations(new ParallelKendallTauDistance());
+    identicalPermutations(new ParallelKendallTauDistance(2));
+  }
+
+  @Test
+  public void testSameAsSequential() {
+    KendallTauDistance sequential = new KendallTauDistance();
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int threshold : new int[] {2, 3, 5, 16}) {
+        ParallelKendallTauDistance d = new ParallelKendallTauDistance(pool, threshold);
+        for (int n = 0; n <= 200; n += 7) {
+          Permutation p1 = new Permutation(n);
+          Permutation p2 = new Permutation(n);
+          long expected = sequential.distancel(p1, p2);
+          assertEquals(expected, d.distancel(p1, p2), "n=" + n + " threshold=" + threshold);
+          assertEquals((int) expected, d.distance(p1, p2));
+          assertEquals((double) expected, d.distancef(p1, p2));
+          Permutation reversed = new Permutation(p1);
+          reversed.reverse();
+          assertEquals(d.maxl(n), d.distancel(p1, reversed));
+        }
+      }
+      Permutation p = new Permutation(6);
+      ParallelKendallTauDistance d = new ParallelKendallTauDistance(pool, 2);
+      for (Permutation q : p) {
+        assertEquals(sequential.distance(p, q), d.distance(p, q));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testLongPermutations() {
+    KendallTauDistance sequential = new KendallTauDistance();
+    ParallelKendallTauDistance d = new ParallelKendallTauDistance(1000);
+    Permutation p1 = new Permutation(100000);
+    Permutation p2 = new Permutation(100000);
+    assertEquals(sequential.distancel(p1, p2), d.distancel(p1, p2));
+    p2 = new Permutation(p1);
+    p2.reverse();
+    assertEquals(100000L * 99999L / 2, d.distancel(p1, p2));
+    assertEquals(1.0, d.normalizedDistance(p1, p2));
+  }
+
+  @Test
+  public void testExceptions() {
+    ParallelKendallTauDistance d = new ParallelKendallTauDistance();
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> d.distance(new Permutation(1), new Permutation(2)));
+    assertThrows(IllegalArgumentException.class, () -> new ParallelKendallTauDistance(1));
+    assertThrows(NullPointerException.class, () -> new ParallelKendallTauDistance(null, 100));
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations.distance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ForkJoinPool;
+import org.cicirello.permutations.Permutation;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for PermutationDistanceMatrix. */
+public class PermutationDistanceMatrixTests {
+
+  @Test
+  public void testSymmetricInt() {
+    KendallTauDistance d = new KendallTauDistance();
+    for (int count : new int[] {0, 1, 2, 5, 17, 40, 100}) {
+      Permutation[] population = population(count, 8);
+      PermutationDistanceMatrix m = PermutationDistanceMatrix.compute(d, population);
+      assertEquals(count, m.size());
+      assertTrue(m.isSymmetric());
+      assertEquals(PermutationDistanceMatrix.Precision.INT, m.precision());
+      validate(
+          m, d, population, count > 0 ? 28 : 0, PermutationDistanceMatrix.DEFAULT_HISTOGRAM_BINS);
+    }
+  }
+
+  @Test
+  public void testSymmetricFloatAndDouble() {
+    SquaredDeviationDistance d = new SquaredDeviationDistance();
+    Permutation[] population = population(70, 10);
+    PermutationDistanceMatrix m =
+        PermutationDistanceMatrix.compute(
+            d, population, PermutationDistanceMatrix.Precision.DOUBLE, true, 7);
+    assertEquals(PermutationDistanceMatrix.Precision.DOUBLE, m.precision());
+    validate(m, d, population, d.maxf(10), 7);
+    m =
+        PermutationDistanceMatrix.compute(
+            d, population, PermutationDistanceMatrix.Precision.FLOAT, true, 7);
+    assertEquals(PermutationDistanceMatrix.Precision.FLOAT, m.precision());
+    validate(m, d, population, d.maxf(10), 7);
+  }
+
+  @Test
+  public void testAsymmetric() {
+    EditDistance d = new EditDistance(1.5, 2.0, 0.75);
+    Permutation[] population = population(45, 6);
+    PermutationDistanceMatrix m =
+        PermutationDistanceMatrix.compute(
+            d, population, PermutationDistanceMatrix.Precision.DOUBLE, false, 10, 12.0);
+    assertFalse(m.isSymmetric());
+    validate(m, d, population, 12.0, 10);
+  }
+
+  @Test
+  public void testSuppliedPool() {
+    KendallTauDistance d = new KendallTauDistance();
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      for (boolean symmetric : new boolean[] {true, false}) {
+        Permutation[] population = population(123, 9);
+        PermutationDistanceMatrix m =
+            PermutationDistanceMatrix.compute(
+                d, population, PermutationDistanceMatrix.Precision.INT, symmetric, 9, 36, pool);
+        assertEquals(symmetric, m.isSymmetric());
+        validate(m, d, population, 36, 9);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testHistogramUpperBoundExceeded() {
+    ExactMatchDistance d = new ExactMatchDistance();
+    Permutation[] population = population(30, 12);
+    PermutationDistanceMatrix m =
+        PermutationDistanceMatrix.compute(
+            d, population, PermutationDistanceMatrix.Precision.INT, true, 4, 2.0);
+    validate(m, d, population, 2.0, 4);
+  }
+
+  @Test
+  public void testExceptions() {
+    KendallTauDistance d = new KendallTauDistance();
+    Permutation[] mixed = {new Permutation(5), new Permutation(6)};
+    assertThrows(IllegalArgumentException.class, () -> PermutationDistanceMatrix.compute(d, mixed));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            PermutationDistanceMatrix.compute(
+                d, population(3, 3), PermutationDistanceMatrix.Precision.INT, true, 0));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            PermutationDistanceMatrix.compute(
+                new EditDistance(),
+                population(3, 3),
+                PermutationDistanceMatrix.Precision.INT,
+                false,
+                5,
+                5.0));
+    PermutationDistanceMatrix m = PermutationDistanceMatrix.compute(d, population(3, 3));
+    assertThrows(IndexOutOfBoundsException.class, () -> m.get(-1, 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> m.get(0, 3));
+  }
+
+  private void validate(
+      PermutationDistanceMatrix m,
+      PermutationDistanceMeasurerDouble d,
+      Permutation[] population,
+      double upperBound,
+      int bins) {
+    int n = population.length;
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+    double sum = 0;
+    long count = 0;
+    long[] histogram = new long[bins];
+    double width = upperBound / bins;
+    for (int i = 0; i < n; i++) {
+      assertEquals(0.0, m.get(i, i));
+      for (int j = 0; j < n; j++) {
+        if (i == j) continue;
+        double expected = d.distancef(population[i], population[j]);
+        if (m.precision() == PermutationDistanceMatrix.Precision.FLOAT) {
+          expected = (float) expected;
+        }
+        assertEquals(expected, m.get(i, j), 1E-10);
+        if (!m.isSymmetric() || i < j) {
+          min = Math.min(min, expected);
+          max = Math.max(max, expected);
+          sum += expected;
+          count++;
+          histogram[width > 0 ? Math.min((int) (expected / width), bins - 1) : 0]++;
+        }
+      }
+    }
+    if (count == 0) {
+      assertTrue(Double.isNaN(m.min()));
+      assertTrue(Double.isNaN(m.max()));
+      assertTrue(Double.isNaN(m.mean()));
+    } else {
+      assertEquals(min, m.min(), 1E-10);
+      assertEquals(max, m.max(), 1E-10);
+      assertEquals(sum / count, m.mean(), 1E-6);
+    }
+    assertEquals(width, m.histogramBinWidth(), 1E-10);
+    assertArrayEquals(histogram, m.histogram());
+  }
+
+  private Permutation[] population(int count, int length) {
+    Permutation[] population = new Permutation[count];
+    for (int i = 0; i < count; i++) {
+      population[i] = new Permutation(length);
+    }
+    return population;
+  }
+}
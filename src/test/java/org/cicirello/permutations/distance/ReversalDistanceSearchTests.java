@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ *
+ * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
+ *
+ * JavaPermutationTools is free software: you can
+ * redistribute it and/or modify it under the terms of the GNU
+ * General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * JavaPermutationTools is distributed in the hope
+ * that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with JavaPermutationTools.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.cicirello.permutations.distance;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import org.cicirello.permutations.Permutation;
+import org.junit.jupiter.api.*;
+
+/** JUnit tests for ReversalDistanceSearch. */
+public class ReversalDistanceSearchTests {
+
+  @Test
+  public void testMatchesLookupTableExhaustively() {
+    ReversalDistanceSearch search = new ReversalDistanceSearch();
+    for (int n = 0; n <= 8; n++) {
+      ReversalDistance table = new ReversalDistance(n);
+      Permutation identity = new Permutation(n, 0);
+      for (Permutation p : identity) {
+        assertEquals(table.distance(identity, p), search.distance(identity, p));
+      }
+    }
+  }
+
+  @Test
+  public void testMatchesLookupTableRandomly() {
+    ReversalDistanceSearch search = new ReversalDistanceSearch();
+    SplittableRandom r = new SplittableRandom(42);
+    for (int n = 9; n <= 10; n++) {
+      ReversalDistance table = new ReversalDistance(n);
+      for (int trial = 0; trial < 200; trial++) {
+        Permutation p1 = new Permutation(n, r);
+        Permutation p2 = new Permutation(n, r);
+        int expected = table.distance(p1, p2);
+        assertEquals(expected, search.distance(p1, p2));
+        assertEquals(expected, search.distance(p2, p1));
+        ReversalDistanceSearch.Bounds b = search.bounds(p1, p2, 1000000, 10000);
+        assertTrue(b.isExact());
+        assertEquals(expected, b.lower());
+      }
+    }
+  }
+
+  @Test
+  public void testLongPermutations() {
+    ReversalDistanceSearch search = new ReversalDistanceSearch();
+    SplittableRandom r = new SplittableRandom(42);
+    for (int n = 15; n <= 40; n += 5) {
+      Permutation p1 = new Permutation(n, r);
+      Permutation p2 = new Permutation(p1);
+      int k = 4;
+      for (int step = 0; step < k; step++) {
+        int i = r.nextInt(n);
+        int j = r.nextInt(n);
+        p2.reverse(Math.min(i, j), Math.max(i, j));
+      }
+      int d = search.distance(p1, p2);
+      assertTrue(d <= k);
+      assertEquals(d, search.distance(p2, p1));
+      assertEquals(0, search.distance(p1, new Permutation(p1)));
+    }
+  }
+
+  @Test
+  public void testBounds() {
+    ReversalDistanceSearch search = new ReversalDistanceSearch();
+    ReversalDistance table = new ReversalDistance(10);
+    SplittableRandom r = new SplittableRandom(7);
+    for (int trial = 0; trial < 20; trial++) {
+      Permutation p1 = new Permutation(10, r);
+      Permutation p2 = new Permutation(10, r);
+      int expected = table.distance(p1, p2);
+      ReversalDistanceSearch.Bounds b = search.bounds(p1, p2, 0, Long.MAX_VALUE);
+      assertTrue(b.lower() <= expected);
+      assertTrue(b.upper() >= expected);
+      assertTrue(b.upper() <= 9);
+      b = search.bounds(p1, p2, Long.MAX_VALUE, 0);
+      assertTrue(b.lower() <= expected);
+      assertTrue(b.upper() >= expected);
+    }
+    assertTrue(search.bounds(new Permutation(5), new Permutation(5), 0, 0).upper() <= 4);
+  }
+
+  @Test
+  public void testMaxAndExceptions() {
+    ReversalDistanceSearch search = new ReversalDistanceSearch();
+    assertEquals(0, search.max(0));
+    assertEquals(0, search.max(1));
+    assertEquals(1, search.max(2));
+    assertEquals(39, search.max(40));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> search.distance(new Permutation(5), new Permutation(6)));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> search.bounds(new Permutation(5), new Permutation(5), -1, 0));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> search.bounds(new Permutation(5), new Permutation(5), 0, -1));
+  }
+}
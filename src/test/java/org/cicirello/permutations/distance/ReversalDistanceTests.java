@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2022 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2018-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -23,6 +23,15 @@ package org.cicirello.permutations.distance;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
 import org.cicirello.permutations.Permutation;
 import org.junit.jupiter.api.*;
 
@@ -73,4 +82,91 @@ public class ReversalDistanceTests {
     thrown = assertThrows(IllegalArgumentException.class, () -> new ReversalDistance(-1));
     thrown = assertThrows(IllegalArgumentException.class, () -> new ReversalDistance(13));
   }
+
+  @Test
+  public void testTableMatchesBreadthFirstSearch() {
+    for (int n = 0; n <= 7; n++) {
+      ReversalDistanceTable table = ReversalDistanceTable.shared(n);
+      assertSame(table, ReversalDistanceTable.shared(n));
+      HashMap<Permutation, Integer> expected = bfs(n);
+      assertEquals(ReversalDistanceTable.factorial(n), expected.size());
+      for (Permutation p : expected.keySet()) {
+        assertEquals(expected.get(p).intValue(), table.get(p.toInteger()));
+      }
+    }
+  }
+
+  @Test
+  public void testParallelBuild() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int n = 8; n <= 9; n++) {
+        ReversalDistanceTable table = ReversalDistanceTable.build(n, pool);
+        HashMap<Permutation, Integer> expected = bfs(n);
+        for (Permutation p : expected.keySet()) {
+          assertEquals(expected.get(p).intValue(), table.get(p.toInteger()));
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testTableFile() throws IOException {
+    Path dir = Files.createTempDirectory("jpt");
+    Path file = dir.resolve("reversal6.bin");
+    try {
+      ReversalDistance d = new ReversalDistance(6, file);
+      assertTrue(Files.isRegularFile(file));
+      assertEquals(ReversalDistanceTable.HEADER_LENGTH + 360, Files.size(file));
+      ReversalDistance d2 = new ReversalDistance(6);
+      ReversalDistanceTable mapped = ReversalDistanceTable.map(6, file);
+      assertNotNull(mapped);
+      assertNull(ReversalDistanceTable.map(5, file));
+      ReversalDistanceTable built = ReversalDistanceTable.build(6);
+      for (int r = 0; r < 720; r++) {
+        assertEquals(built.get(r), mapped.get(r));
+        Permutation p = new Permutation(6, r);
+        Permutation identity = new Permutation(6, 0);
+        assertEquals(built.get(r), d.distance(identity, p));
+        assertEquals(built.get(r), d2.distance(identity, p));
+      }
+      // a file of an unsupported version is replaced
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+        channel.write(ByteBuffer.allocate(4).putInt(ReversalDistanceTable.VERSION + 1).flip(), 4);
+      }
+      assertNull(ReversalDistanceTable.map(6, file));
+      d = new ReversalDistance(6, file);
+      assertNotNull(ReversalDistanceTable.map(6, file));
+      Permutation p = new Permutation(new int[] {5, 3, 1, 4, 2, 0});
+      assertEquals(built.get(p.toInteger()), d.distance(new Permutation(6, 0), p));
+    } finally {
+      Files.deleteIfExists(file);
+      Files.deleteIfExists(dir);
+    }
+  }
+
+  private HashMap<Permutation, Integer> bfs(int n) {
+    HashMap<Permutation, Integer> distances = new HashMap<Permutation, Integer>();
+    ArrayDeque<Permutation> queue = new ArrayDeque<Permutation>();
+    Permutation start = new Permutation(n, 0);
+    distances.put(start, 0);
+    queue.add(start);
+    while (!queue.isEmpty()) {
+      Permutation p = queue.poll();
+      int d = distances.get(p);
+      for (int i = 0; i < n - 1; i++) {
+        for (int j = i + 1; j < n; j++) {
+          Permutation q = new Permutation(p);
+          q.reverse(i, j);
+          if (!distances.containsKey(q)) {
+            distances.put(q, d + 1);
+            queue.add(q);
+          }
+        }
+      }
+    }
+    return distances;
+  }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2022 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2018-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -79,4 +79,37 @@ public class SharedTestForPermutationDistance {
     }
     return max;
   }
+
+  final void preparedDistance(PermutationDistanceMeasurer d) {
+    for (int n = 0; n <= 10; n++) {
+      Permutation reference = new Permutation(n);
+      PreparedPermutationDistance prepared = d.prepare(reference);
+      Permutation[] others = new Permutation[5];
+      for (int i = 0; i < others.length; i++) {
+        others[i] = new Permutation(n);
+        assertEquals(d.distance(reference, others[i]), prepared.distance(others[i]));
+        assertEquals(d.distancef(reference, others[i]), prepared.distancef(others[i]));
+      }
+      assertEquals(0, prepared.distance(reference));
+      int[] out = new int[others.length];
+      prepared.distances(others, out);
+      double[] outf = new double[others.length];
+      prepared.distances(others, outf);
+      for (int i = 0; i < others.length; i++) {
+        assertEquals(d.distance(reference, others[i]), out[i]);
+        assertEquals(d.distancef(reference, others[i]), outf[i]);
+      }
+      // prepared distance is unaffected by later changes to the reference
+      Permutation copy = new Permutation(reference);
+      reference.reverse();
+      assertEquals(0, prepared.distance(copy));
+      assertThrows(IllegalArgumentException.class, () -> prepared.distances(others, new int[4]));
+    }
+    Permutation p = new Permutation(6);
+    PreparedPermutationDistance prepared = d.prepare(p);
+    for (Permutation q : p) {
+      assertEquals(d.distance(p, q), prepared.distance(q));
+    }
+    assertThrows(IllegalArgumentException.class, () -> prepared.distance(new Permutation(5)));
+  }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2022 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2018-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -61,4 +61,24 @@ public class SharedTestForPermutationDistanceDouble {
     }
     return max;
   }
+
+  final void preparedDistanceDouble(PermutationDistanceMeasurerDouble d, int n) {
+    Permutation reference = new Permutation(n);
+    PreparedPermutationDistanceDouble prepared = d.prepare(reference);
+    Permutation[] others = new Permutation[5];
+    for (int i = 0; i < others.length; i++) {
+      others[i] = new Permutation(n);
+      assertEquals(d.distancef(reference, others[i]), prepared.distancef(others[i]));
+    }
+    double[] out = new double[others.length];
+    prepared.distances(others, out);
+    for (int i = 0; i < others.length; i++) {
+      assertEquals(d.distancef(reference, others[i]), out[i]);
+    }
+    // prepared distance is unaffected by later changes to the reference
+    Permutation copy = new Permutation(reference);
+    reference.reverse();
+    assertEquals(0.0, prepared.distancef(copy));
+    assertThrows(IllegalArgumentException.class, () -> prepared.distances(others, new double[4]));
+  }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2022 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2018-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -47,12 +47,62 @@ public class SquaredDeviationDistanceTests extends SharedTestForPermutationDista
     }
   }
 
+  @Test
+  public void testPrepared() {
+    SquaredDeviationDistance d = new SquaredDeviationDistance();
+    preparedDistance(d);
+  }
+
   @Test
   public void testIdenticalPermutations() {
     SquaredDeviationDistance d = new SquaredDeviationDistance();
     identicalPermutations(d);
   }
 
+  @Test
+  public void testLongDistance() {
+    SquaredDeviationDistance d = new SquaredDeviationDistance();
+    for (int n = 0; n <= 7; n++) {
+      assertEquals(d.max(n), d.maxl(n));
+    }
+    Permutation p = new Permutation(6);
+    for (Permutation q : p) {
+      assertEquals(d.distance(p, q), d.distancel(p, q));
+    }
+    assertEquals(2144951380, d.max(1860));
+    assertThrows(ArithmeticException.class, () -> d.max(1861));
+    // large enough that both the max and the distance overflow an int
+    final int n = 5000;
+    final long expected = (5000L * 5000L * 5000L - 5000L) / 3;
+    assertEquals(expected, d.maxl(n));
+    assertEquals(1.0 * expected, d.maxf(n));
+    Permutation p1 = new Permutation(n);
+    Permutation p2 = new Permutation(p1);
+    p2.reverse();
+    assertEquals(expected, d.distancel(p1, p2));
+    assertEquals(1.0 * expected, d.distancef(p1, p2));
+    assertEquals(1.0, d.normalizedDistance(p1, p2));
+    assertThrows(ArithmeticException.class, () -> d.distance(p1, p2));
+    assertThrows(ArithmeticException.class, () -> d.maxl(Integer.MAX_VALUE));
+  }
+
+  @Test
+  public void testLongDistanceOverflow() {
+    SquaredDeviationDistance d = new SquaredDeviationDistance();
+    assertEquals(9223366814367850760L, d.maxl(3024616));
+    assertThrows(ArithmeticException.class, () -> d.maxl(3024617));
+    final int n = 3100000;
+    Permutation p1 = new Permutation(n, 0);
+    Permutation p2 = new Permutation(p1);
+    p2.swap(0, 3);
+    assertEquals(18, d.distancel(p1, p2));
+    assertEquals(18, d.prepare(p1).distance(p2));
+    p2.reverse();
+    assertThrows(ArithmeticException.class, () -> d.distancel(p1, p2));
+    assertThrows(ArithmeticException.class, () -> d.distancef(p1, p2));
+    assertThrows(ArithmeticException.class, () -> d.prepare(p1).distancef(p2));
+  }
+
   @Test
   public void testExceptions() {
     SquaredDeviationDistance d = new SquaredDeviationDistance();
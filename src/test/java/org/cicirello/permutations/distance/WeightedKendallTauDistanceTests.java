@@ -1,5 +1,5 @@
 /*
- * Copyright 2018-2022 Vincent A. Cicirello, <https://www.cicirello.org/>.
+ * Copyright 2018-2026 Vincent A. Cicirello, <https://www.cicirello.org/>.
  *
  * This file is part of JavaPermutationTools (https://jpt.cicirello.org/).
  *
@@ -30,6 +30,49 @@ import org.junit.jupiter.api.*;
 /** JUnit tests for WeightedKendallTauDistance. */
 public class WeightedKendallTauDistanceTests extends SharedTestForPermutationDistanceDouble {
 
+  @Test
+  public void testPrepared() {
+    for (int n = 0; n <= 8; n++) {
+      double[] weights = new double[n];
+      for (int i = 0; i < n; i++) {
+        weights[i] = i + 1;
+      }
+      preparedDistanceDouble(new WeightedKendallTauDistance(weights), n);
+    }
+  }
+
+  @Test
+  public void testWithWorkspace() {
+    final double EPSILON = 1e-10;
+    SplittableRandom gen = new SplittableRandom(11);
+    InversionCounter workspace = new InversionCounter();
+    for (int n : new int[] {0, 1, 2, 9, 40, 17, 3}) {
+      double[] weights = new double[n];
+      for (int i = 0; i < n; i++) {
+        weights[i] = 1 + 9 * gen.nextDouble();
+      }
+      WeightedKendallTauDistance d = new WeightedKendallTauDistance(weights);
+      for (int trial = 0; trial < 5; trial++) {
+        Permutation p1 = new Permutation(n, gen);
+        Permutation p2 = new Permutation(n, gen);
+        double expected = 0;
+        for (int x = 0; x < n; x++) {
+          for (int y = x + 1; y < n; y++) {
+            if ((p1.getInverse()[x] < p1.getInverse()[y])
+                != (p2.getInverse()[x] < p2.getInverse()[y])) {
+              expected += weights[x] * weights[y];
+            }
+          }
+        }
+        assertEquals(expected, d.distancef(p1, p2, workspace), EPSILON);
+        assertEquals(expected, d.distancef(p1, p2), EPSILON);
+      }
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> d.distancef(new Permutation(n + 1), new Permutation(n + 1), workspace));
+    }
+  }
+
   @Test
   public void testNormalized() {
     final double EPSILON = 1e-10;